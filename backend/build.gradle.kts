@@ -2,6 +2,7 @@ plugins {
     id("org.springframework.boot")
     id("io.spring.dependency-management")
     alias(libs.plugins.graalvm.native)
+    alias(libs.plugins.jmh)
     checkstyle
     jacoco
 }
@@ -17,6 +18,12 @@ checkstyle {
     maxWarnings = 0
 }
 
+jmh {
+    includes.set(listOf(project.findProperty("jmhIncludes")?.toString() ?: ".*"))
+    resultFormat.set("JSON")
+    profilers.set(listOf("gc"))
+}
+
 jacoco {
     toolVersion = libs.versions.jacoco.get()
 }
@@ -52,7 +59,8 @@ dependencies {
     implementation(libs.spring.boot.starter.actuator)
     implementation(libs.spring.boot.starter.validation)
     implementation(libs.spring.boot.starter.data.mongodb)
-    implementation(libs.spring.boot.starter.data.elasticsearch)
+    implementation(libs.elasticsearch.java)
+    implementation(libs.elasticsearch.rest.client)
     implementation(libs.spring.kafka)
     implementation(libs.micrometer.registry.prometheus)
     implementation(libs.opentelemetry.spring.boot.starter)
@@ -69,4 +77,8 @@ dependencies {
     testImplementation(libs.testcontainers.mongodb)
     testImplementation(libs.testcontainers.kafka)
     testImplementation(libs.testcontainers.elasticsearch)
+
+    jmh(libs.spring.kafka.test)
+    jmh(platform(libs.testcontainers.bom))
+    jmh(libs.testcontainers.mongodb)
 }
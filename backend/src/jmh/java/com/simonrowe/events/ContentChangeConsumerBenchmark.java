@@ -0,0 +1,158 @@
+package com.simonrowe.events;
+
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
+import com.simonrowe.search.IndexService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class ContentChangeConsumerBenchmark {
+
+  private static final String TOPIC = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC;
+  private static final int PARTITIONS = 6;
+  private static final int EVENTS = 3000;
+  private static final int CONTENT_IDS = 300;
+  private static final long WRITE_LATENCY_MILLIS = 20;
+
+  @Param({"1", "6"})
+  private int concurrency;
+
+  @Param({"1", "4"})
+  private int writeParallelism;
+
+  private EmbeddedKafkaBroker broker;
+  private DefaultKafkaProducerFactory<Object, Object> producerFactory;
+  private KafkaTemplate<Object, Object> template;
+  private int run;
+
+  @Setup(Level.Trial)
+  public void startBroker() {
+    broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC,
+        ContentChangeKafkaConfig.CONTENT_STATE_TOPIC);
+    broker.afterPropertiesSet();
+
+    Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+    producerFactory = new DefaultKafkaProducerFactory<>(props);
+    template = new KafkaTemplate<>(producerFactory);
+    ContentChangePublisher publisher = new ContentChangePublisher(template);
+    Instant base = Instant.now();
+    for (int i = 0; i < EVENTS; i++) {
+      publisher.publish(new ContentChangeEvent(EventType.DELETED, ContentType.JOB,
+          "job-" + (i % CONTENT_IDS), base.plusMillis(i)));
+    }
+    template.flush();
+  }
+
+  @TearDown(Level.Trial)
+  public void stopBroker() {
+    producerFactory.destroy();
+    broker.destroy();
+  }
+
+  @Benchmark
+  public int consumeAll() throws InterruptedException {
+    ContentChangeConsumer consumer = new ContentChangeConsumer(new SlowIndexService(),
+        null, null, null, new ContentStatePublisher(template, null, null, null, null),
+        new ContentChangeMetrics(new SimpleMeterRegistry()), writeParallelism);
+    CountDownLatch remaining = new CountDownLatch(EVENTS);
+
+    ContainerProperties containerProperties = new ContainerProperties(TOPIC);
+    containerProperties.setAckMode(AckMode.MANUAL);
+    containerProperties.setMessageListener(
+        (BatchAcknowledgingMessageListener<String, ContentChangeEvent>) (records, ack) -> {
+          try {
+            consumer.handleContentChanges(
+                records.stream().map(ConsumerRecord::value).toList(), ack);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          records.forEach(record -> remaining.countDown());
+        });
+    ConcurrentMessageListenerContainer<String, ContentChangeEvent> container =
+        new ConcurrentMessageListenerContainer<>(
+            new DefaultKafkaConsumerFactory<>(consumerProps()), containerProperties);
+    container.setConcurrency(concurrency);
+    container.start();
+    try {
+      if (!remaining.await(2, TimeUnit.MINUTES)) {
+        throw new IllegalStateException(remaining.getCount() + " events were not consumed");
+      }
+    } finally {
+      container.stop();
+      consumer.shutdown();
+    }
+    return EVENTS;
+  }
+
+  private Map<String, Object> consumerProps() {
+    Map<String, Object> props = KafkaTestUtils.consumerProps("benchmark-" + run++, "false", broker);
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 200);
+    props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.simonrowe.events");
+    return props;
+  }
+
+  private static final class SlowIndexService extends IndexService {
+
+    SlowIndexService() {
+      super(null, null, null, null, null);
+    }
+
+    @Override
+    public IndexBatchResult executeBatch(final IndexBatch batch) {
+      try {
+        Thread.sleep(WRITE_LATENCY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new IndexBatchResult(batch.entries().size(), 0, Set.of());
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.simonrowe.resume;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResumePdfRendererBenchmark {
+
+  private final ResumePdfRenderer renderer = new ResumePdfRenderer();
+  private ResumeData data;
+
+  @Setup
+  public void setUp() {
+    List<ResumeJob> jobs = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      jobs.add(new ResumeJob("Principal Engineer " + i, "Company " + i, "2015-01-01",
+          "2018-06-01", "London",
+          "Led the **platform** team through a migration to _event-driven_ indexing.\n\n"
+              + "- Rebuilt search on Elasticsearch\n- Introduced Kafka change events\n"
+              + "- Cut p99 latency by `40%`"));
+    }
+    List<ResumeSkillGroup> skillGroups = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      List<ResumeSkill> skills = new ArrayList<>();
+      for (int j = 0; j < 8; j++) {
+        skills.add(new ResumeSkill("Skill " + i + "." + j, (double) (j % 5) + 1));
+      }
+      skillGroups.add(new ResumeSkillGroup("Group " + i, skills));
+    }
+    data = new ResumeData(
+        new ResumeProfile("Simon Rowe", "Engineering Leader", "simon@example.com",
+            "+44 1234 567890", "London", "https://linkedin.com/in/simon",
+            "https://github.com/simon", "https://simonrowe.dev"),
+        jobs, List.of(), skillGroups);
+  }
+
+  @Benchmark
+  public byte[] pooledBuffer(OutputSize outputSize) {
+    byte[] pdf = renderer.render(data);
+    outputSize.pdfBytes = pdf.length;
+    return pdf;
+  }
+
+  @Benchmark
+  public byte[] coldMarkdown() {
+    return new ResumePdfRenderer().render(data);
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class OutputSize {
+
+    public long pdfBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      pdfBytes = 0;
+    }
+  }
+}
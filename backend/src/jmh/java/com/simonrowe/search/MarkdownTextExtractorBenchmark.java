@@ -0,0 +1,62 @@
+package com.simonrowe.search;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MarkdownTextExtractorBenchmark {
+
+  private static final Pattern LEGACY_MARKDOWN_SYNTAX = Pattern.compile(
+      "[#*_`~>\\[\\]()!|]|\\d+\\."
+  );
+
+  @Param({"20", "500"})
+  private int sections;
+
+  private String post;
+
+  @Setup
+  public void setUp() {
+    StringBuilder markdown = new StringBuilder();
+    for (int i = 1; i <= sections; i++) {
+      markdown.append("## Section ").append(i).append("\n\n")
+          .append("Spring Boot 3.5 wires **Kafka** consumers and _Elasticsearch_ clients; see ")
+          .append("[the reference guide](https://docs.spring.io/spring-boot/reference/")
+          .append(i).append(".html) for details.\n\n")
+          .append("1. Configure the `ElasticsearchClient` bean\n")
+          .append("2. Register a `KafkaListener` with retries\n\n")
+          .append("> Indexing is idempotent because writes carry external versions.\n\n")
+          .append("```java\n")
+          .append("client.index(i -> i.index(\"blog_search\").id(id).document(doc));\n")
+          .append("```\n\n")
+          .append("![Architecture](/images/architecture-").append(i).append(".png)\n\n");
+    }
+    post = markdown.toString();
+  }
+
+  @Benchmark
+  public String regexStrip() {
+    return LEGACY_MARKDOWN_SYNTAX.matcher(post).replaceAll(" ").replaceAll("\\s+", " ").trim();
+  }
+
+  @Benchmark
+  public String astExtract() {
+    return MarkdownTextExtractor.extract(post);
+  }
+}
@@ -0,0 +1,118 @@
+package com.simonrowe.skills;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.simonrowe.employment.Job;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SkillGroupDetailBenchmark {
+
+  private static final int SKILLS_PER_GROUP = 25;
+  private static final int SKILLS_PER_JOB = 8;
+
+  @Param({"50", "500"})
+  private int jobs;
+
+  private MongoDBContainer mongodb;
+  private MongoClient client;
+  private MongoTemplate mongoTemplate;
+  private SkillGroupDetailRepositoryImpl detailRepository;
+  private String groupId;
+
+  @Setup(Level.Trial)
+  public void seed() {
+    mongodb = new MongoDBContainer("mongo:8");
+    mongodb.start();
+    client = MongoClients.create(mongodb.getReplicaSetUrl());
+    mongoTemplate = new MongoTemplate(client, "benchmark");
+    mongoTemplate.indexOps(Job.class).ensureIndex(new Index("skills", Sort.Direction.ASC));
+    detailRepository = new SkillGroupDetailRepositoryImpl(mongoTemplate);
+
+    List<Skill> skills = new ArrayList<>();
+    for (int i = 0; i < SKILLS_PER_GROUP; i++) {
+      skills.add(new Skill(new ObjectId().toHexString(), "Skill " + i, 8.0, i, null, null));
+    }
+    groupId = new ObjectId().toHexString();
+    mongoTemplate.save(new SkillGroup(groupId, "Backend", null, 9.0, 1, null, skills));
+
+    Random random = new Random(42);
+    List<Job> seeded = new ArrayList<>();
+    for (int i = 0; i < jobs; i++) {
+      List<String> jobSkills = new ArrayList<>();
+      for (int j = 0; j < SKILLS_PER_JOB; j++) {
+        Skill skill = skills.get(random.nextInt(skills.size()));
+        jobSkills.add(random.nextBoolean() ? skill.id() : skill.name());
+      }
+      seeded.add(new Job(new ObjectId().toHexString(), "Engineer " + i, "Company " + i, null,
+          null, String.format("%04d-01-01", 1990 + random.nextInt(35)), null, "London",
+          "Short", "Long", false, true, jobSkills));
+    }
+    mongoTemplate.insertAll(seeded);
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    client.close();
+    mongodb.stop();
+  }
+
+  @Benchmark
+  public SkillGroupDetailDto aggregationPipeline() {
+    return detailRepository.findDetailById(groupId).orElseThrow();
+  }
+
+  @Benchmark
+  public SkillGroupDetailDto javaSideJoin() {
+    SkillGroup group = mongoTemplate.findById(groupId, SkillGroup.class);
+    List<String> skillIdentifiers = group.skills().stream()
+        .flatMap(skill -> Stream.of(skill.id(), skill.name()))
+        .distinct()
+        .toList();
+    List<Job> relatedJobs = mongoTemplate.find(
+        new Query(Criteria.where("skills").in(skillIdentifiers)), Job.class);
+    List<SkillDetailDto> skillDetails = group.skills().stream()
+        .sorted(Comparator.comparingInt(
+            s -> s.displayOrder() != null ? s.displayOrder() : 0))
+        .map(skill -> SkillDetailDto.fromEntity(skill, relatedJobs.stream()
+            .filter(job -> job.skills() != null
+                && (job.skills().contains(skill.id())
+                    || job.skills().contains(skill.name())))
+            .sorted(Comparator.comparing(
+                Job::startDate, Comparator.nullsLast(Comparator.reverseOrder())))
+            .map(JobReferenceDto::fromEntity)
+            .toList()))
+        .toList();
+    return SkillGroupDetailDto.fromEntity(group, skillDetails);
+  }
+}
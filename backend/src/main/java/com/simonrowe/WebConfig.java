@@ -1,9 +1,11 @@
 package com.simonrowe;
 
+import com.simonrowe.common.AdminApiInterceptor;
 import java.nio.file.Path;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -16,6 +18,9 @@ public class WebConfig implements WebMvcConfigurer {
   @Value("${uploads.path:backend/uploads/}")
   private String uploadsPath;
 
+  @Value("${admin.api-token:}")
+  private String adminApiToken;
+
   @Override
   public void addCorsMappings(CorsRegistry registry) {
     if (!allowedOrigins.isBlank()) {
@@ -31,4 +36,10 @@ public class WebConfig implements WebMvcConfigurer {
     registry.addResourceHandler("/uploads/**")
         .addResourceLocations(location);
   }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new AdminApiInterceptor(adminApiToken))
+        .addPathPatterns("/api/admin/**");
+  }
 }
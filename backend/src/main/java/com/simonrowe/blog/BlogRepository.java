@@ -1,12 +1,17 @@
 package com.simonrowe.blog;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 public interface BlogRepository extends MongoRepository<Blog, String> {
 
   List<Blog> findByPublishedTrueOrderByCreatedDateDesc();
 
   Optional<Blog> findByIdAndPublishedTrue(String id);
+
+  @Query("{ 'published': true, 'updatedDate': { '$gte': ?0, '$lte': ?1 } }")
+  List<Blog> findPublishedUpdatedBetween(Instant from, Instant to);
 }
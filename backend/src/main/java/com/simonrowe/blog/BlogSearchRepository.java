@@ -1,6 +0,0 @@
-package com.simonrowe.blog;
-
-import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-
-public interface BlogSearchRepository extends ElasticsearchRepository<BlogSearchDocument, String> {
-}
@@ -0,0 +1,39 @@
+package com.simonrowe.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class AdminApiInterceptor implements HandlerInterceptor {
+
+  public static final String TOKEN_HEADER = "X-Admin-Token";
+
+  private final byte[] expectedToken;
+
+  public AdminApiInterceptor(String token) {
+    this.expectedToken = token == null
+        ? new byte[0]
+        : token.strip().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      Object handler
+  ) {
+    if (expectedToken.length == 0) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin API is disabled");
+    }
+    String presented = request.getHeader(TOKEN_HEADER);
+    if (presented == null
+        || !MessageDigest.isEqual(expectedToken, presented.getBytes(StandardCharsets.UTF_8))) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid admin token");
+    }
+    return true;
+  }
+}
@@ -38,7 +38,7 @@ public class GlobalExceptionHandler {
         ex.getStatusCode().value(),
         Instant.now()
     );
-    return ResponseEntity.status(ex.getStatusCode()).body(error);
+    return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(error);
   }
 
 }
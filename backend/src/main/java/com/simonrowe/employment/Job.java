@@ -3,6 +3,7 @@ package com.simonrowe.employment;
 import com.simonrowe.common.Image;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "jobs")
@@ -19,6 +20,6 @@ public record Job(
     String longDescription,
     Boolean isEducation,
     Boolean includeOnResume,
-    List<String> skills
+    @Indexed(name = "idx_skills") List<String> skills
 ) {
 }
@@ -1,13 +1,9 @@
 package com.simonrowe.employment;
 
 import com.simonrowe.common.ResourceNotFoundException;
-import com.simonrowe.skills.Skill;
-import com.simonrowe.skills.SkillGroup;
-import com.simonrowe.skills.SkillGroupRepository;
+import com.simonrowe.skills.SkillCatalog;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import org.springframework.stereotype.Service;
 
@@ -15,14 +11,14 @@ import org.springframework.stereotype.Service;
 public class JobService {
 
   private final JobRepository jobRepository;
-  private final SkillGroupRepository skillGroupRepository;
+  private final SkillCatalog skillCatalog;
 
   public JobService(
       JobRepository jobRepository,
-      SkillGroupRepository skillGroupRepository
+      SkillCatalog skillCatalog
   ) {
     this.jobRepository = jobRepository;
-    this.skillGroupRepository = skillGroupRepository;
+    this.skillCatalog = skillCatalog;
   }
 
   public List<JobSummaryDto> getAllJobs() {
@@ -45,34 +41,9 @@ public class JobService {
       return List.of();
     }
 
-    Map<String, SkillReferenceDto> skillMap = new HashMap<>();
-    List<SkillGroup> allGroups = skillGroupRepository.findAll();
-
-    for (SkillGroup group : allGroups) {
-      if (group.skills() == null) {
-        continue;
-      }
-      for (Skill skill : group.skills()) {
-        if (skillIdentifiers.contains(skill.id())
-            || skillIdentifiers.contains(skill.name())) {
-          skillMap.putIfAbsent(skill.name(), new SkillReferenceDto(
-              skill.id(),
-              skill.name(),
-              skill.rating(),
-              skill.image(),
-              group.id()
-          ));
-        }
-      }
-    }
-
     return skillIdentifiers.stream()
-        .map(identifier -> skillMap.values().stream()
-            .filter(ref -> Objects.equals(ref.id(), identifier)
-                || Objects.equals(ref.name(), identifier))
-            .findFirst()
-            .orElse(null))
-        .filter(ref -> ref != null)
+        .map(skillCatalog::resolve)
+        .filter(Objects::nonNull)
         .sorted(Comparator.comparing(
             SkillReferenceDto::name, String::compareToIgnoreCase))
         .toList();
@@ -6,17 +6,34 @@ import com.simonrowe.employment.Job;
 import com.simonrowe.employment.JobRepository;
 import com.simonrowe.events.ContentChangeEvent.ContentType;
 import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
 import com.simonrowe.search.IndexService;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.util.Optional;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
-import org.springframework.retry.annotation.Backoff;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -28,92 +45,274 @@ public class ContentChangeConsumer {
   private final BlogRepository blogRepository;
   private final JobRepository jobRepository;
   private final SkillGroupRepository skillGroupRepository;
+  private final ContentStatePublisher statePublisher;
+  private final ContentChangeMetrics metrics;
+  private final int writeParallelism;
+  private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
 
   public ContentChangeConsumer(
       final IndexService indexService,
       final BlogRepository blogRepository,
       final JobRepository jobRepository,
-      final SkillGroupRepository skillGroupRepository
+      final SkillGroupRepository skillGroupRepository,
+      final ContentStatePublisher statePublisher,
+      final ContentChangeMetrics metrics,
+      @Value("${search.indexer.write-parallelism:4}") final int writeParallelism
   ) {
     this.indexService = indexService;
     this.blogRepository = blogRepository;
     this.jobRepository = jobRepository;
     this.skillGroupRepository = skillGroupRepository;
+    this.statePublisher = statePublisher;
+    this.metrics = metrics;
+    this.writeParallelism = writeParallelism;
   }
 
-  @RetryableTopic(
-      attempts = "4",
-      backoff = @Backoff(delay = 1000, multiplier = 2),
-      topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
-      dltTopicSuffix = ".DLT"
+  @KafkaListener(
+      topics = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC,
+      groupId = "search-indexer",
+      containerFactory = ContentChangeKafkaConfig.BATCH_LISTENER_FACTORY
   )
-  @KafkaListener(topics = "content-changes", groupId = "search-indexer")
-  public void handleContentChange(final ContentChangeEvent event) throws IOException {
-    LOG.info("Received content change event: {} {} {}",
-        event.eventType(), event.contentType(), event.contentId());
+  public void handleContentChanges(
+      final List<ContentChangeEvent> events,
+      final Acknowledgment acknowledgment
+  ) throws IOException {
+    metrics.batchReceived(events);
+    IndexBatchResult result = index(events);
+    if (result.hasFailures()) {
+      int firstFailed = IntStream.range(0, events.size())
+          .filter(i -> result.failedKeys().contains(keyOf(events.get(i))))
+          .findFirst()
+          .orElse(0);
+      throw new BatchListenerFailedException(
+          "Failed to index " + result.failedKeys(), firstFailed);
+    }
+    acknowledgment.acknowledge();
+    metrics.batchIndexed(events);
+    LOG.info("Indexed {} content change events: {} written, {} stale",
+        events.size(), result.succeeded(), result.stale());
+  }
 
-    if (event.eventType() == EventType.DELETED) {
-      handleDelete(event);
-    } else {
-      handleCreateOrUpdate(event);
+  public IndexBatchResult index(final List<ContentChangeEvent> events) throws IOException {
+    Map<String, ContentChangeEvent> pending = coalesce(events);
+    IndexBatch batch = new IndexBatch();
+    Map<ContentType, List<PendingChange>> upserts = new EnumMap<>(ContentType.class);
+    int projected = 0;
+    for (Map.Entry<String, ContentChangeEvent> entry : pending.entrySet()) {
+      PendingChange change = new PendingChange(entry.getKey(), entry.getValue());
+      ContentChangeEvent event = change.event();
+      if (event.eventType() == EventType.DELETED) {
+        addDelete(batch, change);
+      } else if (addProjection(batch, change.key(), event)) {
+        projected++;
+      } else {
+        upserts.computeIfAbsent(event.contentType(), type -> new ArrayList<>()).add(change);
+      }
     }
+    metrics.recordSources(projected,
+        upserts.values().stream().mapToInt(List::size).sum());
+    long readStart = System.nanoTime();
+    addBlogs(batch, upserts.getOrDefault(ContentType.BLOG, List.of()));
+    addJobs(batch, upserts.getOrDefault(ContentType.JOB, List.of()));
+    addSkills(batch, upserts.getOrDefault(ContentType.SKILL, List.of()));
+    metrics.recordMongoRead(System.nanoTime() - readStart);
+
+    long writeStart = System.nanoTime();
+    IndexBatchResult result = write(batch);
+    metrics.recordElasticsearchWrite(System.nanoTime() - writeStart);
+    statePublisher.publish(batch, result.failedKeys());
+    return result;
   }
 
-  private void handleCreateOrUpdate(final ContentChangeEvent event) throws IOException {
-    switch (event.contentType()) {
-      case BLOG -> handleBlogCreateOrUpdate(event.contentId());
-      case JOB -> handleJobCreateOrUpdate(event.contentId());
-      case SKILL -> handleSkillCreateOrUpdate(event.contentId());
-      default -> LOG.warn("Unknown content type: {}", event.contentType());
+  @PreDestroy
+  public void shutdown() {
+    writers.shutdownNow();
+  }
+
+  public static String keyOf(final ContentType contentType, final String contentId) {
+    return contentType + ":" + contentId;
+  }
+
+  public static String keyOf(final ContentChangeEvent event) {
+    return keyOf(event.contentType(), event.contentId());
+  }
+
+  private IndexBatchResult write(final IndexBatch batch) throws IOException {
+    List<IndexBatch> lanes = batch.partition(writeParallelism);
+    if (lanes.size() == 1) {
+      return indexService.executeBatch(batch);
+    }
+    List<Future<IndexBatchResult>> results = new ArrayList<>(lanes.size());
+    for (IndexBatch lane : lanes) {
+      results.add(writers.submit(() -> indexService.executeBatch(lane)));
     }
+    int succeeded = 0;
+    int stale = 0;
+    Set<String> failedKeys = new LinkedHashSet<>();
+    for (int i = 0; i < lanes.size(); i++) {
+      try {
+        IndexBatchResult result = results.get(i).get();
+        succeeded += result.succeeded();
+        stale += result.stale();
+        failedKeys.addAll(result.failedKeys());
+      } catch (ExecutionException e) {
+        List<IndexBatch.Entry> entries = lanes.get(i).entries();
+        LOG.warn("Indexing lane of {} changes failed: {}",
+            entries.size(), e.getCause().getMessage());
+        entries.forEach(entry -> failedKeys.add(entry.key()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while indexing content changes");
+      }
+    }
+    return new IndexBatchResult(succeeded, stale, failedKeys);
+  }
+
+  private Map<String, ContentChangeEvent> coalesce(final List<ContentChangeEvent> events) {
+    Map<String, ContentChangeEvent> pending = new LinkedHashMap<>();
+    for (ContentChangeEvent event : events) {
+      pending.merge(keyOf(event), event,
+          (previous, next) -> isOlder(next, previous) ? previous : next);
+    }
+    return pending;
   }
 
-  private void handleDelete(final ContentChangeEvent event) throws IOException {
+  private static boolean isOlder(final ContentChangeEvent event, final ContentChangeEvent other) {
+    return event.timestamp() != null && other.timestamp() != null
+        && event.timestamp().isBefore(other.timestamp());
+  }
+
+  private void addDelete(final IndexBatch batch, final PendingChange change) {
+    ContentChangeEvent event = change.event();
     switch (event.contentType()) {
-      case BLOG -> indexService.deleteBlogContent(event.contentId());
-      case JOB -> indexService.deleteJobContent(event.contentId());
-      case SKILL -> indexService.deleteSkillContent(event.contentId());
+      case BLOG -> batch.deleteBlog(change.key(), event.contentId(), event.timestamp());
+      case JOB -> batch.deleteJob(change.key(), event.contentId(), event.timestamp());
+      case SKILL -> batch.deleteSkill(change.key(), event.contentId(), event.timestamp());
       default -> LOG.warn("Unknown content type for delete: {}", event.contentType());
     }
-    LOG.info("Deleted {} {} from search index", event.contentType(), event.contentId());
   }
 
-  private void handleBlogCreateOrUpdate(final String contentId) throws IOException {
-    Optional<Blog> blog = blogRepository.findByIdAndPublishedTrue(contentId);
-    if (blog.isPresent()) {
-      indexService.indexBlogContent(blog.get());
-      LOG.info("Indexed blog {} in search indices", contentId);
-    } else {
-      indexService.deleteBlogContent(contentId);
-      LOG.info("Blog {} not found or not published, removed from search indices", contentId);
+  static boolean addProjection(
+      final IndexBatch batch, final String key, final ContentChangeEvent event) {
+    ContentProjection projection = event.projection();
+    if (event.schemaVersion() < ContentChangeEvent.PROJECTION_SCHEMA_VERSION
+        || projection == null) {
+      return false;
+    }
+    if (!projection.matchesHash()) {
+      LOG.debug("Projection for {} does not match its content hash", key);
+      return false;
+    }
+    String contentId = event.contentId();
+    switch (event.contentType()) {
+      case BLOG -> {
+        Blog blog = projection.blog();
+        if (blog == null || !contentId.equals(blog.id())) {
+          return false;
+        }
+        if (blog.published()) {
+          batch.indexBlog(key, blog, event.timestamp());
+        } else {
+          batch.deleteBlog(key, contentId, event.timestamp());
+        }
+      }
+      case JOB -> {
+        Job job = projection.job();
+        if (job == null || !contentId.equals(job.id())) {
+          return false;
+        }
+        batch.indexJob(key, job, event.timestamp());
+      }
+      case SKILL -> {
+        SkillGroup group = projection.skillGroup();
+        if (group == null || !contentId.equals(group.id())) {
+          return false;
+        }
+        batch.indexSkillGroup(key, group, event.timestamp());
+      }
+      default -> {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addBlogs(final IndexBatch batch, final List<PendingChange> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    Map<String, Blog> published = blogRepository.findAllById(idsOf(changes)).stream()
+        .filter(Blog::published)
+        .collect(Collectors.toMap(Blog::id, Function.identity()));
+    for (PendingChange change : changes) {
+      ContentChangeEvent event = change.event();
+      Blog blog = published.get(event.contentId());
+      if (blog != null) {
+        batch.indexBlog(change.key(), blog, event.timestamp());
+      } else {
+        LOG.info("Blog {} not found or not published, removing from search indices",
+            event.contentId());
+        batch.deleteBlog(change.key(), event.contentId(), event.timestamp());
+      }
     }
   }
 
-  private void handleJobCreateOrUpdate(final String contentId) throws IOException {
-    Optional<Job> job = jobRepository.findById(contentId);
-    if (job.isPresent()) {
-      indexService.indexJobContent(job.get());
-      LOG.info("Indexed job {} in search index", contentId);
-    } else {
-      indexService.deleteJobContent(contentId);
-      LOG.info("Job {} not found, removed from search index", contentId);
+  private void addJobs(final IndexBatch batch, final List<PendingChange> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    Map<String, Job> jobs = jobRepository.findAllById(idsOf(changes)).stream()
+        .collect(Collectors.toMap(Job::id, Function.identity()));
+    for (PendingChange change : changes) {
+      ContentChangeEvent event = change.event();
+      Job job = jobs.get(event.contentId());
+      if (job != null) {
+        batch.indexJob(change.key(), job, event.timestamp());
+      } else {
+        LOG.info("Job {} not found, removing from search index", event.contentId());
+        batch.deleteJob(change.key(), event.contentId(), event.timestamp());
+      }
     }
   }
 
-  private void handleSkillCreateOrUpdate(final String contentId) throws IOException {
-    for (SkillGroup group : skillGroupRepository.findAllByOrderByDisplayOrderAsc()) {
-      if (group.skills() == null) {
+  private void addSkills(final IndexBatch batch, final List<PendingChange> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    List<String> ids = idsOf(changes);
+    List<SkillGroup> groups = skillGroupRepository.findByIdInOrSkillsIdIn(ids, ids);
+    for (PendingChange change : changes) {
+      ContentChangeEvent event = change.event();
+      String contentId = event.contentId();
+      SkillGroup group = groups.stream()
+          .filter(candidate -> contentId.equals(candidate.id()))
+          .findFirst()
+          .orElse(null);
+      if (group != null) {
+        batch.indexSkillGroup(change.key(), group, event.timestamp());
         continue;
       }
-      for (com.simonrowe.skills.Skill skill : group.skills()) {
-        if (contentId.equals(skill.id()) || contentId.equals(group.id())) {
-          indexService.indexSkillContent(skill, group.id());
-          LOG.info("Indexed skill {} from group {} in search index", skill.id(), group.id());
-          return;
-        }
+      List<SkillGroup> owners = groups.stream()
+          .filter(candidate -> containsSkill(candidate, contentId))
+          .toList();
+      if (!owners.isEmpty()) {
+        batch.indexSkill(change.key(), contentId, owners, event.timestamp());
+      } else {
+        LOG.info("Skill {} not found, removing from search index", contentId);
+        batch.deleteSkill(change.key(), contentId, event.timestamp());
       }
     }
-    indexService.deleteSkillContent(contentId);
-    LOG.info("Skill {} not found, removed from search index", contentId);
+  }
+
+  private static boolean containsSkill(final SkillGroup group, final String skillId) {
+    return group.skills() != null
+        && group.skills().stream().anyMatch(skill -> skillId.equals(skill.id()));
+  }
+
+  private static List<String> idsOf(final List<PendingChange> changes) {
+    return changes.stream().map(change -> change.event().contentId()).toList();
+  }
+
+  private record PendingChange(String key, ContentChangeEvent event) {
   }
 }
@@ -1,14 +1,49 @@
 package com.simonrowe.events;
 
+import com.simonrowe.blog.Blog;
+import com.simonrowe.employment.Job;
+import com.simonrowe.skills.SkillGroup;
 import java.time.Instant;
 
 public record ContentChangeEvent(
     EventType eventType,
     ContentType contentType,
     String contentId,
-    Instant timestamp
+    Instant timestamp,
+    int schemaVersion,
+    ContentProjection projection
 ) {
 
+  public static final int THIN_SCHEMA_VERSION = 1;
+  public static final int PROJECTION_SCHEMA_VERSION = 2;
+
+  public ContentChangeEvent(
+      final EventType eventType,
+      final ContentType contentType,
+      final String contentId,
+      final Instant timestamp
+  ) {
+    this(eventType, contentType, contentId, timestamp, THIN_SCHEMA_VERSION, null);
+  }
+
+  public static ContentChangeEvent of(
+      final EventType eventType, final Blog blog, final Instant timestamp) {
+    return new ContentChangeEvent(eventType, ContentType.BLOG, blog.id(), timestamp,
+        PROJECTION_SCHEMA_VERSION, ContentProjection.of(blog));
+  }
+
+  public static ContentChangeEvent of(
+      final EventType eventType, final Job job, final Instant timestamp) {
+    return new ContentChangeEvent(eventType, ContentType.JOB, job.id(), timestamp,
+        PROJECTION_SCHEMA_VERSION, ContentProjection.of(job));
+  }
+
+  public static ContentChangeEvent of(
+      final EventType eventType, final SkillGroup skillGroup, final Instant timestamp) {
+    return new ContentChangeEvent(eventType, ContentType.SKILL, skillGroup.id(), timestamp,
+        PROJECTION_SCHEMA_VERSION, ContentProjection.of(skillGroup));
+  }
+
   public enum EventType {
     CREATED,
     UPDATED,
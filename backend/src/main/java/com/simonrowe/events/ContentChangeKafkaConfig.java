@@ -0,0 +1,106 @@
+package com.simonrowe.events;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonLoggingErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+@Configuration
+public class ContentChangeKafkaConfig {
+
+  public static final String CONTENT_CHANGES_TOPIC = "content-changes";
+  public static final String DEAD_LETTER_SUFFIX = ".DLT";
+  public static final String CONTENT_STATE_TOPIC = "content-state";
+  public static final String BATCH_LISTENER_FACTORY = "contentChangeBatchListenerFactory";
+  public static final String CACHE_LISTENER_FACTORY = "contentChangeCacheListenerFactory";
+
+  private final int partitions;
+
+  public ContentChangeKafkaConfig(@Value("${search.indexer.partitions:6}") final int partitions) {
+    this.partitions = partitions;
+  }
+
+  @Bean
+  public NewTopic contentChangesTopic() {
+    return TopicBuilder.name(CONTENT_CHANGES_TOPIC).partitions(partitions).replicas(1).build();
+  }
+
+  @Bean
+  public NewTopic contentChangesDeadLetterTopic() {
+    return TopicBuilder.name(CONTENT_CHANGES_TOPIC + DEAD_LETTER_SUFFIX)
+        .partitions(partitions)
+        .replicas(1)
+        .build();
+  }
+
+  @Bean
+  public NewTopic contentStateTopic() {
+    return TopicBuilder.name(CONTENT_STATE_TOPIC)
+        .partitions(partitions)
+        .replicas(1)
+        .compact()
+        .build();
+  }
+
+  @Bean(BATCH_LISTENER_FACTORY)
+  public ConcurrentKafkaListenerContainerFactory<Object, Object> contentChangeBatchListenerFactory(
+      final ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+      final ConsumerFactory<Object, Object> consumerFactory,
+      final DefaultErrorHandler contentChangeErrorHandler,
+      final ContentChangeMetrics contentChangeMetrics
+  ) {
+    ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    configurer.configure(factory, consumerFactory);
+    factory.setConcurrency(partitions);
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+    factory.setCommonErrorHandler(contentChangeErrorHandler);
+    factory.setBatchInterceptor((records, consumer) -> {
+      contentChangeMetrics.recordLag(records, consumer);
+      return records;
+    });
+    return factory;
+  }
+
+  /**
+   * In-memory caches follow content-changes in their own throwaway groups; a failed refresh is
+   * logged and skipped rather than dead-lettered, since the DLT replays into the search index.
+   */
+  @Bean(CACHE_LISTENER_FACTORY)
+  public ConcurrentKafkaListenerContainerFactory<Object, Object> contentChangeCacheListenerFactory(
+      final ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+      final ConsumerFactory<Object, Object> consumerFactory
+  ) {
+    ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    configurer.configure(factory, consumerFactory);
+    factory.setCommonErrorHandler(new CommonLoggingErrorHandler());
+    return factory;
+  }
+
+  @Bean
+  public DefaultErrorHandler contentChangeErrorHandler(
+      final KafkaTemplate<Object, Object> kafkaTemplate,
+      final ContentChangeMetrics contentChangeMetrics) {
+    DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+        (record, ex) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+    ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(3);
+    backOff.setInitialInterval(1000);
+    backOff.setMultiplier(2);
+    DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+    errorHandler.setRetryListeners(contentChangeMetrics);
+    return errorHandler;
+  }
+}
@@ -0,0 +1,152 @@
+package com.simonrowe.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContentChangeMetrics implements RetryListener {
+
+  private final MeterRegistry meterRegistry;
+  private final Timer mongoRead;
+  private final Timer elasticsearchWrite;
+  private final Map<Long, Instant> oldestPendingByThread = new ConcurrentHashMap<>();
+  private final Map<TopicPartition, AtomicLong> lagByPartition = new ConcurrentHashMap<>();
+
+  public ContentChangeMetrics(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.mongoRead = processingTimer("mongo_read");
+    this.elasticsearchWrite = processingTimer("es_write");
+    Gauge.builder("content.changes.max.staleness", this, ContentChangeMetrics::maxStalenessSeconds)
+        .description("Age of the oldest content change event received but not yet indexed")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  public void batchReceived(final List<ContentChangeEvent> events) {
+    events.stream()
+        .map(ContentChangeEvent::timestamp)
+        .filter(Objects::nonNull)
+        .min(Instant::compareTo)
+        .ifPresent(oldest -> oldestPendingByThread.merge(
+            Thread.currentThread().threadId(), oldest,
+            (pending, received) -> pending.isBefore(received) ? pending : received));
+  }
+
+  public void batchIndexed(final List<ContentChangeEvent> events) {
+    oldestPendingByThread.remove(Thread.currentThread().threadId());
+    Instant indexedAt = Instant.now();
+    for (ContentChangeEvent event : events) {
+      if (event.timestamp() == null || event.timestamp().isAfter(indexedAt)) {
+        continue;
+      }
+      Timer.builder("content.changes.indexing.latency")
+          .description("Time from a content change event's timestamp until it was indexed")
+          .tag("content_type", String.valueOf(event.contentType()))
+          .publishPercentileHistogram()
+          .register(meterRegistry)
+          .record(Duration.between(event.timestamp(), indexedAt));
+    }
+  }
+
+  public void recordMongoRead(final long nanos) {
+    mongoRead.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordElasticsearchWrite(final long nanos) {
+    elasticsearchWrite.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordSources(final int fromProjection, final int fromMongo) {
+    sources("event").increment(fromProjection);
+    sources("mongo").increment(fromMongo);
+  }
+
+  public void recordLag(final ConsumerRecords<?, ?> records, final Consumer<?, ?> consumer) {
+    for (TopicPartition partition : records.partitions()) {
+      OptionalLong lag = consumer.currentLag(partition);
+      if (lag.isPresent()) {
+        lagByPartition.computeIfAbsent(partition, this::registerLagGauge).set(lag.getAsLong());
+      }
+    }
+  }
+
+  @Override
+  public void failedDelivery(
+      final ConsumerRecord<?, ?> record, final Exception ex, final int deliveryAttempt) {
+    retries(record.topic()).increment();
+  }
+
+  @Override
+  public void failedDelivery(
+      final ConsumerRecords<?, ?> records, final Exception ex, final int deliveryAttempt) {
+    records.partitions().forEach(partition ->
+        retries(partition.topic()).increment(records.records(partition).size()));
+  }
+
+  @Override
+  public void recovered(final ConsumerRecord<?, ?> record, final Exception ex) {
+    oldestPendingByThread.remove(Thread.currentThread().threadId());
+    Counter.builder("content.changes.dead.lettered")
+        .description("Content change events published to the dead-letter topic")
+        .tag("topic", record.topic())
+        .register(meterRegistry)
+        .increment();
+  }
+
+  double maxStalenessSeconds() {
+    Instant now = Instant.now();
+    return oldestPendingByThread.values().stream()
+        .mapToDouble(oldest -> Math.max(0, Duration.between(oldest, now).toMillis() / 1000.0))
+        .max()
+        .orElse(0);
+  }
+
+  private Counter retries(final String topic) {
+    return Counter.builder("content.changes.retries")
+        .description("Content change events redelivered after a failed indexing attempt")
+        .tag("topic", topic)
+        .register(meterRegistry);
+  }
+
+  private Counter sources(final String source) {
+    return Counter.builder("content.changes.sources")
+        .description("Content changes indexed from the event projection or loaded from Mongo")
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+
+  private Timer processingTimer(final String phase) {
+    return Timer.builder("content.changes.processing")
+        .description("Time spent handling a content change batch, by phase")
+        .tag("phase", phase)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private AtomicLong registerLagGauge(final TopicPartition partition) {
+    AtomicLong lag = new AtomicLong();
+    Gauge.builder("content.changes.consumer.lag", lag, AtomicLong::get)
+        .description("Records between the consumer position and the end of the partition")
+        .tag("topic", partition.topic())
+        .tag("partition", String.valueOf(partition.partition()))
+        .register(meterRegistry);
+    return lag;
+  }
+}
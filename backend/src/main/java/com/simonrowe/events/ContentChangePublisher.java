@@ -0,0 +1,21 @@
+package com.simonrowe.events;
+
+import java.util.concurrent.CompletableFuture;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContentChangePublisher {
+
+  private final KafkaTemplate<Object, Object> kafkaTemplate;
+
+  public ContentChangePublisher(final KafkaTemplate<Object, Object> kafkaTemplate) {
+    this.kafkaTemplate = kafkaTemplate;
+  }
+
+  public CompletableFuture<SendResult<Object, Object>> publish(final ContentChangeEvent event) {
+    return kafkaTemplate.send(ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC,
+        ContentChangeConsumer.keyOf(event.contentType(), event.contentId()), event);
+  }
+}
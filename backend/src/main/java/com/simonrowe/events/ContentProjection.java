@@ -0,0 +1,52 @@
+package com.simonrowe.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.simonrowe.blog.Blog;
+import com.simonrowe.employment.Job;
+import com.simonrowe.skills.SkillGroup;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public record ContentProjection(
+    String contentHash,
+    Blog blog,
+    Job job,
+    SkillGroup skillGroup
+) {
+
+  private static final ObjectMapper HASH_MAPPER = JsonMapper.builder()
+      .addModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+      .build();
+
+  public static ContentProjection of(final Blog blog) {
+    return new ContentProjection(hashOf(blog), blog, null, null);
+  }
+
+  public static ContentProjection of(final Job job) {
+    return new ContentProjection(hashOf(job), null, job, null);
+  }
+
+  public static ContentProjection of(final SkillGroup skillGroup) {
+    return new ContentProjection(hashOf(skillGroup), null, null, skillGroup);
+  }
+
+  public boolean matchesHash() {
+    Object document = blog != null ? blog : job != null ? job : skillGroup;
+    return document != null && contentHash != null && contentHash.equals(hashOf(document));
+  }
+
+  static String hashOf(final Object document) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+          .digest(HASH_MAPPER.writeValueAsBytes(document)));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Could not hash content projection", e);
+    }
+  }
+}
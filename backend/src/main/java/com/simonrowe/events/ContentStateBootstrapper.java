@@ -0,0 +1,76 @@
+package com.simonrowe.events;
+
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
+import com.simonrowe.search.IndexService;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContentStateBootstrapper {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ContentStateBootstrapper.class);
+
+  private final ContentStateReader stateReader;
+  private final IndexService indexService;
+  private final boolean enabled;
+  private final int batchSize;
+
+  public ContentStateBootstrapper(
+      final ContentStateReader stateReader,
+      final IndexService indexService,
+      @Value("${search.content-state.bootstrap-on-startup:false}") final boolean enabled,
+      @Value("${search.content-state.batch-size:1000}") final int batchSize
+  ) {
+    this.stateReader = stateReader;
+    this.indexService = indexService;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean rebuild() throws IOException {
+    long start = System.currentTimeMillis();
+    Map<String, ContentChangeEvent> state = stateReader.read().orElse(Map.of());
+    if (state.isEmpty()) {
+      LOG.info("No content state found in {}", ContentChangeKafkaConfig.CONTENT_STATE_TOPIC);
+      return false;
+    }
+
+    int succeeded = 0;
+    int unusable = 0;
+    Set<String> failedKeys = new LinkedHashSet<>();
+    IndexBatch batch = new IndexBatch();
+    for (Map.Entry<String, ContentChangeEvent> entry : state.entrySet()) {
+      if (!ContentChangeConsumer.addProjection(batch, entry.getKey(), entry.getValue())) {
+        unusable++;
+        continue;
+      }
+      if (batch.entries().size() == batchSize) {
+        IndexBatchResult result = indexService.executeBatch(batch);
+        succeeded += result.succeeded() + result.stale();
+        failedKeys.addAll(result.failedKeys());
+        batch = new IndexBatch();
+      }
+    }
+    if (!batch.isEmpty()) {
+      IndexBatchResult result = indexService.executeBatch(batch);
+      succeeded += result.succeeded() + result.stale();
+      failedKeys.addAll(result.failedKeys());
+    }
+
+    LOG.info("Bootstrapped search indices from {} in {}ms: {} documents, {} unusable, {} failed",
+        ContentChangeKafkaConfig.CONTENT_STATE_TOPIC, System.currentTimeMillis() - start,
+        succeeded, unusable, failedKeys.size());
+    return unusable == 0 && failedKeys.isEmpty();
+  }
+}
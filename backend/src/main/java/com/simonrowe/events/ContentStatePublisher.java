@@ -0,0 +1,161 @@
+package com.simonrowe.events;
+
+import com.simonrowe.blog.BlogRepository;
+import com.simonrowe.employment.JobRepository;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
+import com.simonrowe.skills.SkillGroupRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContentStatePublisher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ContentStatePublisher.class);
+
+  private final KafkaTemplate<Object, Object> kafkaTemplate;
+  private final ContentStateReader stateReader;
+  private final BlogRepository blogRepository;
+  private final JobRepository jobRepository;
+  private final SkillGroupRepository skillGroupRepository;
+
+  public ContentStatePublisher(
+      final KafkaTemplate<Object, Object> kafkaTemplate,
+      final ContentStateReader stateReader,
+      final BlogRepository blogRepository,
+      final JobRepository jobRepository,
+      final SkillGroupRepository skillGroupRepository
+  ) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.stateReader = stateReader;
+    this.blogRepository = blogRepository;
+    this.jobRepository = jobRepository;
+    this.skillGroupRepository = skillGroupRepository;
+  }
+
+  public void publish(final IndexBatch batch, final Set<String> failedKeys) {
+    List<IndexBatch.Entry> entries = batch.entries().stream()
+        .filter(entry -> !failedKeys.contains(entry.key()))
+        .toList();
+    List<SkillGroup> removalGroups = groupsForSkillRemovals(entries);
+    entries.forEach(entry -> stateOf(entry, removalGroups).forEach(this::send));
+  }
+
+  public int publishSnapshot() {
+    Optional<Map<String, ContentChangeEvent>> existing = stateReader.read();
+    Instant now = Instant.now();
+    List<StateRecord> records = new ArrayList<>();
+    blogRepository.findByPublishedTrueOrderByCreatedDateDesc()
+        .forEach(blog -> records.add(state(ContentChangeEvent.of(EventType.UPDATED, blog, now))));
+    jobRepository.findAllByOrderByStartDateDesc()
+        .forEach(job -> records.add(state(ContentChangeEvent.of(EventType.UPDATED, job, now))));
+    skillGroupRepository.findAllByOrderByDisplayOrderAsc().forEach(
+        group -> records.add(state(ContentChangeEvent.of(EventType.UPDATED, group, now))));
+    records.forEach(this::send);
+
+    int tombstoned = 0;
+    if (existing.isPresent()) {
+      Set<String> current = new HashSet<>();
+      records.forEach(record -> current.add(record.key()));
+      for (String key : existing.get().keySet()) {
+        if (!current.contains(key)) {
+          send(new StateRecord(key, null));
+          tombstoned++;
+        }
+      }
+    } else {
+      LOG.warn("Could not read existing content state; removed documents were not tombstoned");
+    }
+    LOG.info("Published {} documents and {} tombstones to {}", records.size(), tombstoned,
+        ContentChangeKafkaConfig.CONTENT_STATE_TOPIC);
+    return records.size();
+  }
+
+  private void send(final StateRecord record) {
+    kafkaTemplate.send(ContentChangeKafkaConfig.CONTENT_STATE_TOPIC, record.key(), record.value())
+        .whenComplete((result, ex) -> {
+          if (ex != null) {
+            LOG.warn("Failed to publish content state for {}: {}", record.key(), ex.getMessage());
+          }
+        });
+  }
+
+  private static List<StateRecord> stateOf(
+      final IndexBatch.Entry entry, final List<SkillGroup> removalGroups) {
+    Instant at = entry.observedAt() != null ? entry.observedAt() : Instant.now();
+    return switch (entry.change()) {
+      case IndexBatch.BlogUpsert upsert ->
+          List.of(state(ContentChangeEvent.of(EventType.UPDATED, upsert.blog(), at)));
+      case IndexBatch.BlogRemoval removal ->
+          List.of(tombstone(ContentType.BLOG, removal.blogId()));
+      case IndexBatch.JobUpsert upsert ->
+          List.of(state(ContentChangeEvent.of(EventType.UPDATED, upsert.job(), at)));
+      case IndexBatch.JobRemoval removal ->
+          List.of(tombstone(ContentType.JOB, removal.jobId()));
+      case IndexBatch.SkillGroupUpsert upsert ->
+          List.of(state(ContentChangeEvent.of(EventType.UPDATED, upsert.skillGroup(), at)));
+      case IndexBatch.SkillUpsert upsert -> upsert.skillGroups().stream()
+          .map(group -> state(ContentChangeEvent.of(EventType.UPDATED, group, at)))
+          .toList();
+      case IndexBatch.SkillRemoval removal ->
+          skillRemovalState(removal.contentId(), removalGroups, at);
+    };
+  }
+
+  private List<SkillGroup> groupsForSkillRemovals(final List<IndexBatch.Entry> entries) {
+    List<String> ids = entries.stream()
+        .map(IndexBatch.Entry::change)
+        .filter(IndexBatch.SkillRemoval.class::isInstance)
+        .map(change -> ((IndexBatch.SkillRemoval) change).contentId())
+        .distinct()
+        .toList();
+    return ids.isEmpty() ? List.of() : skillGroupRepository.findByIdInOrSkillsIdIn(ids, ids);
+  }
+
+  /**
+   * A skill removal names either a deleted group or a skill that left its group. Groups that
+   * still carry the id are republished; only when none do is {@code SKILL:<id>} tombstoned, which
+   * clears a deleted group and leaves the group-keyed state untouched for a skill id.
+   */
+  private static List<StateRecord> skillRemovalState(
+      final String contentId, final List<SkillGroup> removalGroups, final Instant at) {
+    List<StateRecord> records = new ArrayList<>();
+    for (SkillGroup group : removalGroups) {
+      if (contentId.equals(group.id()) || holdsSkill(group, contentId)) {
+        records.add(state(ContentChangeEvent.of(EventType.UPDATED, group, at)));
+      }
+    }
+    if (records.isEmpty()) {
+      records.add(tombstone(ContentType.SKILL, contentId));
+    }
+    return records;
+  }
+
+  private static boolean holdsSkill(final SkillGroup group, final String skillId) {
+    List<Skill> skills = group.skills();
+    return skills != null && skills.stream().anyMatch(skill -> skillId.equals(skill.id()));
+  }
+
+  private static StateRecord state(final ContentChangeEvent event) {
+    return new StateRecord(ContentChangeConsumer.keyOf(event), event);
+  }
+
+  private static StateRecord tombstone(final ContentType contentType, final String contentId) {
+    return new StateRecord(ContentChangeConsumer.keyOf(contentType, contentId), null);
+  }
+
+  private record StateRecord(String key, ContentChangeEvent value) {
+  }
+}
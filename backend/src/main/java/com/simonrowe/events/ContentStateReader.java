@@ -0,0 +1,78 @@
+package com.simonrowe.events;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContentStateReader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ContentStateReader.class);
+  private static final int MAX_IDLE_POLLS = 3;
+
+  private final ConsumerFactory<Object, Object> consumerFactory;
+  private final Duration pollTimeout;
+
+  public ContentStateReader(
+      final ConsumerFactory<Object, Object> consumerFactory,
+      @Value("${search.content-state.poll-timeout:2s}") final Duration pollTimeout
+  ) {
+    this.consumerFactory = consumerFactory;
+    this.pollTimeout = pollTimeout;
+  }
+
+  public Optional<Map<String, ContentChangeEvent>> read() {
+    Properties properties = new Properties();
+    properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    try (Consumer<Object, Object> consumer =
+        consumerFactory.createConsumer(null, null, "-state-reader", properties)) {
+      List<TopicPartition> partitions =
+          consumer.partitionsFor(ContentChangeKafkaConfig.CONTENT_STATE_TOPIC).stream()
+              .map(info -> new TopicPartition(info.topic(), info.partition()))
+              .toList();
+      consumer.assign(partitions);
+      consumer.seekToBeginning(partitions);
+      Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+      Map<String, ContentChangeEvent> state = new HashMap<>();
+      int idlePolls = 0;
+      while (idlePolls < MAX_IDLE_POLLS && !caughtUp(consumer, endOffsets)) {
+        ConsumerRecords<Object, Object> records = consumer.poll(pollTimeout);
+        idlePolls = records.isEmpty() ? idlePolls + 1 : 0;
+        for (ConsumerRecord<Object, Object> record : records) {
+          String key = String.valueOf(record.key());
+          if (record.value() instanceof ContentChangeEvent event) {
+            state.put(key, event);
+          } else {
+            state.remove(key);
+          }
+        }
+      }
+      if (!caughtUp(consumer, endOffsets)) {
+        LOG.warn("Could not read {} to its end offsets",
+            ContentChangeKafkaConfig.CONTENT_STATE_TOPIC);
+        return Optional.empty();
+      }
+      return Optional.of(state);
+    }
+  }
+
+  private static boolean caughtUp(
+      final Consumer<Object, Object> consumer, final Map<TopicPartition, Long> endOffsets) {
+    return endOffsets.entrySet().stream()
+        .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+  }
+}
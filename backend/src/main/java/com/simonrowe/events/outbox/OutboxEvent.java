@@ -0,0 +1,15 @@
+package com.simonrowe.events.outbox;
+
+import com.simonrowe.events.ContentChangeEvent;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "content_outbox")
+public record OutboxEvent(
+    @Id String id,
+    ContentChangeEvent event,
+    @Indexed Instant createdAt
+) {
+}
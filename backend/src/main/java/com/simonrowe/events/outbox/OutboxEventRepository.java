@@ -0,0 +1,10 @@
+package com.simonrowe.events.outbox;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+
+  List<OutboxEvent> findByOrderByCreatedAtAsc(Pageable pageable);
+}
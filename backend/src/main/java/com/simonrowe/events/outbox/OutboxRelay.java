@@ -0,0 +1,104 @@
+package com.simonrowe.events.outbox;
+
+import com.simonrowe.events.ContentChangePublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "search.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxEventRepository outboxRepository;
+  private final OutboxRelayLease lease;
+  private final ContentChangePublisher publisher;
+  private final int batchSize;
+  private final Duration sendTimeout;
+  private final Timer relayLatency;
+  private final AtomicLong backlog = new AtomicLong();
+
+  public OutboxRelay(
+      final OutboxEventRepository outboxRepository,
+      final OutboxRelayLease lease,
+      final ContentChangePublisher publisher,
+      final MeterRegistry meterRegistry,
+      @Value("${search.outbox.batch-size:500}") final int batchSize,
+      @Value("${search.outbox.send-timeout:10s}") final Duration sendTimeout
+  ) {
+    this.outboxRepository = outboxRepository;
+    this.lease = lease;
+    this.publisher = publisher;
+    this.batchSize = batchSize;
+    this.sendTimeout = sendTimeout;
+    this.relayLatency = Timer.builder("content.outbox.relay.latency")
+        .description("Time from an outbox entry being written until Kafka acknowledged it")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    Gauge.builder("content.outbox.backlog", backlog, AtomicLong::get)
+        .description("Outbox entries waiting to be published to Kafka")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${search.outbox.poll-interval-ms:500}")
+  public void relay() {
+    int relayed;
+    do {
+      if (!lease.acquire()) {
+        return;
+      }
+      relayed = relayBatch();
+    } while (relayed == batchSize);
+    backlog.set(outboxRepository.count());
+  }
+
+  int relayBatch() {
+    List<OutboxEvent> pending =
+        outboxRepository.findByOrderByCreatedAtAsc(PageRequest.of(0, batchSize));
+    if (pending.isEmpty()) {
+      return 0;
+    }
+    List<CompletableFuture<SendResult<Object, Object>>> sends = pending.stream()
+        .map(entry -> publisher.publish(entry.event()))
+        .toList();
+
+    long deadline = System.nanoTime() + sendTimeout.toNanos();
+    List<String> relayed = new ArrayList<>(pending.size());
+    for (int i = 0; i < pending.size(); i++) {
+      OutboxEvent entry = pending.get(i);
+      try {
+        sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        relayed.add(entry.id());
+        relayLatency.record(Duration.between(entry.createdAt(), Instant.now()));
+      } catch (ExecutionException | TimeoutException e) {
+        LOG.warn("Failed to publish outbox entry {}, will retry it and {} later entries: {}",
+            entry.id(), pending.size() - i - 1, e.getMessage());
+        break;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    outboxRepository.deleteAllById(relayed);
+    LOG.debug("Relayed {} of {} outbox entries", relayed.size(), pending.size());
+    return relayed.size();
+  }
+}
@@ -0,0 +1,69 @@
+package com.simonrowe.events.outbox;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "search.outbox.enabled", havingValue = "true")
+public class OutboxRelayLease {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OutboxRelayLease.class);
+  static final String COLLECTION = "content_outbox_lease";
+  static final String LEASE_ID = "outbox-relay";
+
+  private final MongoTemplate mongoTemplate;
+  private final Duration leaseDuration;
+  private final String owner = UUID.randomUUID().toString();
+  private volatile boolean held;
+
+  public OutboxRelayLease(
+      final MongoTemplate mongoTemplate,
+      @Value("${search.outbox.lease-duration:30s}") final Duration leaseDuration
+  ) {
+    this.mongoTemplate = mongoTemplate;
+    this.leaseDuration = leaseDuration;
+  }
+
+  public boolean acquire() {
+    Instant now = Instant.now();
+    Query query = Query.query(Criteria.where("_id").is(LEASE_ID).orOperator(
+        Criteria.where("owner").is(owner),
+        Criteria.where("expiresAt").lt(now)));
+    Update update = new Update()
+        .set("owner", owner)
+        .set("expiresAt", now.plus(leaseDuration));
+    boolean acquired;
+    try {
+      mongoTemplate.upsert(query, update, COLLECTION);
+      acquired = true;
+    } catch (DuplicateKeyException e) {
+      acquired = false;
+    }
+    if (acquired != held) {
+      LOG.info(acquired ? "Acquired the outbox relay lease" : "Lost the outbox relay lease");
+    }
+    held = acquired;
+    return acquired;
+  }
+
+  @PreDestroy
+  public void release() {
+    if (held) {
+      mongoTemplate.remove(Query.query(Criteria.where("_id").is(LEASE_ID)
+          .and("owner").is(owner)), COLLECTION);
+      held = false;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.simonrowe.events.replay;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/content-changes/dlt/replay")
+public class DeadLetterReplayController {
+
+  private final DeadLetterReplayService replayService;
+
+  public DeadLetterReplayController(final DeadLetterReplayService replayService) {
+    this.replayService = replayService;
+  }
+
+  @PostMapping
+  public ResponseEntity<DeadLetterReplayProgress> start(
+      @Valid @RequestBody(required = false) final DeadLetterReplayRequest request) {
+    return ResponseEntity.accepted().body(replayService.start(
+        request != null ? request : new DeadLetterReplayRequest(null, null)));
+  }
+
+  @GetMapping
+  public List<DeadLetterReplayProgress> list() {
+    return replayService.list();
+  }
+
+  @GetMapping("/{jobId}")
+  public DeadLetterReplayProgress progress(@PathVariable final String jobId) {
+    return replayService.progress(jobId);
+  }
+}
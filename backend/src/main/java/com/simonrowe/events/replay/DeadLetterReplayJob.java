@@ -0,0 +1,76 @@
+package com.simonrowe.events.replay;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class DeadLetterReplayJob {
+
+  private final String id;
+  private final DeadLetterReplayRequest request;
+  private final Instant startedAt = Instant.now();
+  private final AtomicInteger processed = new AtomicInteger();
+
+  private volatile int drained;
+  private volatile DeadLetterReplayStatus status = DeadLetterReplayStatus.RUNNING;
+  private volatile Instant finishedAt;
+  private volatile String message;
+  private volatile DeadLetterReplayReport report;
+
+  DeadLetterReplayJob(final String id, final DeadLetterReplayRequest request) {
+    this.id = id;
+    this.request = request;
+  }
+
+  String id() {
+    return id;
+  }
+
+  DeadLetterReplayRequest request() {
+    return request;
+  }
+
+  Instant startedAt() {
+    return startedAt;
+  }
+
+  DeadLetterReplayStatus status() {
+    return status;
+  }
+
+  void setDrained(final int drained) {
+    this.drained = drained;
+  }
+
+  void recordProcessed(final int events) {
+    processed.addAndGet(events);
+  }
+
+  synchronized void finish(final DeadLetterReplayReport result, final boolean interrupted) {
+    report = result;
+    terminate(interrupted ? DeadLetterReplayStatus.INTERRUPTED : DeadLetterReplayStatus.COMPLETED,
+        interrupted ? "Interrupted after " + processed.get() + " events" : null);
+  }
+
+  synchronized void fail(final String reason) {
+    terminate(DeadLetterReplayStatus.FAILED, reason);
+  }
+
+  private void terminate(final DeadLetterReplayStatus terminalStatus, final String reason) {
+    finishedAt = Instant.now();
+    message = reason;
+    status = terminalStatus;
+  }
+
+  DeadLetterReplayProgress progress() {
+    return new DeadLetterReplayProgress(
+        id,
+        status,
+        drained,
+        processed.get(),
+        startedAt,
+        finishedAt,
+        message,
+        report
+    );
+  }
+}
@@ -0,0 +1,24 @@
+package com.simonrowe.events.replay;
+
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import java.time.Instant;
+
+public record DeadLetterReplayOutcome(
+    int partition,
+    long offset,
+    ContentType contentType,
+    String contentId,
+    EventType eventType,
+    Instant timestamp,
+    Status status,
+    String detail
+) {
+
+  public enum Status {
+    REPLAYED,
+    DUPLICATE,
+    FAILED,
+    SKIPPED
+  }
+}
@@ -0,0 +1,15 @@
+package com.simonrowe.events.replay;
+
+import java.time.Instant;
+
+public record DeadLetterReplayProgress(
+    String jobId,
+    DeadLetterReplayStatus status,
+    int drained,
+    int processed,
+    Instant startedAt,
+    Instant finishedAt,
+    String message,
+    DeadLetterReplayReport report
+) {
+}
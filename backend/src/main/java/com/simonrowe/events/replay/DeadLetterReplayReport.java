@@ -0,0 +1,14 @@
+package com.simonrowe.events.replay;
+
+import java.util.List;
+
+public record DeadLetterReplayReport(
+    int drained,
+    int replayed,
+    int duplicates,
+    int failed,
+    int skipped,
+    long durationMillis,
+    List<DeadLetterReplayOutcome> outcomes
+) {
+}
@@ -0,0 +1,10 @@
+package com.simonrowe.events.replay;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record DeadLetterReplayRequest(
+    @Min(1) @Max(10000) Integer maxEvents,
+    @Min(1) @Max(5000) Integer eventsPerSecond
+) {
+}
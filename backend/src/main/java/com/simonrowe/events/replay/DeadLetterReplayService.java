@@ -0,0 +1,365 @@
+package com.simonrowe.events.replay;
+
+import com.simonrowe.common.ResourceNotFoundException;
+import com.simonrowe.events.ContentChangeConsumer;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeKafkaConfig;
+import com.simonrowe.events.replay.DeadLetterReplayOutcome.Status;
+import com.simonrowe.search.IndexBatchResult;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class DeadLetterReplayService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DeadLetterReplayService.class);
+  static final String DEAD_LETTER_TOPIC =
+      ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC + ContentChangeKafkaConfig.DEAD_LETTER_SUFFIX;
+  static final String REPLAY_GROUP = "content-changes-dlt-replay";
+  private static final int MAX_IDLE_POLLS = 3;
+  private static final int MAX_RETAINED_JOBS = 20;
+
+  private final ConsumerFactory<Object, Object> consumerFactory;
+  private final KafkaTemplate<Object, Object> kafkaTemplate;
+  private final ContentChangeConsumer contentChangeConsumer;
+  private final int defaultMaxEvents;
+  private final int defaultEventsPerSecond;
+  private final Duration pollTimeout;
+  private final Map<String, DeadLetterReplayJob> jobs = new ConcurrentHashMap<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public DeadLetterReplayService(
+      final ConsumerFactory<Object, Object> consumerFactory,
+      final KafkaTemplate<Object, Object> kafkaTemplate,
+      final ContentChangeConsumer contentChangeConsumer,
+      @Value("${search.dlt-replay.max-events:1000}") final int defaultMaxEvents,
+      @Value("${search.dlt-replay.events-per-second:100}") final int defaultEventsPerSecond,
+      @Value("${search.dlt-replay.poll-timeout:2s}") final Duration pollTimeout
+  ) {
+    this.consumerFactory = consumerFactory;
+    this.kafkaTemplate = kafkaTemplate;
+    this.contentChangeConsumer = contentChangeConsumer;
+    this.defaultMaxEvents = defaultMaxEvents;
+    this.defaultEventsPerSecond = defaultEventsPerSecond;
+    this.pollTimeout = pollTimeout;
+  }
+
+  public synchronized DeadLetterReplayProgress start(final DeadLetterReplayRequest request) {
+    boolean alreadyRunning = jobs.values().stream()
+        .anyMatch(job -> !job.status().isTerminal());
+    if (alreadyRunning) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "A DLT replay is already running");
+    }
+    evictFinishedJobs();
+
+    DeadLetterReplayJob job = new DeadLetterReplayJob(UUID.randomUUID().toString(), request);
+    jobs.put(job.id(), job);
+    executor.submit(() -> run(job));
+    LOG.info("Started DLT replay job {}", job.id());
+    return job.progress();
+  }
+
+  public DeadLetterReplayProgress progress(final String jobId) {
+    DeadLetterReplayJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new ResourceNotFoundException("DLT replay job not found: " + jobId);
+    }
+    return job.progress();
+  }
+
+  public List<DeadLetterReplayProgress> list() {
+    return jobs.values().stream()
+        .sorted(Comparator.comparing(DeadLetterReplayJob::startedAt).reversed())
+        .map(DeadLetterReplayJob::progress)
+        .toList();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void evictFinishedJobs() {
+    List<DeadLetterReplayJob> finished = jobs.values().stream()
+        .filter(job -> job.status().isTerminal())
+        .sorted(Comparator.comparing(DeadLetterReplayJob::startedAt))
+        .toList();
+    int excess = jobs.size() - MAX_RETAINED_JOBS + 1;
+    finished.stream().limit(Math.max(excess, 0)).forEach(job -> jobs.remove(job.id()));
+  }
+
+  private void run(final DeadLetterReplayJob job) {
+    long start = System.nanoTime();
+    DeadLetterReplayRequest request = job.request();
+    try (Consumer<Object, Object> consumer = consumerFactory.createConsumer(
+        REPLAY_GROUP, null, "-dlt-replay", consumerProperties())) {
+      int maxEvents = request.maxEvents() != null ? request.maxEvents() : defaultMaxEvents;
+      int eventsPerSecond = request.eventsPerSecond() != null
+          ? request.eventsPerSecond() : defaultEventsPerSecond;
+
+      List<ConsumerRecord<Object, Object>> drained = drain(consumer, maxEvents);
+      job.setDrained(drained.size());
+      Replay replay = new Replay(drained);
+      boolean completed = replay(job, replay, eventsPerSecond);
+      Map<TopicPartition, OffsetAndMetadata> offsets = replay.committableOffsets();
+      if (!offsets.isEmpty()) {
+        consumer.commitSync(offsets);
+      }
+      DeadLetterReplayReport report = report(drained.size(), replay.outcomes, start);
+      LOG.info("DLT replay job {} drained {} events: {} replayed, {} duplicates, {} failed, "
+              + "{} skipped", job.id(), report.drained(), report.replayed(),
+          report.duplicates(), report.failed(), report.skipped());
+      job.finish(report, !completed);
+    } catch (RuntimeException e) {
+      LOG.error("DLT replay job {} failed", job.id(), e);
+      job.fail(e.getMessage());
+    }
+  }
+
+  private Properties consumerProperties() {
+    Properties properties = new Properties();
+    properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    return properties;
+  }
+
+  private List<ConsumerRecord<Object, Object>> drain(
+      final Consumer<Object, Object> consumer, final int maxEvents) {
+    List<TopicPartition> partitions = consumer.partitionsFor(DEAD_LETTER_TOPIC).stream()
+        .map(info -> new TopicPartition(info.topic(), info.partition()))
+        .toList();
+    consumer.assign(partitions);
+    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+    List<ConsumerRecord<Object, Object>> drained = new ArrayList<>();
+    int idlePolls = 0;
+    while (drained.size() < maxEvents && idlePolls < MAX_IDLE_POLLS
+        && !caughtUp(consumer, endOffsets)) {
+      ConsumerRecords<Object, Object> records = consumer.poll(pollTimeout);
+      idlePolls = records.isEmpty() ? idlePolls + 1 : 0;
+      for (ConsumerRecord<Object, Object> record : records) {
+        if (drained.size() == maxEvents) {
+          break;
+        }
+        drained.add(record);
+      }
+    }
+    return drained;
+  }
+
+  private static boolean caughtUp(
+      final Consumer<Object, Object> consumer, final Map<TopicPartition, Long> endOffsets) {
+    return endOffsets.entrySet().stream()
+        .allMatch(end -> consumer.position(end.getKey()) >= end.getValue());
+  }
+
+  private boolean replay(
+      final DeadLetterReplayJob job, final Replay replay, final int eventsPerSecond) {
+    Map<String, ConsumerRecord<Object, Object>> latest = new LinkedHashMap<>();
+    for (ConsumerRecord<Object, Object> record : replay.drained) {
+      if (!(record.value() instanceof ContentChangeEvent event)) {
+        replay.settle(outcome(record, Status.SKIPPED, "Unreadable event payload"), record);
+        continue;
+      }
+      String key = ContentChangeConsumer.keyOf(event);
+      ConsumerRecord<Object, Object> previous = latest.get(key);
+      if (previous == null) {
+        latest.put(key, record);
+      } else if (isOlder(event, (ContentChangeEvent) previous.value())) {
+        replay.supersede(record, previous);
+      } else {
+        replay.supersede(previous, record);
+        latest.put(key, record);
+      }
+    }
+
+    List<ConsumerRecord<Object, Object>> unique = List.copyOf(latest.values());
+    long nextChunkAt = System.nanoTime();
+    for (int from = 0; from < unique.size(); from += eventsPerSecond) {
+      if (!pauseUntil(nextChunkAt)) {
+        return false;
+      }
+      nextChunkAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+      List<ConsumerRecord<Object, Object>> chunk =
+          unique.subList(from, Math.min(from + eventsPerSecond, unique.size()));
+      replayChunk(replay, chunk);
+      job.recordProcessed(chunk.size());
+    }
+    return true;
+  }
+
+  private void replayChunk(
+      final Replay replay, final List<ConsumerRecord<Object, Object>> chunk) {
+    List<ContentChangeEvent> events = chunk.stream()
+        .map(record -> (ContentChangeEvent) record.value())
+        .toList();
+    IndexBatchResult result;
+    try {
+      result = contentChangeConsumer.index(events);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Replaying {} DLT events failed: {}", chunk.size(), e.getMessage());
+      chunk.forEach(record -> requeue(replay, record, e.getMessage()));
+      return;
+    }
+    for (ConsumerRecord<Object, Object> record : chunk) {
+      if (result.failedKeys().contains(
+          ContentChangeConsumer.keyOf((ContentChangeEvent) record.value()))) {
+        requeue(replay, record, "Indexing failed");
+      } else {
+        replay.settle(outcome(record, Status.REPLAYED, null), record);
+      }
+    }
+  }
+
+  private void requeue(
+      final Replay replay, final ConsumerRecord<Object, Object> record, final String reason) {
+    try {
+      kafkaTemplate.send(DEAD_LETTER_TOPIC, record.key(), record.value())
+          .get(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      replay.settle(
+          outcome(record, Status.FAILED, reason + ", returned to " + DEAD_LETTER_TOPIC), record);
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.warn("Could not return DLT event at offset {} to {}: {}", record.offset(),
+          DEAD_LETTER_TOPIC, e.getMessage());
+      replay.retain(outcome(record, Status.FAILED, reason + ", could not be returned to "
+          + DEAD_LETTER_TOPIC + " and was left uncommitted"));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      replay.retain(outcome(record, Status.FAILED, reason + ", left uncommitted"));
+    }
+  }
+
+  private static DeadLetterReplayReport report(
+      final int drained, final List<DeadLetterReplayOutcome> outcomes, final long start) {
+    Map<Status, Integer> counts = new HashMap<>();
+    outcomes.forEach(outcome -> counts.merge(outcome.status(), 1, Integer::sum));
+    return new DeadLetterReplayReport(
+        drained,
+        counts.getOrDefault(Status.REPLAYED, 0),
+        counts.getOrDefault(Status.DUPLICATE, 0),
+        counts.getOrDefault(Status.FAILED, 0),
+        counts.getOrDefault(Status.SKIPPED, 0),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        outcomes);
+  }
+
+  private static DeadLetterReplayOutcome outcome(
+      final ConsumerRecord<Object, Object> record, final Status status, final String detail) {
+    if (record.value() instanceof ContentChangeEvent event) {
+      return new DeadLetterReplayOutcome(record.partition(), record.offset(),
+          event.contentType(), event.contentId(), event.eventType(), event.timestamp(),
+          status, detail);
+    }
+    return new DeadLetterReplayOutcome(record.partition(), record.offset(),
+        null, null, null, null, status, detail);
+  }
+
+  private static boolean isOlder(final ContentChangeEvent event, final ContentChangeEvent other) {
+    return event.timestamp() != null && other.timestamp() != null
+        && event.timestamp().isBefore(other.timestamp());
+  }
+
+  private static boolean pauseUntil(final long nanoTime) {
+    if (Thread.currentThread().isInterrupted()) {
+      return false;
+    }
+    long wait = nanoTime - System.nanoTime();
+    if (wait <= 0) {
+      return true;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(wait);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static final class Replay {
+
+    private final List<ConsumerRecord<Object, Object>> drained;
+    private final List<DeadLetterReplayOutcome> outcomes = new ArrayList<>();
+    private final Set<ConsumerRecord<Object, Object>> unsettled;
+    private final Map<ConsumerRecord<Object, Object>, List<ConsumerRecord<Object, Object>>>
+        superseded = new HashMap<>();
+
+    Replay(final List<ConsumerRecord<Object, Object>> drained) {
+      this.drained = drained;
+      this.unsettled = new HashSet<>(drained);
+    }
+
+    void supersede(
+        final ConsumerRecord<Object, Object> older, final ConsumerRecord<Object, Object> newer) {
+      outcomes.add(outcome(older, Status.DUPLICATE, "Superseded by offset " + newer.offset()));
+      List<ConsumerRecord<Object, Object>> covered =
+          superseded.computeIfAbsent(newer, record -> new ArrayList<>());
+      covered.add(older);
+      List<ConsumerRecord<Object, Object>> inherited = superseded.remove(older);
+      if (inherited != null) {
+        covered.addAll(inherited);
+      }
+    }
+
+    void settle(
+        final DeadLetterReplayOutcome outcome, final ConsumerRecord<Object, Object> record) {
+      outcomes.add(outcome);
+      unsettled.remove(record);
+      superseded.getOrDefault(record, List.of()).forEach(unsettled::remove);
+    }
+
+    void retain(final DeadLetterReplayOutcome outcome) {
+      outcomes.add(outcome);
+    }
+
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets() {
+      Map<TopicPartition, Long> firstUnsettled = new HashMap<>();
+      Map<TopicPartition, Long> lastSettled = new HashMap<>();
+      for (ConsumerRecord<Object, Object> record : drained) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        if (unsettled.contains(record)) {
+          firstUnsettled.merge(partition, record.offset(), Math::min);
+        } else {
+          lastSettled.merge(partition, record.offset() + 1, Math::max);
+        }
+      }
+      Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+      lastSettled.forEach((partition, next) -> {
+        long offset = Math.min(next, firstUnsettled.getOrDefault(partition, next));
+        offsets.put(partition, new OffsetAndMetadata(offset));
+      });
+      return offsets;
+    }
+  }
+}
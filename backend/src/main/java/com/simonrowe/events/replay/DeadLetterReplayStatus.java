@@ -0,0 +1,12 @@
+package com.simonrowe.events.replay;
+
+public enum DeadLetterReplayStatus {
+  RUNNING,
+  COMPLETED,
+  INTERRUPTED,
+  FAILED;
+
+  public boolean isTerminal() {
+    return this != RUNNING;
+  }
+}
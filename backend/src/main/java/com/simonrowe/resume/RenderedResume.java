@@ -0,0 +1,11 @@
+package com.simonrowe.resume;
+
+public record RenderedResume(
+    String version,
+    byte[] pdf
+) {
+
+  public String etag() {
+    return "\"" + version + "\"";
+  }
+}
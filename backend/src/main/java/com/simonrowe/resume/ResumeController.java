@@ -11,29 +11,29 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/resume")
 public class ResumeController {
 
-  private final ResumeService resumeService;
-  private final ResumePdfRenderer pdfRenderer;
+  private final ResumePdfCache pdfCache;
 
-  public ResumeController(
-      ResumeService resumeService,
-      ResumePdfRenderer pdfRenderer
-  ) {
-    this.resumeService = resumeService;
-    this.pdfRenderer = pdfRenderer;
+  public ResumeController(ResumePdfCache pdfCache) {
+    this.pdfCache = pdfCache;
   }
 
   @GetMapping
   public ResponseEntity<byte[]> downloadResume() {
-    ResumeData data = resumeService.assembleResumeData();
-    byte[] pdf = pdfRenderer.render(data);
+    RenderedResume resume = pdfCache.peek();
+    if (resume == null) {
+      resume = pdfCache.refresh();
+    }
+    return pdfResponse()
+        .eTag(resume.etag())
+        .contentLength(resume.pdf().length)
+        .body(resume.pdf());
+  }
 
+  private static ResponseEntity.BodyBuilder pdfResponse() {
     return ResponseEntity.ok()
         .header(HttpHeaders.CONTENT_DISPOSITION,
             "attachment; filename=\"simon-rowe-resume.pdf\"")
-        .header(HttpHeaders.CACHE_CONTROL,
-            "no-cache, no-store, must-revalidate")
-        .contentType(MediaType.APPLICATION_PDF)
-        .contentLength(pdf.length)
-        .body(pdf);
+        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+        .contentType(MediaType.APPLICATION_PDF);
   }
 }
@@ -0,0 +1,121 @@
+package com.simonrowe.resume;
+
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeKafkaConfig;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ResumePdfCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResumePdfCache.class);
+
+  private final ResumeService resumeService;
+  private final ResumePdfRenderer pdfRenderer;
+  private final ResumeRenderBulkhead renderBulkhead;
+  private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+  private final AtomicBoolean refreshQueued = new AtomicBoolean();
+  private final AtomicLong assemblies = new AtomicLong();
+  private volatile RenderedResume current;
+  private long currentAssembly;
+
+  public ResumePdfCache(
+      ResumeService resumeService,
+      ResumePdfRenderer pdfRenderer,
+      ResumeRenderBulkhead renderBulkhead
+  ) {
+    this.resumeService = resumeService;
+    this.pdfRenderer = pdfRenderer;
+    this.renderBulkhead = renderBulkhead;
+  }
+
+  public RenderedResume peek() {
+    return current;
+  }
+
+  public RenderedResume refresh() {
+    long assembly = assemblies.incrementAndGet();
+    ResumeData data = resumeService.assembleResumeData();
+    String version = versionOf(data);
+    RenderedResume cached = current;
+    if (cached != null && cached.version().equals(version)) {
+      return cached;
+    }
+    RenderedResume rendered = renderBulkhead.render(version, () -> pdfRenderer.render(data));
+    publish(assembly, rendered);
+    return rendered;
+  }
+
+  private synchronized void publish(long assembly, RenderedResume rendered) {
+    if (assembly < currentAssembly || rendered == current) {
+      return;
+    }
+    currentAssembly = assembly;
+    current = rendered;
+    LOG.info("Cached resume PDF version {} ({} bytes)", rendered.version(),
+        rendered.pdf().length);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmOnStartup() {
+    refreshInBackground();
+  }
+
+  @Scheduled(fixedDelayString = "${resume.cache.refresh-interval-ms:3600000}",
+      initialDelayString = "${resume.cache.refresh-interval-ms:3600000}")
+  public void refreshInBackground() {
+    if (!refreshQueued.compareAndSet(false, true)) {
+      return;
+    }
+    refresher.submit(() -> {
+      refreshQueued.set(false);
+      try {
+        refresh();
+      } catch (RuntimeException e) {
+        LOG.warn("Refreshing resume PDF failed, serving previous version: {}", e.getMessage());
+      }
+    });
+  }
+
+  @KafkaListener(
+      topics = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC,
+      groupId = "resume-pdf-cache-${random.uuid}",
+      properties = "auto.offset.reset=latest",
+      containerFactory = ContentChangeKafkaConfig.CACHE_LISTENER_FACTORY
+  )
+  public void onContentChange(ContentChangeEvent event) {
+    if (event.contentType() == ContentType.JOB || event.contentType() == ContentType.SKILL) {
+      refreshInBackground();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  static String versionOf(ResumeData data) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(data.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
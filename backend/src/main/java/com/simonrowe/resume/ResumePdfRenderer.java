@@ -1,22 +1,33 @@
 package com.simonrowe.resume;
 
+import com.lowagie.text.Chunk;
 import com.lowagie.text.Document;
 import com.lowagie.text.DocumentException;
-import com.lowagie.text.Element;
 import com.lowagie.text.Font;
 import com.lowagie.text.FontFactory;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.Paragraph;
-import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.HexFormat;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.text.TextContentRenderer;
@@ -50,21 +61,49 @@ public class ResumePdfRenderer {
   private static final Font BODY_FONT =
       FontFactory.getFont(FontFactory.HELVETICA, 9, Color.BLACK);
 
+  private static final BaseFont STAR_BASE_FONT = loadFont("DejaVuSans.ttf");
+  private static final Font STAR_FILLED_FONT =
+      new Font(STAR_BASE_FONT, 8, Font.NORMAL, STAR_FILLED);
+  private static final Font STAR_EMPTY_FONT =
+      new Font(STAR_BASE_FONT, 8, Font.NORMAL, STAR_EMPTY);
+  private static final int TOTAL_STARS = 5;
+
   private static final DateTimeFormatter DATE_INPUT =
       DateTimeFormatter.ofPattern("yyyy-MM-dd");
   private static final DateTimeFormatter DATE_OUTPUT =
       DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
 
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+  private static final int POOLED_BUFFERS = 4;
+  private static final int MAX_MEMOIZED_DESCRIPTIONS = 256;
+
+  private final BlockingQueue<ByteArrayOutputStream> pooledBuffers =
+      new ArrayBlockingQueue<>(POOLED_BUFFERS);
   private final Parser markdownParser = Parser.builder().build();
   private final TextContentRenderer textRenderer =
       TextContentRenderer.builder().build();
+  private final Map<String, String> plainTextByHash = new ConcurrentHashMap<>();
 
   public byte[] render(ResumeData data) {
-    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream buffer = pooledBuffers.poll();
+    if (buffer == null) {
+      buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    }
+    try {
+      writePdf(data, buffer);
+      return buffer.toByteArray();
+    } finally {
+      buffer.reset();
+      pooledBuffers.offer(buffer);
+    }
+  }
 
+  private void writePdf(ResumeData data, OutputStream out) {
     try {
       Document document = new Document(PageSize.A4, 0, 0, 0, 0);
-      PdfWriter.getInstance(document, out);
+      PdfWriter writer = PdfWriter.getInstance(document, out);
+      writer.setCloseStream(false);
+      writer.setFullCompression();
       document.open();
 
       PdfPTable layout = new PdfPTable(2);
@@ -79,8 +118,6 @@ public class ResumePdfRenderer {
     } catch (DocumentException e) {
       throw new RuntimeException("Failed to generate PDF resume", e);
     }
-
-    return out.toByteArray();
   }
 
   private PdfPCell buildSidebar(ResumeData data) {
@@ -92,29 +129,25 @@ public class ResumePdfRenderer {
     ResumeProfile profile = data.profile();
 
     cell.addElement(new Paragraph(profile.name(), NAME_FONT));
-    cell.addElement(new Paragraph(profile.title(), TITLE_FONT));
-    cell.addElement(spacer(10));
+    Paragraph title = new Paragraph(profile.title(), TITLE_FONT);
+    title.setSpacingAfter(10);
+    cell.addElement(title);
 
-    cell.addElement(new Paragraph("CONTACT", SIDEBAR_HEADING));
-    cell.addElement(spacer(5));
+    cell.addElement(sidebarHeading("CONTACT"));
     addContactLine(cell, profile.email());
     addContactLine(cell, profile.phone());
     addContactLine(cell, profile.location());
-    cell.addElement(spacer(8));
 
     if (profile.linkedIn() != null || profile.github() != null
         || profile.website() != null) {
-      cell.addElement(new Paragraph("LINKS", SIDEBAR_HEADING));
-      cell.addElement(spacer(5));
+      cell.addElement(sidebarHeading("LINKS"));
       addContactLine(cell, profile.linkedIn());
       addContactLine(cell, profile.github());
       addContactLine(cell, profile.website());
-      cell.addElement(spacer(8));
     }
 
     if (!data.skillGroups().isEmpty()) {
-      cell.addElement(new Paragraph("SKILLS", SIDEBAR_HEADING));
-      cell.addElement(spacer(5));
+      cell.addElement(sidebarHeading("SKILLS"));
 
       for (ResumeSkillGroup group : data.skillGroups()) {
         Paragraph groupName = new Paragraph(group.name(), SIDEBAR_BODY);
@@ -122,9 +155,8 @@ public class ResumePdfRenderer {
         cell.addElement(groupName);
 
         for (ResumeSkill skill : group.skills()) {
-          String stars = buildStarRating(skill.rating());
-          Paragraph skillLine = new Paragraph(
-              skill.name() + "  " + stars, SIDEBAR_SKILL);
+          Paragraph skillLine = new Paragraph(skill.name() + "  ", SIDEBAR_SKILL);
+          addStarRating(skillLine, skill.rating());
           skillLine.setIndentationLeft(5);
           cell.addElement(skillLine);
         }
@@ -185,29 +217,30 @@ public class ResumePdfRenderer {
     return heading;
   }
 
+  private Paragraph sidebarHeading(String text) {
+    Paragraph heading = new Paragraph(text, SIDEBAR_HEADING);
+    heading.setSpacingBefore(8);
+    heading.setSpacingAfter(5);
+    return heading;
+  }
+
   private void addContactLine(PdfPCell cell, String value) {
     if (value != null && !value.isBlank()) {
       cell.addElement(new Paragraph(value, SIDEBAR_BODY));
     }
   }
 
-  private Paragraph spacer(float height) {
-    Paragraph spacer = new Paragraph(" ");
-    spacer.setSpacingAfter(height);
-    return spacer;
-  }
-
-  private String buildStarRating(Double rating) {
+  private void addStarRating(Paragraph line, Double rating) {
     if (rating == null) {
-      return "";
+      return;
     }
-    int filledStars = (int) Math.round(rating / 2.0);
-    int totalStars = 5;
-    StringBuilder stars = new StringBuilder();
-    for (int i = 0; i < totalStars; i++) {
-      stars.append(i < filledStars ? "★" : "☆");
+    int filledStars = Math.clamp(Math.round(rating / 2.0), 0, TOTAL_STARS);
+    if (filledStars > 0) {
+      line.add(new Chunk("★".repeat(filledStars), STAR_FILLED_FONT));
+    }
+    if (filledStars < TOTAL_STARS) {
+      line.add(new Chunk("☆".repeat(TOTAL_STARS - filledStars), STAR_EMPTY_FONT));
     }
-    return stars.toString();
   }
 
   private String formatDate(String dateStr) {
@@ -219,8 +252,41 @@ public class ResumePdfRenderer {
     }
   }
 
-  private String markdownToPlainText(String markdown) {
+  String markdownToPlainText(String markdown) {
+    String hash = contentHash(markdown);
+    String cached = plainTextByHash.get(hash);
+    if (cached != null) {
+      return cached;
+    }
     Node document = markdownParser.parse(markdown);
-    return textRenderer.render(document).trim();
+    String plainText = textRenderer.render(document).trim();
+    if (plainTextByHash.size() >= MAX_MEMOIZED_DESCRIPTIONS) {
+      plainTextByHash.clear();
+    }
+    plainTextByHash.put(hash, plainText);
+    return plainText;
+  }
+
+  private static String contentHash(String markdown) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+          .digest(markdown.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static BaseFont loadFont(String name) {
+    try (InputStream in = ResumePdfRenderer.class.getResourceAsStream("/fonts/" + name)) {
+      if (in == null) {
+        throw new IllegalStateException("Font resource /fonts/" + name + " is missing");
+      }
+      return BaseFont.createFont(name, BaseFont.IDENTITY_H, BaseFont.EMBEDDED, true,
+          in.readAllBytes(), null);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load font " + name, e);
+    } catch (DocumentException e) {
+      throw new IllegalStateException("Failed to load font " + name, e);
+    }
   }
 }
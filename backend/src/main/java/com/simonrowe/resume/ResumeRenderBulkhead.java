@@ -0,0 +1,119 @@
+package com.simonrowe.resume;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+public class ResumeRenderBulkhead {
+
+  private final Semaphore permits;
+  private final Duration queueTimeout;
+  private final Duration retryAfter;
+  private final Map<String, CompletableFuture<RenderedResume>> inFlight =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Timer renderTimer;
+  private final Counter coalesced;
+  private final Counter rejected;
+
+  public ResumeRenderBulkhead(
+      MeterRegistry meterRegistry,
+      @Value("${resume.render.max-concurrent:2}") int maxConcurrent,
+      @Value("${resume.render.queue-timeout:2s}") Duration queueTimeout,
+      @Value("${resume.render.retry-after:5s}") Duration retryAfter
+  ) {
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.queueTimeout = queueTimeout;
+    this.retryAfter = retryAfter;
+    this.renderTimer = Timer.builder("resume.render.duration")
+        .description("Time spent rendering a resume PDF once a render slot was acquired")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.coalesced = Counter.builder("resume.render.coalesced")
+        .description("Resume renders that joined an identical render already in flight")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("resume.render.rejected")
+        .description("Resume renders rejected because every render slot stayed busy")
+        .register(meterRegistry);
+    Gauge.builder("resume.render.queue.depth", queued, AtomicInteger::get)
+        .description("Resume renders waiting for a render slot")
+        .register(meterRegistry);
+    Gauge.builder("resume.render.active", this, bulkhead -> bulkhead.activeRenders(maxConcurrent))
+        .description("Resume renders currently holding a render slot")
+        .register(meterRegistry);
+  }
+
+  public RenderedResume render(String version, Supplier<byte[]> renderer) {
+    CompletableFuture<RenderedResume> render = new CompletableFuture<>();
+    CompletableFuture<RenderedResume> existing = inFlight.putIfAbsent(version, render);
+    if (existing != null) {
+      coalesced.increment();
+      return join(existing);
+    }
+    try {
+      RenderedResume rendered = renderWithPermit(version, renderer);
+      render.complete(rendered);
+      return rendered;
+    } catch (RuntimeException e) {
+      render.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(version, render);
+    }
+  }
+
+  private RenderedResume renderWithPermit(String version, Supplier<byte[]> renderer) {
+    acquire();
+    try {
+      return renderTimer.record(() -> new RenderedResume(version, renderer.get()));
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void acquire() {
+    queued.incrementAndGet();
+    try {
+      if (!permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        rejected.increment();
+        throw new ResumeRenderRejectedException(retryAfter);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+          "Resume generation interrupted");
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  private static RenderedResume join(CompletableFuture<RenderedResume> render) {
+    try {
+      return render.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private double activeRenders(int maxConcurrent) {
+    return maxConcurrent - permits.availablePermits();
+  }
+}
@@ -0,0 +1,24 @@
+package com.simonrowe.resume;
+
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ResumeRenderRejectedException extends ResponseStatusException {
+
+  private final Duration retryAfter;
+
+  public ResumeRenderRejectedException(Duration retryAfter) {
+    super(HttpStatus.SERVICE_UNAVAILABLE, "Resume generation is busy, retry shortly");
+    this.retryAfter = retryAfter;
+  }
+
+  @Override
+  public HttpHeaders getHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER,
+        String.valueOf(Math.max(1, retryAfter.toSeconds())));
+    return headers;
+  }
+}
@@ -9,8 +9,28 @@ import com.simonrowe.profile.SocialMediaLinkRepository;
 import com.simonrowe.skills.Skill;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,31 +42,64 @@ public class ResumeService {
   private final SocialMediaLinkRepository socialMediaLinkRepository;
   private final JobRepository jobRepository;
   private final SkillGroupRepository skillGroupRepository;
+  private final Tracer tracer;
+  private final Duration timeout;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
   public ResumeService(
       ProfileRepository profileRepository,
       SocialMediaLinkRepository socialMediaLinkRepository,
       JobRepository jobRepository,
-      SkillGroupRepository skillGroupRepository
+      SkillGroupRepository skillGroupRepository,
+      OpenTelemetry openTelemetry,
+      @Value("${resume.assembly.timeout:5s}") Duration timeout
   ) {
     this.profileRepository = profileRepository;
     this.socialMediaLinkRepository = socialMediaLinkRepository;
     this.jobRepository = jobRepository;
     this.skillGroupRepository = skillGroupRepository;
+    this.tracer = openTelemetry.getTracer(ResumeService.class.getName());
+    this.timeout = timeout;
   }
 
-  public ResumeData assembleResumeData() {
-    Profile profile = profileRepository.findFirstBy()
-        .orElseThrow(() ->
-            new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                "No profile data available for resume generation"));
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
 
-    List<SocialMediaLink> socialLinks = socialMediaLinkRepository.findAll();
+  @WithSpan
+  public ResumeData assembleResumeData() {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+    Future<Optional<Profile>> profileQuery =
+        fork(completion, "profile", profileRepository::findFirstBy);
+    Future<List<SocialMediaLink>> socialLinksQuery =
+        fork(completion, "social-links", socialMediaLinkRepository::findAll);
+    Future<List<Job>> jobsQuery =
+        fork(completion, "jobs", jobRepository::findAllByOrderByStartDateDesc);
+    Future<List<SkillGroup>> skillGroupsQuery =
+        fork(completion, "skill-groups", skillGroupRepository::findAllByOrderByDisplayOrderAsc);
+    List<Future<?>> queries = List.of(profileQuery, socialLinksQuery, jobsQuery, skillGroupsQuery);
+
+    Profile profile;
+    List<SocialMediaLink> socialLinks;
+    List<Job> allJobs;
+    List<SkillGroup> allSkillGroups;
+    try {
+      awaitAll(completion, queries.size(), deadline);
+      profile = join(profileQuery, deadline)
+          .orElseThrow(() ->
+              new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                  "No profile data available for resume generation"));
+      socialLinks = join(socialLinksQuery, deadline);
+      allJobs = join(jobsQuery, deadline);
+      allSkillGroups = join(skillGroupsQuery, deadline);
+    } finally {
+      queries.forEach(query -> query.cancel(true));
+    }
 
     ResumeProfile resumeProfile = buildResumeProfile(profile, socialLinks);
 
-    List<Job> allJobs = jobRepository.findAllByOrderByStartDateDesc();
-
     List<ResumeJob> employment = allJobs.stream()
         .filter(job -> Boolean.TRUE.equals(job.includeOnResume())
             && !Boolean.TRUE.equals(job.isEducation()))
@@ -58,14 +111,75 @@ public class ResumeService {
         .map(this::toResumeJob)
         .toList();
 
-    List<ResumeSkillGroup> skillGroups =
-        skillGroupRepository.findAllByOrderByDisplayOrderAsc().stream()
-            .map(this::toResumeSkillGroup)
-            .toList();
+    List<ResumeSkillGroup> skillGroups = allSkillGroups.stream()
+        .map(this::toResumeSkillGroup)
+        .toList();
 
     return new ResumeData(resumeProfile, employment, education, skillGroups);
   }
 
+  @SuppressWarnings("unchecked")
+  private <T> Future<T> fork(CompletionService<Object> completion, String name,
+      Callable<T> query) {
+    Context parent = Context.current();
+    return (Future<T>) completion.submit(() -> {
+      Span span = tracer.spanBuilder("resume.assemble." + name).setParent(parent).startSpan();
+      try (Scope scope = span.makeCurrent()) {
+        return query.call();
+      } catch (Exception e) {
+        span.recordException(e);
+        span.setStatus(StatusCode.ERROR);
+        throw e;
+      } finally {
+        span.end();
+      }
+    });
+  }
+
+  /**
+   * Waits for the reads in completion order, so the first failure is thrown as soon as it
+   * happens rather than after the reads ahead of it in the assembly order.
+   */
+  private void awaitAll(CompletionService<Object> completion, int count, long deadline) {
+    for (int remaining = count; remaining > 0; remaining--) {
+      Future<Object> completed;
+      try {
+        completed = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Resume data assembly interrupted");
+      }
+      if (completed == null) {
+        throw timedOut(null);
+      }
+      join(completed, deadline);
+    }
+  }
+
+  private ResponseStatusException timedOut(Throwable cause) {
+    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+        "Resume data was not assembled within " + timeout.toMillis() + "ms", cause);
+  }
+
+  private <T> T join(Future<T> query, long deadline) {
+    try {
+      return query.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw timedOut(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to assemble resume data", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+          "Resume data assembly interrupted");
+    }
+  }
+
   private ResumeProfile buildResumeProfile(
       Profile profile, List<SocialMediaLink> socialLinks
   ) {
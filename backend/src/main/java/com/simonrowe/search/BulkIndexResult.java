@@ -0,0 +1,10 @@
+package com.simonrowe.search;
+
+public record BulkIndexResult(
+    int succeeded,
+    int stale,
+    int failed
+) {
+
+  public static final BulkIndexResult EMPTY = new BulkIndexResult(0, 0, 0);
+}
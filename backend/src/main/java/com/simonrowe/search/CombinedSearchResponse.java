@@ -0,0 +1,9 @@
+package com.simonrowe.search;
+
+import java.util.List;
+
+public record CombinedSearchResponse(
+    GroupedSearchResponse site,
+    List<BlogSearchResult> blogs
+) {
+}
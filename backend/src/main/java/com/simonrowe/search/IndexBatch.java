@@ -0,0 +1,119 @@
+package com.simonrowe.search;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.employment.Job;
+import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public final class IndexBatch {
+
+  private final List<Entry> entries = new ArrayList<>();
+
+  public IndexBatch indexBlog(final String key, final Blog blog, final Instant observedAt) {
+    return add(key, new BlogUpsert(blog), observedAt);
+  }
+
+  public IndexBatch deleteBlog(final String key, final String blogId, final Instant observedAt) {
+    return add(key, new BlogRemoval(blogId), observedAt);
+  }
+
+  public IndexBatch indexJob(final String key, final Job job, final Instant observedAt) {
+    return add(key, new JobUpsert(job), observedAt);
+  }
+
+  public IndexBatch deleteJob(final String key, final String jobId, final Instant observedAt) {
+    return add(key, new JobRemoval(jobId), observedAt);
+  }
+
+  public IndexBatch indexSkill(
+      final String key, final String skillId, final List<SkillGroup> skillGroups,
+      final Instant observedAt) {
+    return add(key, new SkillUpsert(skillId, skillGroups), observedAt);
+  }
+
+  public IndexBatch indexSkillGroup(
+      final String key, final SkillGroup skillGroup, final Instant observedAt) {
+    return add(key, new SkillGroupUpsert(skillGroup), observedAt);
+  }
+
+  public IndexBatch deleteSkill(
+      final String key, final String contentId, final Instant observedAt) {
+    return add(key, new SkillRemoval(contentId), observedAt);
+  }
+
+  public List<IndexBatch> partition(final int lanes) {
+    if (lanes <= 1 || entries.size() <= 1) {
+      return List.of(this);
+    }
+    IndexBatch[] parts = new IndexBatch[lanes];
+    for (Entry entry : entries) {
+      int lane = Math.floorMod(entry.key().hashCode(), lanes);
+      if (parts[lane] == null) {
+        parts[lane] = new IndexBatch();
+      }
+      parts[lane].entries.add(entry);
+    }
+    return Arrays.stream(parts).filter(Objects::nonNull).toList();
+  }
+
+  public List<Entry> entries() {
+    return List.copyOf(entries);
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  private IndexBatch add(final String key, final Change change, final Instant observedAt) {
+    entries.add(new Entry(key, change, observedAt));
+    return this;
+  }
+
+  public record Entry(String key, Change change, Instant observedAt) {
+  }
+
+  public sealed interface Change
+      permits BlogUpsert, BlogRemoval, JobUpsert, JobRemoval, SkillUpsert, SkillGroupUpsert,
+      SkillRemoval {
+  }
+
+  public record BlogUpsert(Blog blog) implements Change {
+  }
+
+  public record BlogRemoval(String blogId) implements Change {
+  }
+
+  public record JobUpsert(Job job) implements Change {
+  }
+
+  public record JobRemoval(String jobId) implements Change {
+  }
+
+  public record SkillUpsert(String skillId, List<SkillGroup> skillGroups) implements Change {
+
+    public Optional<Skill> skillIn(final SkillGroup skillGroup) {
+      if (skillGroup.skills() == null) {
+        return Optional.empty();
+      }
+      return skillGroup.skills().stream()
+          .filter(skill -> skillId.equals(skill.id()))
+          .findFirst();
+    }
+  }
+
+  public record SkillGroupUpsert(SkillGroup skillGroup) implements Change {
+
+    public List<Skill> skills() {
+      return skillGroup.skills() == null ? List.of() : skillGroup.skills();
+    }
+  }
+
+  public record SkillRemoval(String contentId) implements Change {
+  }
+}
@@ -0,0 +1,16 @@
+package com.simonrowe.search;
+
+import java.util.Set;
+
+public record IndexBatchResult(
+    int succeeded,
+    int stale,
+    Set<String> failedKeys
+) {
+
+  public static final IndexBatchResult EMPTY = new IndexBatchResult(0, 0, Set.of());
+
+  public boolean hasFailures() {
+    return !failedKeys.isEmpty();
+  }
+}
@@ -1,25 +1,39 @@
 package com.simonrowe.search;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
 import com.simonrowe.blog.Blog;
 import com.simonrowe.blog.BlogRepository;
 import com.simonrowe.blog.Tag;
 import com.simonrowe.employment.Job;
 import com.simonrowe.employment.JobRepository;
 import com.simonrowe.search.elasticsearch.BlogSearchDocument;
+import com.simonrowe.search.elasticsearch.ElasticsearchCallGuard;
 import com.simonrowe.search.elasticsearch.ElasticsearchConfig;
 import com.simonrowe.search.elasticsearch.SiteSearchDocument;
 import com.simonrowe.skills.Skill;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
 import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -28,84 +42,352 @@ import org.springframework.stereotype.Service;
 public class IndexService {
 
   private static final Logger LOG = LoggerFactory.getLogger(IndexService.class);
+  private static final int CONFLICT = 409;
+  private static final String VERSION_CONFLICT = "version_conflict_engine_exception";
+  private static final int MAX_SKILL_CLEANUP_HITS = 10000;
 
   private final ElasticsearchClient client;
+  private final ElasticsearchCallGuard callGuard;
   private final BlogRepository blogRepository;
   private final JobRepository jobRepository;
   private final SkillGroupRepository skillGroupRepository;
 
   public IndexService(
       final ElasticsearchClient client,
+      final ElasticsearchCallGuard callGuard,
       final BlogRepository blogRepository,
       final JobRepository jobRepository,
       final SkillGroupRepository skillGroupRepository
   ) {
     this.client = client;
+    this.callGuard = callGuard;
     this.blogRepository = blogRepository;
     this.jobRepository = jobRepository;
     this.skillGroupRepository = skillGroupRepository;
   }
 
-  public void indexSiteDocument(final SiteSearchDocument document) throws IOException {
-    client.index(i -> i
-        .index(ElasticsearchConfig.SITE_SEARCH_INDEX)
-        .id(document.id())
-        .document(document));
+  public static long versionOf(final Instant sourceUpdatedDate, final Instant observedAt) {
+    if (sourceUpdatedDate != null) {
+      return sourceUpdatedDate.toEpochMilli();
+    }
+    return (observedAt != null ? observedAt : Instant.now()).toEpochMilli();
   }
 
-  public void indexBlogDocument(final BlogSearchDocument document) throws IOException {
-    client.index(i -> i
-        .index(ElasticsearchConfig.BLOG_SEARCH_INDEX)
-        .id(document.id())
-        .document(document));
+  public void indexSiteDocument(final SiteSearchDocument document, final long version)
+      throws IOException {
+    indexDocument(ElasticsearchConfig.SITE_SEARCH_INDEX, document.id(), document, version);
   }
 
-  public void deleteSiteDocument(final String id) throws IOException {
-    client.delete(d -> d
-        .index(ElasticsearchConfig.SITE_SEARCH_INDEX)
-        .id(id));
+  public void indexBlogDocument(final BlogSearchDocument document, final long version)
+      throws IOException {
+    indexDocument(ElasticsearchConfig.BLOG_SEARCH_INDEX, document.id(), document, version);
+  }
+
+  public void deleteSiteDocument(final String id, final long version) throws IOException {
+    deleteDocument(ElasticsearchConfig.SITE_SEARCH_INDEX, id, version);
+  }
+
+  public void deleteBlogDocument(final String id, final long version) throws IOException {
+    deleteDocument(ElasticsearchConfig.BLOG_SEARCH_INDEX, id, version);
   }
 
-  public void deleteBlogDocument(final String id) throws IOException {
-    client.delete(d -> d
-        .index(ElasticsearchConfig.BLOG_SEARCH_INDEX)
-        .id(id));
+  public BulkIndexResult bulkIndexSiteDocuments(
+      final List<VersionedDocument<SiteSearchDocument>> documents) throws IOException {
+    return bulkIndex(ElasticsearchConfig.SITE_SEARCH_INDEX, documents, SiteSearchDocument::id);
+  }
+
+  public BulkIndexResult bulkIndexBlogDocuments(
+      final List<VersionedDocument<BlogSearchDocument>> documents) throws IOException {
+    return bulkIndex(ElasticsearchConfig.BLOG_SEARCH_INDEX, documents, BlogSearchDocument::id);
+  }
+
+  private void indexDocument(
+      final String indexName, final String id, final Object document, final long version)
+      throws IOException {
+    try {
+      callGuard.write("index", () -> client.index(i -> i
+          .index(indexName)
+          .id(id)
+          .versionType(VersionType.ExternalGte)
+          .version(version)
+          .document(document)));
+    } catch (ElasticsearchException e) {
+      if (e.status() != CONFLICT) {
+        throw e;
+      }
+      LOG.debug("Skipped stale write of {} to {} at version {}", id, indexName, version);
+    }
+  }
+
+  private void deleteDocument(final String indexName, final String id, final long version)
+      throws IOException {
+    try {
+      callGuard.write("delete", () -> client.delete(d -> d
+          .index(indexName)
+          .id(id)
+          .versionType(VersionType.ExternalGte)
+          .version(version)));
+    } catch (ElasticsearchException e) {
+      if (e.status() != CONFLICT) {
+        throw e;
+      }
+      LOG.debug("Skipped stale delete of {} from {} at version {}", id, indexName, version);
+    }
   }
 
-  public void bulkIndexSiteDocuments(final List<SiteSearchDocument> documents) throws IOException {
+  private <T> BulkIndexResult bulkIndex(
+      final String indexName,
+      final List<VersionedDocument<T>> documents,
+      final Function<T, String> idExtractor
+  ) throws IOException {
     if (documents.isEmpty()) {
-      return;
+      return BulkIndexResult.EMPTY;
     }
     BulkRequest.Builder builder = new BulkRequest.Builder();
-    for (SiteSearchDocument doc : documents) {
-      builder.operations(op -> op
-          .index(idx -> idx
-              .index(ElasticsearchConfig.SITE_SEARCH_INDEX)
-              .id(doc.id())
-              .document(doc)));
+    for (VersionedDocument<T> versioned : documents) {
+      builder.operations(indexOperation(indexName,
+          idExtractor.apply(versioned.document()), versioned.document(), versioned.version()));
+    }
+    BulkRequest request = builder.build();
+    BulkResponse response = callGuard.write("bulk", () -> client.bulk(request));
+    return summarize(indexName, documents.size(), response);
+  }
+
+  public IndexBatchResult executeBatch(final IndexBatch batch) throws IOException {
+    if (batch.isEmpty()) {
+      return IndexBatchResult.EMPTY;
     }
-    BulkResponse response = client.bulk(builder.build());
-    if (response.errors()) {
-      LOG.error("Bulk index to {} had errors", ElasticsearchConfig.SITE_SEARCH_INDEX);
+    List<BulkOperation> operations = new ArrayList<>();
+    List<String> keys = new ArrayList<>();
+    Map<String, SkillCleanup> skillCleanups = new LinkedHashMap<>();
+    for (IndexBatch.Entry entry : batch.entries()) {
+      for (BulkOperation operation : toOperations(entry)) {
+        operations.add(operation);
+        keys.add(entry.key());
+      }
+      Query cleanup = skillCleanupQuery(entry.change());
+      if (cleanup != null) {
+        skillCleanups.put(entry.key(),
+            new SkillCleanup(cleanup, versionOf(null, entry.observedAt())));
+      }
     }
+    IndexBatchResult result = writeBatch(operations, keys);
+    if (skillCleanups.isEmpty()) {
+      return result;
+    }
+    IndexBatchResult cleanup = removeSkillDocuments(skillCleanups);
+    Set<String> failedKeys = new LinkedHashSet<>(result.failedKeys());
+    failedKeys.addAll(cleanup.failedKeys());
+    return new IndexBatchResult(
+        result.succeeded(), result.stale() + cleanup.stale(), failedKeys);
   }
 
-  public void bulkIndexBlogDocuments(final List<BlogSearchDocument> documents) throws IOException {
-    if (documents.isEmpty()) {
-      return;
+  private IndexBatchResult writeBatch(final List<BulkOperation> operations, final List<String> keys)
+      throws IOException {
+    if (operations.isEmpty()) {
+      return IndexBatchResult.EMPTY;
     }
-    BulkRequest.Builder builder = new BulkRequest.Builder();
-    for (BlogSearchDocument doc : documents) {
-      builder.operations(op -> op
-          .index(idx -> idx
-              .index(ElasticsearchConfig.BLOG_SEARCH_INDEX)
-              .id(doc.id())
-              .document(doc)));
+    BulkRequest request = BulkRequest.of(b -> b.operations(operations));
+    BulkResponse response = callGuard.write("bulk", () -> client.bulk(request));
+    if (!response.errors()) {
+      return new IndexBatchResult(operations.size(), 0, Set.of());
     }
-    BulkResponse response = client.bulk(builder.build());
-    if (response.errors()) {
-      LOG.error("Bulk index to {} had errors", ElasticsearchConfig.BLOG_SEARCH_INDEX);
+    int stale = 0;
+    int failed = 0;
+    Set<String> failedKeys = new LinkedHashSet<>();
+    List<BulkResponseItem> items = response.items();
+    for (int i = 0; i < items.size(); i++) {
+      BulkResponseItem item = items.get(i);
+      if (item.error() == null) {
+        continue;
+      }
+      if (VERSION_CONFLICT.equals(item.error().type())) {
+        stale++;
+      } else {
+        failed++;
+        failedKeys.add(keys.get(i));
+        LOG.warn("Bulk operation on {} {} for {} failed: {}",
+            item.index(), item.id(), keys.get(i), item.error().reason());
+      }
     }
+    return new IndexBatchResult(operations.size() - stale - failed, stale, failedKeys);
+  }
+
+  /**
+   * Finds every skill document the batch's cleanups cover with one search, naming each cleanup
+   * query after its batch key, and deletes the hits at the version of the cleanup that matched.
+   * Documents written since the last index refresh are not yet visible; the next change or full
+   * sync removes them.
+   */
+  private IndexBatchResult removeSkillDocuments(final Map<String, SkillCleanup> cleanups)
+      throws IOException {
+    List<BulkOperation> operations = new ArrayList<>();
+    List<String> keys = new ArrayList<>();
+    for (Hit<Map> hit : skillDocuments(cleanups)) {
+      List<String> matched = hit.matchedQueries();
+      if (matched == null || matched.isEmpty()) {
+        continue;
+      }
+      long version = matched.stream()
+          .mapToLong(key -> cleanups.get(key).version())
+          .max()
+          .getAsLong();
+      operations.add(deleteOperation(ElasticsearchConfig.SITE_SEARCH_INDEX, hit.id(), version));
+      keys.add(matched.getFirst());
+    }
+    IndexBatchResult result = writeBatch(operations, keys);
+    if (result.succeeded() > 0) {
+      LOG.info("Removed {} skill documents for {}", result.succeeded(), cleanups.keySet());
+    }
+    if (result.stale() > 0) {
+      LOG.debug("Kept {} skill documents written after the cleanup for {}", result.stale(),
+          cleanups.keySet());
+    }
+    return result;
+  }
+
+  private List<Hit<Map>> skillDocuments(final Map<String, SkillCleanup> cleanups)
+      throws IOException {
+    SearchRequest request = SearchRequest.of(s -> s
+        .index(ElasticsearchConfig.SITE_SEARCH_INDEX)
+        .query(q -> q.bool(b -> {
+          b.filter(term("type", "skill")).minimumShouldMatch("1");
+          cleanups.forEach((key, cleanup) -> b.should(named(cleanup.query(), key)));
+          return b;
+        }))
+        .size(MAX_SKILL_CLEANUP_HITS)
+        .source(src -> src.fetch(false)));
+    SearchResponse<Map> response =
+        callGuard.write("search", () -> client.search(request, Map.class));
+    return response.hits().hits();
+  }
+
+  private List<BulkOperation> toOperations(final IndexBatch.Entry entry) {
+    Instant observedAt = entry.observedAt();
+    return switch (entry.change()) {
+      case IndexBatch.BlogUpsert upsert -> {
+        Blog blog = upsert.blog();
+        long version = versionOf(blog.updatedDate(), observedAt);
+        yield List.of(
+            indexOperation(ElasticsearchConfig.SITE_SEARCH_INDEX, blog.id(),
+                blogToSiteDocument(blog), version),
+            indexOperation(ElasticsearchConfig.BLOG_SEARCH_INDEX, blog.id(),
+                blogToBlogDocument(blog), version));
+      }
+      case IndexBatch.BlogRemoval removal -> List.of(
+          deleteOperation(ElasticsearchConfig.SITE_SEARCH_INDEX, removal.blogId(),
+              versionOf(null, observedAt)),
+          deleteOperation(ElasticsearchConfig.BLOG_SEARCH_INDEX, removal.blogId(),
+              versionOf(null, observedAt)));
+      case IndexBatch.JobUpsert upsert -> List.of(
+          indexOperation(ElasticsearchConfig.SITE_SEARCH_INDEX, upsert.job().id(),
+              jobToSiteDocument(upsert.job()), versionOf(null, observedAt)));
+      case IndexBatch.JobRemoval removal -> List.of(
+          deleteOperation(ElasticsearchConfig.SITE_SEARCH_INDEX, removal.jobId(),
+              versionOf(null, observedAt)));
+      case IndexBatch.SkillUpsert upsert -> upsert.skillGroups().stream()
+          .flatMap(group -> upsert.skillIn(group).stream()
+              .map(skill -> skillOperation(skill, group.id(), observedAt)))
+          .toList();
+      case IndexBatch.SkillGroupUpsert upsert -> upsert.skills().stream()
+          .map(skill -> skillOperation(skill, upsert.skillGroup().id(), observedAt))
+          .toList();
+      case IndexBatch.SkillRemoval removal -> List.of();
+    };
+  }
+
+  private BulkOperation skillOperation(
+      final Skill skill, final String skillGroupId, final Instant observedAt) {
+    SiteSearchDocument document = skillToSiteDocument(skill, skillGroupId);
+    return indexOperation(ElasticsearchConfig.SITE_SEARCH_INDEX, document.id(), document,
+        versionOf(null, observedAt));
+  }
+
+  private static Query skillCleanupQuery(final IndexBatch.Change change) {
+    return switch (change) {
+      case IndexBatch.SkillUpsert upsert -> Query.of(q -> q.bool(b -> b
+          .filter(term(ElasticsearchConfig.SOURCE_ID_FIELD, upsert.skillId()))
+          .mustNot(terms(ElasticsearchConfig.SKILL_GROUP_ID_FIELD,
+              upsert.skillGroups().stream()
+                  .filter(group -> upsert.skillIn(group).isPresent())
+                  .map(SkillGroup::id)
+                  .toList()))));
+      case IndexBatch.SkillGroupUpsert upsert -> Query.of(q -> q.bool(b -> b
+          .filter(term(ElasticsearchConfig.SKILL_GROUP_ID_FIELD, upsert.skillGroup().id()))
+          .mustNot(terms(ElasticsearchConfig.SOURCE_ID_FIELD,
+              upsert.skills().stream().map(Skill::id).toList()))));
+      case IndexBatch.SkillRemoval removal -> Query.of(q -> q.bool(b -> b
+          .should(term(ElasticsearchConfig.SOURCE_ID_FIELD, removal.contentId()))
+          .should(term(ElasticsearchConfig.SKILL_GROUP_ID_FIELD, removal.contentId()))
+          .minimumShouldMatch("1")));
+      default -> null;
+    };
+  }
+
+  private record SkillCleanup(Query query, long version) {
+  }
+
+  private static Query named(final Query query, final String name) {
+    return Query.of(q -> q.bool(b -> b.filter(query).queryName(name)));
+  }
+
+  private static Query term(final String field, final String value) {
+    return Query.of(q -> q.term(t -> t.field(field).value(value)));
+  }
+
+  private static Query terms(final String field, final List<String> values) {
+    return Query.of(q -> q.terms(t -> t
+        .field(field)
+        .terms(v -> v.value(values.stream().map(FieldValue::of).toList()))));
+  }
+
+  private static BulkOperation indexOperation(
+      final String indexName, final String id, final Object document, final long version) {
+    return BulkOperation.of(op -> op
+        .index(idx -> idx
+            .index(indexName)
+            .id(id)
+            .versionType(VersionType.ExternalGte)
+            .version(version)
+            .document(document)));
+  }
+
+  private static BulkOperation deleteOperation(
+      final String indexName, final String id, final long version) {
+    return BulkOperation.of(op -> op
+        .delete(d -> d
+            .index(indexName)
+            .id(id)
+            .versionType(VersionType.ExternalGte)
+            .version(version)));
+  }
+
+  private BulkIndexResult summarize(
+      final String indexName, final int operations, final BulkResponse response) {
+    if (!response.errors()) {
+      return new BulkIndexResult(operations, 0, 0);
+    }
+    int stale = 0;
+    int failed = 0;
+    for (BulkResponseItem item : response.items()) {
+      if (item.error() == null) {
+        continue;
+      }
+      if (VERSION_CONFLICT.equals(item.error().type())) {
+        stale++;
+      } else {
+        failed++;
+        LOG.warn("Bulk operation on {} {} failed: {}",
+            indexName, item.id(), item.error().reason());
+      }
+    }
+    if (failed > 0) {
+      LOG.error("Bulk index to {} had {} failed operations", indexName, failed);
+    }
+    if (stale > 0) {
+      LOG.debug("Bulk index to {} skipped {} stale operations", indexName, stale);
+    }
+    return new BulkIndexResult(operations - stale - failed, stale, failed);
   }
 
   public SiteSearchDocument blogToSiteDocument(final Blog blog) {
@@ -117,7 +399,9 @@ public class IndexService {
         blog.shortDescription(),
         null,
         imageUrl,
-        "/blogs/" + blog.id()
+        "/blogs/" + blog.id(),
+        blog.id(),
+        null
     );
   }
 
@@ -130,7 +414,9 @@ public class IndexService {
         job.shortDescription(),
         job.longDescription(),
         imageUrl,
-        "/jobs/" + job.id()
+        "/jobs/" + job.id(),
+        job.id(),
+        null
     );
   }
 
@@ -143,7 +429,9 @@ public class IndexService {
         skill.description(),
         null,
         imageUrl,
-        "/skills-groups/" + skillGroupId
+        "/skills-groups/" + skillGroupId,
+        skill.id(),
+        skillGroupId
     );
   }
 
@@ -161,7 +449,7 @@ public class IndexService {
         blog.id(),
         blog.title(),
         blog.shortDescription(),
-        blog.content(),
+        MarkdownTextExtractor.extract(blog.content()),
         tagNames,
         skillNames,
         blog.featuredImageUrl(),
@@ -173,31 +461,35 @@ public class IndexService {
   public void fullSyncSiteIndex() throws IOException {
     LOG.info("Starting full sync of site_search index");
     Set<String> indexedIds = new HashSet<>();
+    Instant syncStart = Instant.now();
+    long syncVersion = syncStart.toEpochMilli();
 
     List<Blog> blogs = blogRepository.findByPublishedTrueOrderByCreatedDateDesc();
-    List<SiteSearchDocument> blogDocs = blogs.stream()
-        .map(this::blogToSiteDocument)
+    List<VersionedDocument<SiteSearchDocument>> blogDocs = blogs.stream()
+        .map(blog -> new VersionedDocument<>(
+            blogToSiteDocument(blog), versionOf(blog.updatedDate(), syncStart)))
         .toList();
     bulkIndexSiteDocuments(blogDocs);
-    blogDocs.forEach(doc -> indexedIds.add(doc.id()));
+    blogDocs.forEach(doc -> indexedIds.add(doc.document().id()));
 
     List<Job> jobs = jobRepository.findAllByOrderByStartDateDesc();
-    List<SiteSearchDocument> jobDocs = jobs.stream()
-        .map(this::jobToSiteDocument)
+    List<VersionedDocument<SiteSearchDocument>> jobDocs = jobs.stream()
+        .map(job -> new VersionedDocument<>(jobToSiteDocument(job), syncVersion))
         .toList();
     bulkIndexSiteDocuments(jobDocs);
-    jobDocs.forEach(doc -> indexedIds.add(doc.id()));
+    jobDocs.forEach(doc -> indexedIds.add(doc.document().id()));
 
     List<SkillGroup> skillGroups = skillGroupRepository.findAllByOrderByDisplayOrderAsc();
-    List<SiteSearchDocument> skillDocs = skillGroups.stream()
+    List<VersionedDocument<SiteSearchDocument>> skillDocs = skillGroups.stream()
         .flatMap(group -> group.skills() == null
             ? java.util.stream.Stream.empty()
             : group.skills().stream().map(skill -> skillToSiteDocument(skill, group.id())))
+        .map(doc -> new VersionedDocument<>(doc, syncVersion))
         .toList();
     bulkIndexSiteDocuments(skillDocs);
-    skillDocs.forEach(doc -> indexedIds.add(doc.id()));
+    skillDocs.forEach(doc -> indexedIds.add(doc.document().id()));
 
-    cleanupOrphans(ElasticsearchConfig.SITE_SEARCH_INDEX, indexedIds);
+    cleanupOrphans(ElasticsearchConfig.SITE_SEARCH_INDEX, indexedIds, syncVersion);
     LOG.info("Full sync of site_search completed: {} documents indexed",
         indexedIds.size());
   }
@@ -205,20 +497,23 @@ public class IndexService {
   public void fullSyncBlogIndex() throws IOException {
     LOG.info("Starting full sync of blog_search index");
     Set<String> indexedIds = new HashSet<>();
+    Instant syncStart = Instant.now();
 
     List<Blog> blogs = blogRepository.findByPublishedTrueOrderByCreatedDateDesc();
-    List<BlogSearchDocument> blogDocs = blogs.stream()
-        .map(this::blogToBlogDocument)
+    List<VersionedDocument<BlogSearchDocument>> blogDocs = blogs.stream()
+        .map(blog -> new VersionedDocument<>(
+            blogToBlogDocument(blog), versionOf(blog.updatedDate(), syncStart)))
         .toList();
     bulkIndexBlogDocuments(blogDocs);
-    blogDocs.forEach(doc -> indexedIds.add(doc.id()));
+    blogDocs.forEach(doc -> indexedIds.add(doc.document().id()));
 
-    cleanupOrphans(ElasticsearchConfig.BLOG_SEARCH_INDEX, indexedIds);
+    cleanupOrphans(ElasticsearchConfig.BLOG_SEARCH_INDEX, indexedIds, syncStart.toEpochMilli());
     LOG.info("Full sync of blog_search completed: {} documents indexed",
         indexedIds.size());
   }
 
-  private void cleanupOrphans(final String indexName, final Set<String> validIds)
+  private void cleanupOrphans(
+      final String indexName, final Set<String> validIds, final long syncVersion)
       throws IOException {
     Set<String> existingIds = getAllDocumentIds(indexName);
     existingIds.removeAll(validIds);
@@ -228,46 +523,56 @@ public class IndexService {
     LOG.info("Removing {} orphan documents from {}", existingIds.size(), indexName);
     BulkRequest.Builder builder = new BulkRequest.Builder();
     for (String orphanId : existingIds) {
-      builder.operations(op -> op
-          .delete(d -> d.index(indexName).id(orphanId)));
+      builder.operations(deleteOperation(indexName, orphanId, syncVersion));
     }
-    client.bulk(builder.build());
+    BulkRequest request = builder.build();
+    summarize(indexName, existingIds.size(), callGuard.write("bulk", () -> client.bulk(request)));
   }
 
   private Set<String> getAllDocumentIds(final String indexName) throws IOException {
     Set<String> ids = new HashSet<>();
-    SearchResponse<Map> response = client.search(s -> s
+    SearchResponse<Map> response = callGuard.read("search", () -> client.search(s -> s
             .index(indexName)
             .size(10000)
             .source(src -> src.fetch(false)),
-        Map.class);
+        Map.class));
     response.hits().hits().forEach(hit -> ids.add(hit.id()));
     return ids;
   }
 
-  public void indexBlogContent(final Blog blog) throws IOException {
-    indexSiteDocument(blogToSiteDocument(blog));
-    indexBlogDocument(blogToBlogDocument(blog));
+  public void indexBlogContent(final Blog blog, final Instant observedAt) throws IOException {
+    long version = versionOf(blog.updatedDate(), observedAt);
+    indexSiteDocument(blogToSiteDocument(blog), version);
+    indexBlogDocument(blogToBlogDocument(blog), version);
   }
 
-  public void deleteBlogContent(final String blogId) throws IOException {
-    deleteSiteDocument(blogId);
-    deleteBlogDocument(blogId);
+  public void deleteBlogContent(final String blogId, final Instant observedAt)
+      throws IOException {
+    long version = versionOf(null, observedAt);
+    deleteSiteDocument(blogId, version);
+    deleteBlogDocument(blogId, version);
   }
 
-  public void indexJobContent(final Job job) throws IOException {
-    indexSiteDocument(jobToSiteDocument(job));
+  public void indexJobContent(final Job job, final Instant observedAt) throws IOException {
+    indexSiteDocument(jobToSiteDocument(job), versionOf(null, observedAt));
   }
 
-  public void deleteJobContent(final String jobId) throws IOException {
-    deleteSiteDocument(jobId);
+  public void deleteJobContent(final String jobId, final Instant observedAt) throws IOException {
+    deleteSiteDocument(jobId, versionOf(null, observedAt));
   }
 
-  public void indexSkillContent(final Skill skill, final String skillGroupId) throws IOException {
-    indexSiteDocument(skillToSiteDocument(skill, skillGroupId));
+  public void indexSkillContent(
+      final Skill skill, final String skillGroupId, final Instant observedAt)
+      throws IOException {
+    indexSiteDocument(skillToSiteDocument(skill, skillGroupId), versionOf(null, observedAt));
   }
 
-  public void deleteSkillContent(final String skillId) throws IOException {
-    deleteSiteDocument(skillId);
+  public void deleteSkillContent(final String contentId, final Instant observedAt)
+      throws IOException {
+    IndexBatchResult result = executeBatch(
+        new IndexBatch().deleteSkill(contentId, contentId, observedAt));
+    if (result.hasFailures()) {
+      throw new IOException("Failed to remove skill documents for " + contentId);
+    }
   }
 }
@@ -0,0 +1,139 @@
+package com.simonrowe.search;
+
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.BlockQuote;
+import org.commonmark.node.Code;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.HardLineBreak;
+import org.commonmark.node.Heading;
+import org.commonmark.node.HtmlBlock;
+import org.commonmark.node.HtmlInline;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.ListItem;
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
+import org.commonmark.node.ThematicBreak;
+import org.commonmark.parser.Parser;
+
+public final class MarkdownTextExtractor {
+
+  private static final Parser PARSER = Parser.builder().build();
+
+  private MarkdownTextExtractor() {
+  }
+
+  public static String extract(final String markdown) {
+    if (markdown == null || markdown.isBlank()) {
+      return "";
+    }
+    TextCollector collector = new TextCollector(markdown.length());
+    PARSER.parse(markdown).accept(collector);
+    return collector.toString();
+  }
+
+  private static final class TextCollector extends AbstractVisitor {
+
+    private final StringBuilder text;
+    private boolean pendingSeparator;
+
+    TextCollector(final int capacity) {
+      this.text = new StringBuilder(capacity);
+    }
+
+    @Override
+    public void visit(final Text node) {
+      append(node.getLiteral());
+    }
+
+    @Override
+    public void visit(final Code node) {
+      append(node.getLiteral());
+    }
+
+    @Override
+    public void visit(final FencedCodeBlock node) {
+      separate();
+    }
+
+    @Override
+    public void visit(final IndentedCodeBlock node) {
+      separate();
+    }
+
+    @Override
+    public void visit(final HtmlBlock node) {
+      separate();
+    }
+
+    @Override
+    public void visit(final HtmlInline node) {
+    }
+
+    @Override
+    public void visit(final SoftLineBreak node) {
+      separate();
+    }
+
+    @Override
+    public void visit(final HardLineBreak node) {
+      separate();
+    }
+
+    @Override
+    public void visit(final ThematicBreak node) {
+      separate();
+    }
+
+    @Override
+    public void visit(final Paragraph node) {
+      block(node);
+    }
+
+    @Override
+    public void visit(final Heading node) {
+      block(node);
+    }
+
+    @Override
+    public void visit(final ListItem node) {
+      block(node);
+    }
+
+    @Override
+    public void visit(final BlockQuote node) {
+      block(node);
+    }
+
+    private void block(final Node node) {
+      separate();
+      visitChildren(node);
+      separate();
+    }
+
+    private void separate() {
+      pendingSeparator = !text.isEmpty();
+    }
+
+    private void append(final String literal) {
+      for (int i = 0; i < literal.length(); i++) {
+        char c = literal.charAt(i);
+        if (Character.isWhitespace(c)) {
+          separate();
+        } else {
+          if (pendingSeparator) {
+            text.append(' ');
+            pendingSeparator = false;
+          }
+          text.append(c);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return text.toString();
+    }
+  }
+}
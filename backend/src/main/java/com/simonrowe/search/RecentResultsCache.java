@@ -0,0 +1,28 @@
+package com.simonrowe.search;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+class RecentResultsCache<V> {
+
+  private final Map<String, V> entries;
+
+  RecentResultsCache(final int maxEntries) {
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+        return size() > maxEntries;
+      }
+    });
+  }
+
+  void put(final String key, final V value) {
+    entries.put(key, value);
+  }
+
+  Optional<V> get(final String key) {
+    return Optional.ofNullable(entries.get(key));
+  }
+}
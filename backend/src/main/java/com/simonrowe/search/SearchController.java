@@ -25,4 +25,9 @@ public class SearchController {
   public List<BlogSearchResult> blogSearch(@RequestParam final String q) {
     return searchService.blogSearch(q);
   }
+
+  @GetMapping("/all")
+  public CombinedSearchResponse combinedSearch(@RequestParam final String q) {
+    return searchService.combinedSearch(q);
+  }
 }
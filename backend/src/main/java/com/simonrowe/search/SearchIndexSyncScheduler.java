@@ -1,5 +1,7 @@
 package com.simonrowe.search;
 
+import com.simonrowe.events.ContentStateBootstrapper;
+import com.simonrowe.events.ContentStatePublisher;
 import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,14 +19,25 @@ public class SearchIndexSyncScheduler {
   private static final Logger LOG = LoggerFactory.getLogger(SearchIndexSyncScheduler.class);
 
   private final IndexService indexService;
+  private final ContentStateBootstrapper stateBootstrapper;
+  private final ContentStatePublisher statePublisher;
 
-  public SearchIndexSyncScheduler(final IndexService indexService) {
+  public SearchIndexSyncScheduler(
+      final IndexService indexService,
+      final ContentStateBootstrapper stateBootstrapper,
+      final ContentStatePublisher statePublisher
+  ) {
     this.indexService = indexService;
+    this.stateBootstrapper = stateBootstrapper;
+    this.statePublisher = statePublisher;
   }
 
   @EventListener(ApplicationReadyEvent.class)
   @Order(2)
   public void syncOnStartup() {
+    if (stateBootstrapper.isEnabled() && bootstrapFromContentState()) {
+      return;
+    }
     LOG.info("Running search index sync on startup");
     runFullSync();
   }
@@ -45,6 +58,23 @@ public class SearchIndexSyncScheduler {
     } catch (IOException e) {
       long duration = System.currentTimeMillis() - start;
       LOG.error("Full search index sync failed after {}ms", duration, e);
+      return;
+    }
+    try {
+      statePublisher.publishSnapshot();
+    } catch (RuntimeException e) {
+      LOG.warn("Publishing content state snapshot failed: {}", e.getMessage());
+    }
+  }
+
+  private boolean bootstrapFromContentState() {
+    LOG.info("Bootstrapping search indices from the content state topic");
+    try {
+      return stateBootstrapper.rebuild();
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Bootstrapping from content state failed, falling back to full sync: {}",
+          e.getMessage());
+      return false;
     }
   }
 }
@@ -1,13 +1,18 @@
 package com.simonrowe.search;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
 import com.simonrowe.search.elasticsearch.BlogSearchDocument;
+import com.simonrowe.search.elasticsearch.ElasticsearchCallGuard;
 import com.simonrowe.search.elasticsearch.ElasticsearchConfig;
 import com.simonrowe.search.elasticsearch.SiteSearchDocument;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,56 +26,56 @@ public class SearchService {
 
   private static final Logger LOG = LoggerFactory.getLogger(SearchService.class);
   private static final int MIN_QUERY_LENGTH = 2;
+  private static final int SITE_GROUPS = 3;
 
   private final ElasticsearchClient client;
+  private final ElasticsearchCallGuard callGuard;
   private final int maxResultsPerGroup;
   private final int maxBlogResults;
   private final int maxQueryLength;
+  private final RecentResultsCache<GroupedSearchResponse> recentSiteResults;
+  private final RecentResultsCache<List<BlogSearchResult>> recentBlogResults;
 
   public SearchService(
       final ElasticsearchClient client,
+      final ElasticsearchCallGuard callGuard,
       @Value("${search.site.max-results-per-group:5}") final int maxResultsPerGroup,
       @Value("${search.blog.max-results:20}") final int maxBlogResults,
-      @Value("${search.query.max-length:200}") final int maxQueryLength
+      @Value("${search.query.max-length:200}") final int maxQueryLength,
+      @Value("${search.degraded-cache.max-entries:500}") final int degradedCacheEntries
   ) {
     this.client = client;
+    this.callGuard = callGuard;
     this.maxResultsPerGroup = maxResultsPerGroup;
     this.maxBlogResults = maxBlogResults;
     this.maxQueryLength = maxQueryLength;
+    this.recentSiteResults = new RecentResultsCache<>(degradedCacheEntries);
+    this.recentBlogResults = new RecentResultsCache<>(degradedCacheEntries);
   }
 
   public GroupedSearchResponse siteSearch(final String query) {
     String sanitized = sanitizeQuery(query);
     if (sanitized.length() < MIN_QUERY_LENGTH) {
-      return new GroupedSearchResponse(List.of(), List.of(), List.of());
+      return emptyGroupedResponse();
     }
 
     try {
-      int totalSize = maxResultsPerGroup * 3;
-      SearchResponse<SiteSearchDocument> response = client.search(s -> s
-              .index(ElasticsearchConfig.SITE_SEARCH_INDEX)
-              .size(totalSize)
-              .query(q -> q
-                  .multiMatch(mm -> mm
-                      .query(sanitized)
-                      .fields("name", "shortDescription", "longDescription")
-                      .type(co.elastic.clients.elasticsearch._types.query_dsl
-                          .TextQueryType.BestFields))),
-          SiteSearchDocument.class);
-
-      Map<String, List<SiteSearchDocument>> grouped = response.hits().hits().stream()
+      SearchResponse<SiteSearchDocument> response = callGuard.read("site_search", () ->
+          client.search(s -> s
+                  .index(ElasticsearchConfig.SITE_SEARCH_INDEX)
+                  .size(maxResultsPerGroup * SITE_GROUPS)
+                  .query(siteQuery(sanitized)),
+              SiteSearchDocument.class));
+
+      GroupedSearchResponse result = toGroupedResponse(response.hits().hits().stream()
           .map(Hit::source)
           .filter(doc -> doc != null)
-          .collect(Collectors.groupingBy(SiteSearchDocument::type));
-
-      List<SearchResult> blogs = toSearchResults(grouped.getOrDefault("blog", List.of()));
-      List<SearchResult> jobs = toSearchResults(grouped.getOrDefault("job", List.of()));
-      List<SearchResult> skills = toSearchResults(grouped.getOrDefault("skill", List.of()));
-
-      return new GroupedSearchResponse(blogs, jobs, skills);
+          .toList());
+      recentSiteResults.put(sanitized, result);
+      return result;
     } catch (IOException e) {
       LOG.error("Site search failed for query: {}", sanitized, e);
-      return new GroupedSearchResponse(List.of(), List.of(), List.of());
+      return recentSiteResults.get(sanitized).orElseGet(SearchService::emptyGroupedResponse);
     }
   }
 
@@ -81,33 +86,129 @@ public class SearchService {
     }
 
     try {
-      SearchResponse<BlogSearchDocument> response = client.search(s -> s
-              .index(ElasticsearchConfig.BLOG_SEARCH_INDEX)
-              .size(maxBlogResults)
-              .query(q -> q
-                  .multiMatch(mm -> mm
-                      .query(sanitized)
-                      .fields("title^3", "tags^2", "shortDescription^2", "content", "skills")
-                      .type(co.elastic.clients.elasticsearch._types.query_dsl
-                          .TextQueryType.BestFields))),
-          BlogSearchDocument.class);
-
-      return response.hits().hits().stream()
+      SearchResponse<BlogSearchDocument> response = callGuard.read("blog_search", () ->
+          client.search(s -> s
+                  .index(ElasticsearchConfig.BLOG_SEARCH_INDEX)
+                  .size(maxBlogResults)
+                  .query(blogQuery(sanitized)),
+              BlogSearchDocument.class));
+
+      List<BlogSearchResult> results = toBlogResults(response.hits().hits().stream()
           .map(Hit::source)
           .filter(doc -> doc != null)
-          .map(doc -> new BlogSearchResult(
-              doc.title(),
-              doc.shortDescription(),
-              doc.image(),
-              doc.publishedDate(),
-              doc.url()))
-          .toList();
+          .toList());
+      recentBlogResults.put(sanitized, results);
+      return results;
     } catch (IOException e) {
       LOG.error("Blog search failed for query: {}", sanitized, e);
-      return List.of();
+      return recentBlogResults.get(sanitized).orElseGet(List::of);
+    }
+  }
+
+  public CombinedSearchResponse combinedSearch(final String query) {
+    String sanitized = sanitizeQuery(query);
+    if (sanitized.length() < MIN_QUERY_LENGTH) {
+      return new CombinedSearchResponse(emptyGroupedResponse(), List.of());
+    }
+
+    try {
+      MsearchResponse<JsonData> response = callGuard.read("msearch", () ->
+          client.msearch(m -> m
+                  .searches(item -> item
+                      .header(h -> h.index(ElasticsearchConfig.SITE_SEARCH_INDEX))
+                      .body(b -> b
+                          .size(maxResultsPerGroup * SITE_GROUPS)
+                          .query(siteQuery(sanitized))))
+                  .searches(item -> item
+                      .header(h -> h.index(ElasticsearchConfig.BLOG_SEARCH_INDEX))
+                      .body(b -> b
+                          .size(maxBlogResults)
+                          .query(blogQuery(sanitized)))),
+              JsonData.class));
+
+      MultiSearchResponseItem<JsonData> siteItem = response.responses().get(0);
+      MultiSearchResponseItem<JsonData> blogItem = response.responses().get(1);
+
+      GroupedSearchResponse site;
+      if (siteItem.isResult()) {
+        site = toGroupedResponse(sources(siteItem, SiteSearchDocument.class));
+        recentSiteResults.put(sanitized, site);
+      } else {
+        LOG.error("Site search failed in msearch for query {}: {}",
+            sanitized, siteItem.failure().error().reason());
+        site = recentSiteResults.get(sanitized).orElseGet(SearchService::emptyGroupedResponse);
+      }
+
+      List<BlogSearchResult> blogs;
+      if (blogItem.isResult()) {
+        blogs = toBlogResults(sources(blogItem, BlogSearchDocument.class));
+        recentBlogResults.put(sanitized, blogs);
+      } else {
+        LOG.error("Blog search failed in msearch for query {}: {}",
+            sanitized, blogItem.failure().error().reason());
+        blogs = recentBlogResults.get(sanitized).orElseGet(List::of);
+      }
+
+      return new CombinedSearchResponse(site, blogs);
+    } catch (IOException e) {
+      LOG.error("Combined search failed for query: {}", sanitized, e);
+      return new CombinedSearchResponse(
+          recentSiteResults.get(sanitized).orElseGet(SearchService::emptyGroupedResponse),
+          recentBlogResults.get(sanitized).orElseGet(List::of));
     }
   }
 
+  private static Query siteQuery(final String sanitized) {
+    return Query.of(q -> q
+        .multiMatch(mm -> mm
+            .query(sanitized)
+            .fields("name", "shortDescription", "longDescription")
+            .type(TextQueryType.BestFields)));
+  }
+
+  private static Query blogQuery(final String sanitized) {
+    return Query.of(q -> q
+        .multiMatch(mm -> mm
+            .query(sanitized)
+            .fields("title^3", "tags^2", "shortDescription^2", "content", "skills")
+            .type(TextQueryType.BestFields)));
+  }
+
+  private static <T> List<T> sources(
+      final MultiSearchResponseItem<JsonData> item, final Class<T> type) {
+    return item.result().hits().hits().stream()
+        .map(Hit::source)
+        .filter(source -> source != null)
+        .map(source -> source.to(type))
+        .toList();
+  }
+
+  private GroupedSearchResponse toGroupedResponse(final List<SiteSearchDocument> documents) {
+    Map<String, List<SiteSearchDocument>> grouped = documents.stream()
+        .collect(Collectors.groupingBy(SiteSearchDocument::type));
+
+    List<SearchResult> blogs = toSearchResults(grouped.getOrDefault("blog", List.of()));
+    List<SearchResult> jobs = toSearchResults(grouped.getOrDefault("job", List.of()));
+    List<SearchResult> skills = toSearchResults(grouped.getOrDefault("skill", List.of()));
+
+    return new GroupedSearchResponse(blogs, jobs, skills);
+  }
+
+  private List<BlogSearchResult> toBlogResults(final List<BlogSearchDocument> documents) {
+    return documents.stream()
+        .map(doc -> new BlogSearchResult(
+            doc.title(),
+            doc.shortDescription(),
+            doc.image(),
+            doc.publishedDate(),
+            doc.url()))
+        .toList();
+  }
+
+  private static GroupedSearchResponse emptyGroupedResponse() {
+    return new GroupedSearchResponse(List.of(), List.of(), List.of());
+  }
+
   private List<SearchResult> toSearchResults(final List<SiteSearchDocument> documents) {
     return documents.stream()
         .limit(maxResultsPerGroup)
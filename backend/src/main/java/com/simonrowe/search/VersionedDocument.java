@@ -0,0 +1,7 @@
+package com.simonrowe.search;
+
+public record VersionedDocument<T>(
+    T document,
+    long version
+) {
+}
@@ -0,0 +1,13 @@
+package com.simonrowe.search.changestream;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "change_stream_checkpoints")
+public record ChangeStreamCheckpoint(
+    @Id String id,
+    String resumeToken,
+    Instant updatedAt
+) {
+}
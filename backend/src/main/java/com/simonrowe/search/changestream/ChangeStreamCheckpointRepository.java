@@ -0,0 +1,7 @@
+package com.simonrowe.search.changestream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ChangeStreamCheckpointRepository
+    extends MongoRepository<ChangeStreamCheckpoint, String> {
+}
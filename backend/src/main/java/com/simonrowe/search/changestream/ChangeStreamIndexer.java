@@ -0,0 +1,277 @@
+package com.simonrowe.search.changestream;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.simonrowe.blog.Blog;
+import com.simonrowe.employment.Job;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
+import com.simonrowe.search.IndexService;
+import com.simonrowe.skills.SkillGroup;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "search.change-stream.enabled", havingValue = "true")
+public class ChangeStreamIndexer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamIndexer.class);
+  static final String CHECKPOINT_ID = "search-indexer";
+  static final String BLOGS = "blogs";
+  static final String JOBS = "jobs";
+  static final String SKILL_GROUPS = "skill_groups";
+  private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+  private final MongoTemplate mongoTemplate;
+  private final ChangeStreamCheckpointRepository checkpointRepository;
+  private final IndexService indexService;
+  private final int batchSize;
+  private final Duration maxAwait;
+  private final Duration retryBackoff;
+
+  private volatile boolean running;
+  private volatile CountDownLatch watching = new CountDownLatch(1);
+  private Thread worker;
+
+  public ChangeStreamIndexer(
+      final MongoTemplate mongoTemplate,
+      final ChangeStreamCheckpointRepository checkpointRepository,
+      final IndexService indexService,
+      @Value("${search.change-stream.batch-size:200}") final int batchSize,
+      @Value("${search.change-stream.max-await:1s}") final Duration maxAwait,
+      @Value("${search.change-stream.retry-backoff:5s}") final Duration retryBackoff
+  ) {
+    this.mongoTemplate = mongoTemplate;
+    this.checkpointRepository = checkpointRepository;
+    this.indexService = indexService;
+    this.batchSize = batchSize;
+    this.maxAwait = maxAwait;
+    this.retryBackoff = retryBackoff;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(3)
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    watching = new CountDownLatch(1);
+    worker = Thread.ofVirtual().name("change-stream-indexer").start(this::run);
+    LOG.info("Change stream indexer started on {}, {} and {}", BLOGS, JOBS, SKILL_GROUPS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread current;
+    synchronized (this) {
+      running = false;
+      current = worker;
+      worker = null;
+    }
+    if (current == null) {
+      return;
+    }
+    try {
+      if (!current.join(maxAwait.plus(retryBackoff).plusSeconds(1))) {
+        current.interrupt();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    LOG.info("Change stream indexer stopped");
+  }
+
+  boolean awaitWatching(final Duration timeout) throws InterruptedException {
+    return watching.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private void run() {
+    while (running) {
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor()) {
+        watching.countDown();
+        BsonDocument checkpointed = cursor.getResumeToken();
+        while (running) {
+          List<ChangeStreamDocument<Document>> changes = nextBatch(cursor);
+          if (!changes.isEmpty()) {
+            apply(changes);
+          }
+          BsonDocument resumeToken = cursor.getResumeToken();
+          if (resumeToken != null && !resumeToken.equals(checkpointed)) {
+            checkpoint(resumeToken);
+            checkpointed = resumeToken;
+          }
+        }
+      } catch (MongoException e) {
+        if (e.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+          recoverFromLostHistory();
+        } else {
+          backOff("Change stream failed", e);
+        }
+      } catch (IOException | RuntimeException e) {
+        backOff("Change stream indexing failed", e);
+      }
+    }
+  }
+
+  private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+    List<Bson> pipeline = List.of(
+        Aggregates.match(Filters.in("ns.coll", BLOGS, JOBS, SKILL_GROUPS)));
+    ChangeStreamIterable<Document> stream = mongoTemplate.getDb().watch(pipeline)
+        .fullDocument(FullDocument.UPDATE_LOOKUP)
+        .batchSize(batchSize)
+        .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS);
+    checkpointRepository.findById(CHECKPOINT_ID).ifPresentOrElse(
+        checkpoint -> {
+          LOG.info("Resuming change stream from checkpoint saved at {}", checkpoint.updatedAt());
+          stream.startAfter(BsonDocument.parse(checkpoint.resumeToken()));
+        },
+        () -> LOG.info("No change stream checkpoint found, starting from now"));
+    return stream.cursor();
+  }
+
+  private List<ChangeStreamDocument<Document>> nextBatch(
+      final MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+    List<ChangeStreamDocument<Document>> changes = new ArrayList<>();
+    while (running && changes.size() < batchSize) {
+      ChangeStreamDocument<Document> change = cursor.tryNext();
+      if (change == null) {
+        break;
+      }
+      changes.add(change);
+    }
+    return changes;
+  }
+
+  private void apply(final List<ChangeStreamDocument<Document>> changes) throws IOException {
+    Map<String, ChangeStreamDocument<Document>> latest = new LinkedHashMap<>();
+    for (ChangeStreamDocument<Document> change : changes) {
+      if (change.getNamespace() == null || change.getDocumentKey() == null) {
+        LOG.debug("Ignoring {} change stream event", change.getOperationTypeString());
+        continue;
+      }
+      String key = change.getNamespace().getCollectionName() + ":" + idOf(change);
+      latest.remove(key);
+      latest.put(key, change);
+    }
+
+    IndexBatch batch = new IndexBatch();
+    latest.forEach((key, change) -> addChange(batch, key, change));
+    IndexBatchResult result = indexService.executeBatch(batch);
+    if (result.hasFailures()) {
+      throw new IOException("Failed to index change stream events " + result.failedKeys());
+    }
+    LOG.debug("Indexed {} change stream events as {} changes: {} written, {} stale",
+        changes.size(), latest.size(), result.succeeded(), result.stale());
+  }
+
+  private void addChange(
+      final IndexBatch batch, final String key, final ChangeStreamDocument<Document> change) {
+    String collection = change.getNamespace().getCollectionName();
+    String id = idOf(change);
+    Instant observedAt = observedAt(change);
+    Document document = change.getFullDocument();
+    boolean removed = change.getOperationType() == OperationType.DELETE || document == null;
+    switch (collection) {
+      case BLOGS -> {
+        Blog blog = removed ? null : mongoTemplate.getConverter().read(Blog.class, document);
+        if (blog != null && blog.published()) {
+          batch.indexBlog(key, blog, observedAt);
+        } else {
+          batch.deleteBlog(key, id, observedAt);
+        }
+      }
+      case JOBS -> {
+        if (removed) {
+          batch.deleteJob(key, id, observedAt);
+        } else {
+          batch.indexJob(key, mongoTemplate.getConverter().read(Job.class, document), observedAt);
+        }
+      }
+      case SKILL_GROUPS -> {
+        if (removed) {
+          batch.deleteSkill(key, id, observedAt);
+        } else {
+          batch.indexSkillGroup(key,
+              mongoTemplate.getConverter().read(SkillGroup.class, document), observedAt);
+        }
+      }
+      default -> LOG.warn("Unexpected change stream namespace {}", collection);
+    }
+  }
+
+  private void checkpoint(final BsonDocument resumeToken) {
+    checkpointRepository.save(
+        new ChangeStreamCheckpoint(CHECKPOINT_ID, resumeToken.toJson(), Instant.now()));
+  }
+
+  private void recoverFromLostHistory() {
+    LOG.warn("Change stream checkpoint is no longer in the oplog, running a full sync");
+    checkpointRepository.deleteById(CHECKPOINT_ID);
+    try {
+      indexService.fullSyncSiteIndex();
+      indexService.fullSyncBlogIndex();
+    } catch (IOException e) {
+      backOff("Full sync after lost change stream history failed", e);
+    }
+  }
+
+  private void backOff(final String message, final Exception e) {
+    if (!running) {
+      return;
+    }
+    LOG.warn("{}, retrying in {}ms: {}", message, retryBackoff.toMillis(), e.getMessage());
+    try {
+      Thread.sleep(retryBackoff);
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  private static String idOf(final ChangeStreamDocument<Document> change) {
+    BsonValue id = Objects.requireNonNull(change.getDocumentKey()).get("_id");
+    if (id.isObjectId()) {
+      return id.asObjectId().getValue().toHexString();
+    }
+    return id.isString() ? id.asString().getValue() : id.toString();
+  }
+
+  private static Instant observedAt(final ChangeStreamDocument<Document> change) {
+    if (change.getWallTime() != null) {
+      return Instant.ofEpochMilli(change.getWallTime().getValue());
+    }
+    if (change.getClusterTime() != null) {
+      return Instant.ofEpochSecond(change.getClusterTime().getTime());
+    }
+    return Instant.now();
+  }
+}
@@ -0,0 +1,9 @@
+package com.simonrowe.search.elasticsearch;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ElasticsearchCall<T> {
+
+  T execute() throws IOException;
+}
@@ -0,0 +1,286 @@
+package com.simonrowe.search.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ElasticsearchCallGuard {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ElasticsearchCallGuard.class);
+  private static final int LATENCY_WINDOW = 128;
+  private static final int MIN_HEDGE_SAMPLES = 20;
+  private static final double HEDGE_PERCENTILE = 0.95;
+
+  enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Duration readTimeout;
+  private final Duration writeTimeout;
+  private final boolean hedgeEnabled;
+  private final Duration hedgeMinDelay;
+  private final int failureThreshold;
+  private final Duration openDuration;
+  private final Counter hedgedRequests;
+  private final Counter timeouts;
+  private final Counter rejectedCalls;
+
+  private final long[] readLatencies = new long[LATENCY_WINDOW];
+  private int latencyCount;
+  private int latencyCursor;
+
+  private CircuitState state = CircuitState.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  public ElasticsearchCallGuard(
+      @Value("${search.elasticsearch.read-timeout:2s}") final Duration readTimeout,
+      @Value("${search.elasticsearch.write-timeout:10s}") final Duration writeTimeout,
+      @Value("${search.elasticsearch.hedge.enabled:true}") final boolean hedgeEnabled,
+      @Value("${search.elasticsearch.hedge.min-delay:50ms}") final Duration hedgeMinDelay,
+      @Value("${search.elasticsearch.circuit-breaker.failure-threshold:5}")
+      final int failureThreshold,
+      @Value("${search.elasticsearch.circuit-breaker.open-duration:30s}")
+      final Duration openDuration,
+      final MeterRegistry meterRegistry
+  ) {
+    this.readTimeout = readTimeout;
+    this.writeTimeout = writeTimeout;
+    this.hedgeEnabled = hedgeEnabled;
+    this.hedgeMinDelay = hedgeMinDelay;
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+    this.hedgedRequests = Counter.builder("search.elasticsearch.hedged.requests")
+        .description("Read requests re-issued after exceeding the hedge delay")
+        .register(meterRegistry);
+    this.timeouts = Counter.builder("search.elasticsearch.timeouts")
+        .description("Elasticsearch calls abandoned after their per-operation deadline")
+        .register(meterRegistry);
+    this.rejectedCalls = Counter.builder("search.elasticsearch.circuit.rejected")
+        .description("Elasticsearch calls rejected while the circuit breaker was open")
+        .register(meterRegistry);
+    Gauge.builder("search.elasticsearch.circuit.state", this,
+            guard -> guard.circuitState().ordinal())
+        .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+        .register(meterRegistry);
+  }
+
+  public <T> T read(final String operation, final ElasticsearchCall<T> call) throws IOException {
+    acquirePermission(operation);
+    long start = System.nanoTime();
+    try {
+      T result = hedgeEnabled
+          ? executeHedged(operation, call)
+          : executeWithTimeout(operation, call, readTimeout);
+      recordReadLatency(System.nanoTime() - start);
+      onSuccess();
+      return result;
+    } catch (ElasticsearchException e) {
+      onServerResponse(e);
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      onFailure(operation, e);
+      throw e;
+    }
+  }
+
+  public <T> T write(final String operation, final ElasticsearchCall<T> call) throws IOException {
+    acquirePermission(operation);
+    try {
+      T result = executeWithTimeout(operation, call, writeTimeout);
+      onSuccess();
+      return result;
+    } catch (ElasticsearchException e) {
+      onServerResponse(e);
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      onFailure(operation, e);
+      throw e;
+    }
+  }
+
+  synchronized CircuitState circuitState() {
+    return state;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T executeWithTimeout(
+      final String operation,
+      final ElasticsearchCall<T> call,
+      final Duration timeout
+  ) throws IOException {
+    Future<T> future = executor.submit(call::execute);
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      timeouts.increment();
+      throw new ElasticsearchUnavailableException(
+          operation + " timed out after " + timeout.toMillis() + "ms", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(operation + " interrupted");
+    }
+  }
+
+  private <T> T executeHedged(final String operation, final ElasticsearchCall<T> call)
+      throws IOException {
+    long hedgeDelay = hedgeDelayNanos();
+    if (hedgeDelay <= 0 || hedgeDelay >= readTimeout.toNanos()) {
+      return executeWithTimeout(operation, call, readTimeout);
+    }
+
+    long deadline = System.nanoTime() + readTimeout.toNanos();
+    ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+    List<Future<T>> attempts = new ArrayList<>(2);
+    try {
+      attempts.add(completion.submit(call::execute));
+      Future<T> done = completion.poll(hedgeDelay, TimeUnit.NANOSECONDS);
+      if (done != null) {
+        return done.get();
+      }
+
+      hedgedRequests.increment();
+      LOG.debug("Hedging {} after {}ms", operation, TimeUnit.NANOSECONDS.toMillis(hedgeDelay));
+      attempts.add(completion.submit(call::execute));
+
+      ExecutionException failure = null;
+      for (int outstanding = attempts.size(); outstanding > 0; outstanding--) {
+        done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (done == null) {
+          timeouts.increment();
+          throw new ElasticsearchUnavailableException(
+              operation + " timed out after " + readTimeout.toMillis() + "ms");
+        }
+        try {
+          return done.get();
+        } catch (ExecutionException e) {
+          failure = e;
+        }
+      }
+      throw unwrap(failure);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(operation + " interrupted");
+    } finally {
+      attempts.forEach(attempt -> attempt.cancel(true));
+    }
+  }
+
+  private IOException unwrap(final ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof IOException io) {
+      return io;
+    }
+    if (cause instanceof RuntimeException runtime) {
+      throw runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IOException(cause);
+  }
+
+  private synchronized void recordReadLatency(final long nanos) {
+    readLatencies[latencyCursor] = nanos;
+    latencyCursor = (latencyCursor + 1) % LATENCY_WINDOW;
+    latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+  }
+
+  private long hedgeDelayNanos() {
+    long[] samples;
+    synchronized (this) {
+      if (latencyCount < MIN_HEDGE_SAMPLES) {
+        return 0;
+      }
+      samples = Arrays.copyOf(readLatencies, latencyCount);
+    }
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(HEDGE_PERCENTILE * samples.length) - 1;
+    return Math.max(samples[index], hedgeMinDelay.toNanos());
+  }
+
+  private synchronized void acquirePermission(final String operation)
+      throws ElasticsearchUnavailableException {
+    if (state == CircuitState.OPEN) {
+      if (System.nanoTime() - openedAt < openDuration.toNanos()) {
+        rejectedCalls.increment();
+        throw new ElasticsearchUnavailableException(
+            "Elasticsearch circuit open, rejecting " + operation);
+      }
+      state = CircuitState.HALF_OPEN;
+      trialInFlight = false;
+    }
+    if (state == CircuitState.HALF_OPEN) {
+      if (trialInFlight) {
+        rejectedCalls.increment();
+        throw new ElasticsearchUnavailableException(
+            "Elasticsearch circuit half-open, rejecting " + operation);
+      }
+      trialInFlight = true;
+    }
+  }
+
+  private void onServerResponse(final ElasticsearchException e) {
+    if (e.status() >= 500) {
+      onFailure("request", e);
+    } else {
+      onSuccess();
+    }
+  }
+
+  private synchronized void onSuccess() {
+    if (state != CircuitState.CLOSED) {
+      LOG.info("Elasticsearch circuit closed");
+    }
+    state = CircuitState.CLOSED;
+    consecutiveFailures = 0;
+    trialInFlight = false;
+  }
+
+  private synchronized void onFailure(final String operation, final Exception e) {
+    consecutiveFailures++;
+    if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      if (state != CircuitState.OPEN) {
+        LOG.warn("Elasticsearch circuit opened after {} consecutive failures, last on {}: {}",
+            consecutiveFailures, operation, e.getMessage());
+      }
+      state = CircuitState.OPEN;
+      openedAt = System.nanoTime();
+      trialInFlight = false;
+    }
+  }
+}
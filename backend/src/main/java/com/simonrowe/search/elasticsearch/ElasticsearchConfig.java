@@ -5,6 +5,7 @@ import co.elastic.clients.elasticsearch._types.mapping.KeywordProperty;
 import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch._types.mapping.TextProperty;
 import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
 import java.io.IOException;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -21,6 +22,10 @@ public class ElasticsearchConfig {
 
   public static final String SITE_SEARCH_INDEX = "site_search";
   public static final String BLOG_SEARCH_INDEX = "blog_search";
+  public static final String BLOG_ANALYZER = "blog_analyzer";
+  public static final String SOURCE_ID_FIELD = "sourceId";
+  public static final String SKILL_GROUP_ID_FIELD = "skillGroupId";
+  static final String LEGACY_BLOG_INDEX = "blogs";
 
   private final ElasticsearchClient client;
 
@@ -32,7 +37,9 @@ public class ElasticsearchConfig {
   @Order(1)
   public void createIndicesOnStartup() {
     createSiteSearchIndex();
+    migrateBlogSearchIndex();
     createBlogSearchIndex();
+    dropLegacyBlogIndex();
   }
 
   private void createSiteSearchIndex() {
@@ -40,6 +47,10 @@ public class ElasticsearchConfig {
       boolean exists = client.indices().exists(e -> e.index(SITE_SEARCH_INDEX)).value();
       if (exists) {
         LOG.info("Index {} already exists", SITE_SEARCH_INDEX);
+        client.indices().putMapping(m -> m
+            .index(SITE_SEARCH_INDEX)
+            .properties(SOURCE_ID_FIELD, keyword())
+            .properties(SKILL_GROUP_ID_FIELD, keyword()));
         return;
       }
       client.indices().create(c -> c
@@ -62,7 +73,9 @@ public class ElasticsearchConfig {
               .properties("image", Property.of(p -> p
                   .keyword(KeywordProperty.of(k -> k.index(false)))))
               .properties("url", Property.of(p -> p
-                  .keyword(KeywordProperty.of(k -> k.index(false)))))));
+                  .keyword(KeywordProperty.of(k -> k.index(false)))))
+              .properties(SOURCE_ID_FIELD, keyword())
+              .properties(SKILL_GROUP_ID_FIELD, keyword())));
       LOG.info("Created index {}", SITE_SEARCH_INDEX);
     } catch (IOException e) {
       LOG.error("Failed to create index {}", SITE_SEARCH_INDEX, e);
@@ -80,17 +93,22 @@ public class ElasticsearchConfig {
           .index(BLOG_SEARCH_INDEX)
           .settings(IndexSettings.of(s -> s
               .numberOfShards("1")
-              .numberOfReplicas("0")))
+              .numberOfReplicas("0")
+              .analysis(a -> a
+                  .analyzer(BLOG_ANALYZER, an -> an
+                      .custom(c -> c
+                          .tokenizer("standard")
+                          .filter("lowercase", "asciifolding"))))))
           .mappings(m -> m
               .properties("title", Property.of(p -> p
                   .text(TextProperty.of(t -> t
-                      .analyzer("standard")
+                      .analyzer(BLOG_ANALYZER)
                       .fields("keyword", Property.of(kp -> kp
                           .keyword(KeywordProperty.of(k -> k))))))))
               .properties("shortDescription", Property.of(p -> p
-                  .text(TextProperty.of(t -> t.analyzer("standard")))))
+                  .text(TextProperty.of(t -> t.analyzer(BLOG_ANALYZER)))))
               .properties("content", Property.of(p -> p
-                  .text(TextProperty.of(t -> t.analyzer("standard")))))
+                  .text(TextProperty.of(t -> t.analyzer(BLOG_ANALYZER)))))
               .properties("tags", Property.of(p -> p
                   .keyword(KeywordProperty.of(k -> k))))
               .properties("skills", Property.of(p -> p
@@ -106,4 +124,46 @@ public class ElasticsearchConfig {
       LOG.error("Failed to create index {}", BLOG_SEARCH_INDEX, e);
     }
   }
+
+  private void migrateBlogSearchIndex() {
+    try {
+      boolean exists = client.indices().exists(e -> e.index(BLOG_SEARCH_INDEX)).value();
+      if (!exists || usesBlogAnalyzer()) {
+        return;
+      }
+      LOG.info("Recreating index {} to apply {}", BLOG_SEARCH_INDEX, BLOG_ANALYZER);
+      client.indices().delete(d -> d.index(BLOG_SEARCH_INDEX));
+    } catch (IOException e) {
+      LOG.error("Failed to migrate index {}", BLOG_SEARCH_INDEX, e);
+    }
+  }
+
+  private boolean usesBlogAnalyzer() throws IOException {
+    IndexMappingRecord mapping = client.indices()
+        .getMapping(g -> g.index(BLOG_SEARCH_INDEX))
+        .result()
+        .get(BLOG_SEARCH_INDEX);
+    if (mapping == null) {
+      return false;
+    }
+    Property content = mapping.mappings().properties().get("content");
+    return content != null && content.isText()
+        && BLOG_ANALYZER.equals(content.text().analyzer());
+  }
+
+  private static Property keyword() {
+    return Property.of(p -> p.keyword(KeywordProperty.of(k -> k)));
+  }
+
+  private void dropLegacyBlogIndex() {
+    try {
+      boolean exists = client.indices().exists(e -> e.index(LEGACY_BLOG_INDEX)).value();
+      if (exists) {
+        client.indices().delete(d -> d.index(LEGACY_BLOG_INDEX));
+        LOG.info("Deleted orphan index {}", LEGACY_BLOG_INDEX);
+      }
+    } catch (IOException e) {
+      LOG.error("Failed to delete orphan index {}", LEGACY_BLOG_INDEX, e);
+    }
+  }
 }
@@ -0,0 +1,53 @@
+package com.simonrowe.search.elasticsearch;
+
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.rest_client.RestClientOptions;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.elasticsearch.RestClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ElasticsearchMetricsConfig {
+
+  @Bean
+  public ElasticsearchTransport elasticsearchTransport(
+      final RestClient restClient,
+      final JsonpMapper jsonpMapper,
+      final ObjectProvider<RestClientOptions> restClientOptions,
+      final MeterRegistry meterRegistry,
+      @Value("${search.elasticsearch.slow-request-threshold:500ms}")
+      final Duration slowRequestThreshold
+  ) {
+    RestClientTransport transport = new RestClientTransport(
+        restClient, jsonpMapper, restClientOptions.getIfAvailable());
+    return new InstrumentedElasticsearchTransport(
+        transport, meterRegistry, slowRequestThreshold);
+  }
+
+  @Bean
+  public RestClientBuilderCustomizer payloadMetricsCustomizer(final MeterRegistry meterRegistry) {
+    ElasticsearchPayloadMetrics payloadMetrics = new ElasticsearchPayloadMetrics(meterRegistry);
+    return new RestClientBuilderCustomizer() {
+      @Override
+      public void customize(final RestClientBuilder builder) {
+      }
+
+      @Override
+      public void customize(final HttpAsyncClientBuilder builder) {
+        builder.addInterceptorLast((HttpRequestInterceptor) payloadMetrics);
+        builder.addInterceptorLast((HttpResponseInterceptor) payloadMetrics);
+      }
+    };
+  }
+}
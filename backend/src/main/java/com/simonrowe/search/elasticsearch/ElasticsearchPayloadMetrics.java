@@ -0,0 +1,65 @@
+package com.simonrowe.search.elasticsearch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+public class ElasticsearchPayloadMetrics
+    implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+  private final MeterRegistry meterRegistry;
+
+  public ElasticsearchPayloadMetrics(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void process(final HttpRequest request, final HttpContext context) {
+    if (request instanceof HttpEntityEnclosingRequest enclosing) {
+      record("search.elasticsearch.request.size", request, enclosing.getEntity());
+    }
+  }
+
+  @Override
+  public void process(final HttpResponse response, final HttpContext context) {
+    HttpRequest request = HttpCoreContext.adapt(context).getRequest();
+    if (request != null) {
+      record("search.elasticsearch.response.size", request, response.getEntity());
+    }
+  }
+
+  private void record(final String name, final HttpRequest request, final HttpEntity entity) {
+    if (entity == null || entity.getContentLength() < 0) {
+      return;
+    }
+    DistributionSummary.builder(name)
+        .description("Elasticsearch HTTP payload size")
+        .baseUnit("bytes")
+        .tag("endpoint", endpointOf(request.getRequestLine().getUri()))
+        .tag("method", request.getRequestLine().getMethod())
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(entity.getContentLength());
+  }
+
+  static String endpointOf(final String uri) {
+    String path = URI.create(uri).getPath();
+    if (path == null) {
+      return "other";
+    }
+    for (String segment : path.split("/")) {
+      if (segment.startsWith("_")) {
+        return segment;
+      }
+    }
+    return path.length() > 1 ? "_index" : "_root";
+  }
+}
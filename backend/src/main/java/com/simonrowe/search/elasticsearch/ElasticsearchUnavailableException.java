@@ -0,0 +1,14 @@
+package com.simonrowe.search.elasticsearch;
+
+import java.io.IOException;
+
+public class ElasticsearchUnavailableException extends IOException {
+
+  public ElasticsearchUnavailableException(final String message) {
+    super(message);
+  }
+
+  public ElasticsearchUnavailableException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
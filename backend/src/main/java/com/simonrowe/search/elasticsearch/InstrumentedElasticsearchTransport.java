@@ -0,0 +1,208 @@
+package com.simonrowe.search.elasticsearch;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryRequest;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.Endpoint;
+import co.elastic.clients.transport.TransportOptions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class InstrumentedElasticsearchTransport implements ElasticsearchTransport {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(InstrumentedElasticsearchTransport.class);
+  private static final ObjectMapper TREE_MAPPER = new ObjectMapper();
+  private static final Set<String> UNREDACTED_KEYS =
+      Set.of("field", "fields", "type", "operator", "analyzer", "fuzziness", "order");
+  private static final String REDACTED = "?";
+
+  private final ElasticsearchTransport delegate;
+  private final MeterRegistry meterRegistry;
+  private final Duration slowRequestThreshold;
+  private final DistributionSummary bulkItems;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public InstrumentedElasticsearchTransport(
+      final ElasticsearchTransport delegate,
+      final MeterRegistry meterRegistry,
+      final Duration slowRequestThreshold
+  ) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+    this.slowRequestThreshold = slowRequestThreshold;
+    this.bulkItems = DistributionSummary.builder("search.elasticsearch.bulk.items")
+        .description("Operations per Elasticsearch bulk request")
+        .baseUnit("operations")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  @Override
+  public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+      final RequestT request,
+      final Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+      final TransportOptions options
+  ) throws IOException {
+    recordBulkItems(request);
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      ResponseT response = delegate.performRequest(request, endpoint, options);
+      success = true;
+      return response;
+    } finally {
+      record(request, endpoint, success, System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+      final RequestT request,
+      final Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+      final TransportOptions options
+  ) {
+    recordBulkItems(request);
+    long start = System.nanoTime();
+    return delegate.performRequestAsync(request, endpoint, options)
+        .whenComplete((response, error) ->
+            record(request, endpoint, error == null, System.nanoTime() - start));
+  }
+
+  @Override
+  public JsonpMapper jsonpMapper() {
+    return delegate.jsonpMapper();
+  }
+
+  @Override
+  public TransportOptions options() {
+    return delegate.options();
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate.close();
+  }
+
+  private void recordBulkItems(final Object request) {
+    if (request instanceof BulkRequest bulk) {
+      bulkItems.record(bulk.operations().size());
+    }
+  }
+
+  private <RequestT> void record(
+      final RequestT request,
+      final Endpoint<RequestT, ?, ?> endpoint,
+      final boolean success,
+      final long nanos
+  ) {
+    String operation = endpoint.id();
+    String outcome = success ? "success" : "error";
+    timers.computeIfAbsent(operation + ':' + outcome, key ->
+            Timer.builder("search.elasticsearch.requests")
+                .description("Latency of Elasticsearch requests by operation")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+        .record(nanos, TimeUnit.NANOSECONDS);
+
+    if (nanos >= slowRequestThreshold.toNanos()) {
+      meterRegistry.counter("search.elasticsearch.slow.requests", "operation", operation)
+          .increment();
+      LOG.warn("Slow Elasticsearch {} on {} took {}ms, query: {}",
+          operation, indexOf(endpoint.requestUrl(request)),
+          TimeUnit.NANOSECONDS.toMillis(nanos), redactedQuery(request));
+    }
+  }
+
+  static String indexOf(final String requestUrl) {
+    for (String segment : requestUrl.split("/")) {
+      if (!segment.isEmpty()) {
+        return segment.startsWith("_") ? "_all" : segment;
+      }
+    }
+    return "_all";
+  }
+
+  private String redactedQuery(final Object request) {
+    List<Query> queries = new ArrayList<>();
+    if (request instanceof SearchRequest search && search.query() != null) {
+      queries.add(search.query());
+    } else if (request instanceof MsearchRequest msearch) {
+      msearch.searches().stream()
+          .map(item -> item.body().query())
+          .filter(Objects::nonNull)
+          .forEach(queries::add);
+    } else if (request instanceof DeleteByQueryRequest deleteByQuery
+        && deleteByQuery.query() != null) {
+      queries.add(deleteByQuery.query());
+    }
+    if (queries.isEmpty()) {
+      return "-";
+    }
+    return String.join(" | ", queries.stream()
+        .map(query -> redact(JsonpUtils.toJsonString(query, jsonpMapper())))
+        .toList());
+  }
+
+  static String redact(final String json) {
+    try {
+      JsonNode tree = TREE_MAPPER.readTree(json);
+      redactNode(tree);
+      return tree.toString();
+    } catch (JsonProcessingException e) {
+      return "<unparseable query>";
+    }
+  }
+
+  private static void redactNode(final JsonNode node) {
+    if (node instanceof ObjectNode object) {
+      List<String> names = new ArrayList<>();
+      object.fieldNames().forEachRemaining(names::add);
+      for (String name : names) {
+        JsonNode child = object.get(name);
+        if (UNREDACTED_KEYS.contains(name)) {
+          continue;
+        }
+        if (child.isTextual()) {
+          object.set(name, TextNode.valueOf(REDACTED));
+        } else {
+          redactNode(child);
+        }
+      }
+    } else if (node instanceof ArrayNode array) {
+      for (int i = 0; i < array.size(); i++) {
+        if (array.get(i).isTextual()) {
+          array.set(i, TextNode.valueOf(REDACTED));
+        } else {
+          redactNode(array.get(i));
+        }
+      }
+    }
+  }
+}
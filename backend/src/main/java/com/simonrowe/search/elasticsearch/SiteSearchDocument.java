@@ -7,6 +7,8 @@ public record SiteSearchDocument(
     String shortDescription,
     String longDescription,
     String image,
-    String url
+    String url,
+    String sourceId,
+    String skillGroupId
 ) {
 }
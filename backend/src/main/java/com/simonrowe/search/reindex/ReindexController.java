@@ -0,0 +1,50 @@
+package com.simonrowe.search.reindex;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/admin/search/reindex")
+public class ReindexController {
+
+  private final ReindexService reindexService;
+
+  public ReindexController(final ReindexService reindexService) {
+    this.reindexService = reindexService;
+  }
+
+  @PostMapping
+  public ResponseEntity<ReindexProgress> start(@Valid @RequestBody final ReindexRequest request) {
+    return ResponseEntity.accepted().body(reindexService.start(request));
+  }
+
+  @GetMapping
+  public List<ReindexProgress> list() {
+    return reindexService.list();
+  }
+
+  @GetMapping("/{jobId}")
+  public ReindexProgress progress(@PathVariable final String jobId) {
+    return reindexService.progress(jobId);
+  }
+
+  @GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamProgress(@PathVariable final String jobId) {
+    return reindexService.streamProgress(jobId);
+  }
+
+  @DeleteMapping("/{jobId}")
+  public ReindexProgress cancel(@PathVariable final String jobId) {
+    return reindexService.cancel(jobId);
+  }
+}
@@ -0,0 +1,111 @@
+package com.simonrowe.search.reindex;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ReindexJob {
+
+  private final String id;
+  private final ReindexRequest request;
+  private final Instant startedAt = Instant.now();
+  private final long startNanos = System.nanoTime();
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+
+  private volatile long total;
+  private volatile ReindexStatus status = ReindexStatus.RUNNING;
+  private volatile long finishedNanos;
+  private volatile Instant finishedAt;
+  private volatile String message;
+
+  ReindexJob(final String id, final ReindexRequest request) {
+    this.id = id;
+    this.request = request;
+  }
+
+  String id() {
+    return id;
+  }
+
+  ReindexRequest request() {
+    return request;
+  }
+
+  Instant startedAt() {
+    return startedAt;
+  }
+
+  ReindexStatus status() {
+    return status;
+  }
+
+  boolean isCancelRequested() {
+    return status == ReindexStatus.CANCELLING;
+  }
+
+  void setTotal(final long total) {
+    this.total = total;
+  }
+
+  void recordBatch(final int documents, final int failed) {
+    processed.addAndGet(documents);
+    errors.addAndGet(failed);
+  }
+
+  synchronized boolean requestCancel() {
+    if (status != ReindexStatus.RUNNING) {
+      return false;
+    }
+    status = ReindexStatus.CANCELLING;
+    message = "Cancellation requested";
+    return true;
+  }
+
+  synchronized void finish() {
+    if (status == ReindexStatus.CANCELLING) {
+      terminate(ReindexStatus.CANCELLED, "Cancelled after " + processed.get() + " documents");
+    } else {
+      terminate(ReindexStatus.COMPLETED, null);
+    }
+  }
+
+  synchronized void fail(final String reason) {
+    terminate(ReindexStatus.FAILED, reason);
+  }
+
+  private void terminate(final ReindexStatus terminalStatus, final String reason) {
+    finishedNanos = System.nanoTime();
+    finishedAt = Instant.now();
+    message = reason;
+    status = terminalStatus;
+  }
+
+  ReindexProgress progress() {
+    ReindexStatus current = status;
+    long done = processed.get();
+    long expected = total;
+    long endNanos = current.isTerminal() ? finishedNanos : System.nanoTime();
+    double elapsedSeconds = (endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    double rate = elapsedSeconds > 0 ? done / elapsedSeconds : 0;
+    Long eta = null;
+    if (current.isTerminal()) {
+      eta = 0L;
+    } else if (rate > 0 && expected >= done) {
+      eta = (long) Math.ceil((expected - done) / rate);
+    }
+    return new ReindexProgress(
+        id,
+        current,
+        request.contentType(),
+        expected,
+        done,
+        errors.get(),
+        Math.round(rate * 10) / 10.0,
+        eta,
+        startedAt,
+        finishedAt,
+        message
+    );
+  }
+}
@@ -0,0 +1,19 @@
+package com.simonrowe.search.reindex;
+
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import java.time.Instant;
+
+public record ReindexProgress(
+    String jobId,
+    ReindexStatus status,
+    ContentType contentType,
+    long total,
+    long processed,
+    long errors,
+    double documentsPerSecond,
+    Long etaSeconds,
+    Instant startedAt,
+    Instant finishedAt,
+    String message
+) {
+}
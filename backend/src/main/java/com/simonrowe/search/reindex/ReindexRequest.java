@@ -0,0 +1,23 @@
+package com.simonrowe.search.reindex;
+
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import java.util.List;
+
+public record ReindexRequest(
+    @NotNull ContentType contentType,
+    @Size(max = 10000) List<String> ids,
+    Instant updatedFrom,
+    Instant updatedTo
+) {
+
+  public boolean hasIds() {
+    return ids != null && !ids.isEmpty();
+  }
+
+  public boolean hasUpdatedRange() {
+    return updatedFrom != null || updatedTo != null;
+  }
+}
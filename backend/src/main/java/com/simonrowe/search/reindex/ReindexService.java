@@ -0,0 +1,325 @@
+package com.simonrowe.search.reindex;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.blog.BlogRepository;
+import com.simonrowe.common.ResourceNotFoundException;
+import com.simonrowe.employment.Job;
+import com.simonrowe.employment.JobRepository;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.search.BulkIndexResult;
+import com.simonrowe.search.IndexService;
+import com.simonrowe.search.VersionedDocument;
+import com.simonrowe.search.elasticsearch.SiteSearchDocument;
+import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
+import com.simonrowe.skills.SkillGroupRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+public class ReindexService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ReindexService.class);
+  private static final int MAX_RETAINED_JOBS = 50;
+
+  private final IndexService indexService;
+  private final BlogRepository blogRepository;
+  private final JobRepository jobRepository;
+  private final SkillGroupRepository skillGroupRepository;
+  private final int batchSize;
+  private final Duration progressInterval;
+  private final Map<String, ReindexJob> jobs = new ConcurrentHashMap<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public ReindexService(
+      final IndexService indexService,
+      final BlogRepository blogRepository,
+      final JobRepository jobRepository,
+      final SkillGroupRepository skillGroupRepository,
+      @Value("${search.reindex.batch-size:200}") final int batchSize,
+      @Value("${search.reindex.progress-interval:1s}") final Duration progressInterval
+  ) {
+    this.indexService = indexService;
+    this.blogRepository = blogRepository;
+    this.jobRepository = jobRepository;
+    this.skillGroupRepository = skillGroupRepository;
+    this.batchSize = batchSize;
+    this.progressInterval = progressInterval;
+  }
+
+  public synchronized ReindexProgress start(final ReindexRequest request) {
+    validate(request);
+    boolean alreadyRunning = jobs.values().stream()
+        .anyMatch(job -> job.request().contentType() == request.contentType()
+            && !job.status().isTerminal());
+    if (alreadyRunning) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+          "A reindex of " + request.contentType() + " is already running");
+    }
+    evictFinishedJobs();
+
+    ReindexJob job = new ReindexJob(UUID.randomUUID().toString(), request);
+    jobs.put(job.id(), job);
+    executor.submit(() -> run(job));
+    LOG.info("Started reindex job {} for {}", job.id(), request.contentType());
+    return job.progress();
+  }
+
+  public ReindexProgress progress(final String jobId) {
+    return find(jobId).progress();
+  }
+
+  public List<ReindexProgress> list() {
+    return jobs.values().stream()
+        .sorted(Comparator.comparing(ReindexJob::startedAt).reversed())
+        .map(ReindexJob::progress)
+        .toList();
+  }
+
+  public ReindexProgress cancel(final String jobId) {
+    ReindexJob job = find(jobId);
+    if (job.requestCancel()) {
+      LOG.info("Cancellation requested for reindex job {}", jobId);
+    }
+    return job.progress();
+  }
+
+  public SseEmitter streamProgress(final String jobId) {
+    ReindexJob job = find(jobId);
+    SseEmitter emitter = new SseEmitter(0L);
+    executor.submit(() -> {
+      try {
+        ReindexProgress progress = job.progress();
+        emitter.send(SseEmitter.event().name("progress").data(progress));
+        while (!progress.status().isTerminal()) {
+          Thread.sleep(progressInterval.toMillis());
+          progress = job.progress();
+          emitter.send(SseEmitter.event().name("progress").data(progress));
+        }
+        emitter.complete();
+      } catch (IOException e) {
+        LOG.debug("Progress stream for reindex job {} closed: {}", jobId, e.getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        emitter.complete();
+      }
+    });
+    return emitter;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    jobs.values().forEach(ReindexJob::requestCancel);
+    executor.shutdownNow();
+  }
+
+  private ReindexJob find(final String jobId) {
+    ReindexJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new ResourceNotFoundException("Reindex job not found: " + jobId);
+    }
+    return job;
+  }
+
+  private void validate(final ReindexRequest request) {
+    if (request.hasIds() && request.hasUpdatedRange()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Specify either ids or an updatedDate range, not both");
+    }
+    if (request.hasUpdatedRange() && request.contentType() != ContentType.BLOG) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "updatedDate ranges are only supported for BLOG content");
+    }
+    if (request.updatedFrom() != null && request.updatedTo() != null
+        && request.updatedFrom().isAfter(request.updatedTo())) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "updatedFrom must not be after updatedTo");
+    }
+  }
+
+  private void evictFinishedJobs() {
+    List<ReindexJob> finished = jobs.values().stream()
+        .filter(job -> job.status().isTerminal())
+        .sorted(Comparator.comparing(ReindexJob::startedAt))
+        .toList();
+    int excess = jobs.size() - MAX_RETAINED_JOBS + 1;
+    finished.stream().limit(Math.max(excess, 0)).forEach(job -> jobs.remove(job.id()));
+  }
+
+  private void run(final ReindexJob job) {
+    try {
+      switch (job.request().contentType()) {
+        case BLOG -> reindexBlogs(job);
+        case JOB -> reindexJobs(job);
+        case SKILL -> reindexSkills(job);
+        default -> throw new IllegalStateException(
+            "Unsupported content type " + job.request().contentType());
+      }
+      job.finish();
+      ReindexProgress progress = job.progress();
+      LOG.info("Reindex job {} {}: {} documents, {} errors",
+          job.id(), progress.status(), progress.processed(), progress.errors());
+    } catch (RuntimeException e) {
+      LOG.error("Reindex job {} failed", job.id(), e);
+      job.fail(e.getMessage());
+    }
+  }
+
+  private void reindexBlogs(final ReindexJob job) {
+    ReindexRequest request = job.request();
+    List<Blog> blogs;
+    List<String> missing = List.of();
+    if (request.hasIds()) {
+      blogs = blogRepository.findAllById(request.ids()).stream()
+          .filter(Blog::published)
+          .toList();
+      missing = missingIds(request.ids(), blogs, Blog::id);
+    } else if (request.hasUpdatedRange()) {
+      blogs = blogRepository.findPublishedUpdatedBetween(
+          request.updatedFrom() != null ? request.updatedFrom() : Instant.EPOCH,
+          request.updatedTo() != null ? request.updatedTo() : job.startedAt());
+    } else {
+      blogs = blogRepository.findByPublishedTrueOrderByCreatedDateDesc();
+    }
+    job.setTotal(blogs.size() + missing.size());
+
+    Instant observedAt = job.startedAt();
+    indexInBatches(job, blogs, batch -> {
+      BulkIndexResult site = indexService.bulkIndexSiteDocuments(batch.stream()
+          .map(blog -> new VersionedDocument<>(indexService.blogToSiteDocument(blog),
+              IndexService.versionOf(blog.updatedDate(), observedAt)))
+          .toList());
+      BulkIndexResult blogResult = indexService.bulkIndexBlogDocuments(batch.stream()
+          .map(blog -> new VersionedDocument<>(indexService.blogToBlogDocument(blog),
+              IndexService.versionOf(blog.updatedDate(), observedAt)))
+          .toList());
+      return Math.max(site.failed(), blogResult.failed());
+    });
+    deleteInBatches(job, missing, id -> indexService.deleteBlogContent(id, observedAt));
+  }
+
+  private void reindexJobs(final ReindexJob job) {
+    ReindexRequest request = job.request();
+    List<Job> found;
+    List<String> missing = List.of();
+    if (request.hasIds()) {
+      found = jobRepository.findAllById(request.ids());
+      missing = missingIds(request.ids(), found, Job::id);
+    } else {
+      found = jobRepository.findAllByOrderByStartDateDesc();
+    }
+    job.setTotal(found.size() + missing.size());
+
+    long version = IndexService.versionOf(null, job.startedAt());
+    indexInBatches(job, found, batch -> indexService.bulkIndexSiteDocuments(batch.stream()
+            .map(item -> new VersionedDocument<>(indexService.jobToSiteDocument(item), version))
+            .toList())
+        .failed());
+    deleteInBatches(job, missing, id -> indexService.deleteJobContent(id, job.startedAt()));
+  }
+
+  private void reindexSkills(final ReindexJob job) {
+    ReindexRequest request = job.request();
+    Set<String> wanted = request.hasIds() ? new HashSet<>(request.ids()) : null;
+    List<SkillGroup> groups = request.hasIds()
+        ? skillGroupRepository.findByIdInOrSkillsIdIn(List.of(), request.ids())
+        : skillGroupRepository.findAllByOrderByDisplayOrderAsc();
+    List<SiteSearchDocument> documents = new ArrayList<>();
+    List<Skill> skills = new ArrayList<>();
+    for (SkillGroup group : groups) {
+      if (group.skills() == null) {
+        continue;
+      }
+      for (Skill skill : group.skills()) {
+        if (wanted == null || wanted.contains(skill.id())) {
+          documents.add(indexService.skillToSiteDocument(skill, group.id()));
+          skills.add(skill);
+        }
+      }
+    }
+    List<String> missing =
+        request.hasIds() ? missingIds(request.ids(), skills, Skill::id) : List.of();
+    job.setTotal(documents.size() + missing.size());
+
+    long version = IndexService.versionOf(null, job.startedAt());
+    indexInBatches(job, documents, batch -> indexService.bulkIndexSiteDocuments(batch.stream()
+            .map(document -> new VersionedDocument<>(document, version))
+            .toList())
+        .failed());
+    deleteInBatches(job, missing, id -> indexService.deleteSkillContent(id, job.startedAt()));
+  }
+
+  private <T> List<String> missingIds(
+      final List<String> requested, final List<T> found, final Function<T, String> idOf) {
+    Set<String> foundIds = new HashSet<>();
+    found.forEach(item -> foundIds.add(idOf.apply(item)));
+    return new LinkedHashSet<>(requested).stream()
+        .filter(id -> !foundIds.contains(id))
+        .toList();
+  }
+
+  private <T> void indexInBatches(
+      final ReindexJob job, final List<T> items, final BatchWriter<T> writer) {
+    for (int from = 0; from < items.size(); from += batchSize) {
+      if (job.isCancelRequested()) {
+        return;
+      }
+      List<T> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+      try {
+        job.recordBatch(batch.size(), writer.write(batch));
+      } catch (IOException e) {
+        LOG.warn("Reindex job {} batch of {} failed: {}", job.id(), batch.size(), e.getMessage());
+        job.recordBatch(batch.size(), batch.size());
+      }
+    }
+  }
+
+  private void deleteInBatches(
+      final ReindexJob job, final List<String> ids, final Deleter deleter) {
+    indexInBatches(job, ids, batch -> {
+      int failed = 0;
+      for (String id : batch) {
+        try {
+          deleter.delete(id);
+        } catch (IOException e) {
+          LOG.warn("Reindex job {} failed to delete {}: {}", job.id(), id, e.getMessage());
+          failed++;
+        }
+      }
+      return failed;
+    });
+  }
+
+  @FunctionalInterface
+  private interface BatchWriter<T> {
+
+    int write(List<T> batch) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Deleter {
+
+    void delete(String id) throws IOException;
+  }
+}
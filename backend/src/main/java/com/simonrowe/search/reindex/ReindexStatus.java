@@ -0,0 +1,13 @@
+package com.simonrowe.search.reindex;
+
+public enum ReindexStatus {
+  RUNNING,
+  CANCELLING,
+  COMPLETED,
+  CANCELLED,
+  FAILED;
+
+  public boolean isTerminal() {
+    return this == COMPLETED || this == CANCELLED || this == FAILED;
+  }
+}
@@ -0,0 +1,170 @@
+package com.simonrowe.skills;
+
+import com.simonrowe.employment.SkillReferenceDto;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.events.ContentChangeKafkaConfig;
+import com.simonrowe.events.ContentProjection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SkillCatalog {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SkillCatalog.class);
+
+  private final SkillGroupRepository skillGroupRepository;
+  private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+  private volatile Index index = new Index();
+  private volatile boolean loaded;
+
+  public SkillCatalog(SkillGroupRepository skillGroupRepository) {
+    this.skillGroupRepository = skillGroupRepository;
+  }
+
+  public SkillReferenceDto resolve(String identifier) {
+    if (!loaded) {
+      reload();
+    }
+    return index.resolve(identifier);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmOnStartup() {
+    reload();
+  }
+
+  @Scheduled(fixedDelayString = "${skills.catalog.refresh-interval-ms:3600000}",
+      initialDelayString = "${skills.catalog.refresh-interval-ms:3600000}")
+  public void reload() {
+    synchronized (this) {
+      Index fresh = new Index();
+      skillGroupRepository.findAll().forEach(fresh::add);
+      index = fresh;
+      loaded = true;
+      LOG.info("Loaded skill catalog with {} skills in {} groups",
+          fresh.skillsById.size(), fresh.skillsByGroup.size());
+    }
+    changeListeners.forEach(Runnable::run);
+  }
+
+  /**
+   * Registers a callback run after the catalog has applied a reload or a skill change, outside
+   * the catalog's lock, so dependants re-resolve against the updated index.
+   */
+  public void addChangeListener(Runnable listener) {
+    changeListeners.add(listener);
+  }
+
+  public synchronized void upsert(SkillGroup group) {
+    index.remove(group.id());
+    index.add(group);
+  }
+
+  public synchronized void remove(String groupId) {
+    index.remove(groupId);
+  }
+
+  @KafkaListener(
+      topics = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC,
+      groupId = "skill-catalog-${random.uuid}",
+      properties = "auto.offset.reset=latest",
+      containerFactory = ContentChangeKafkaConfig.CACHE_LISTENER_FACTORY
+  )
+  public void onContentChange(ContentChangeEvent event) {
+    if (event.contentType() != ContentType.SKILL || !loaded) {
+      return;
+    }
+    ContentProjection projection = event.projection();
+    if (event.eventType() != EventType.DELETED
+        && projection != null && projection.skillGroup() != null
+        && event.contentId().equals(projection.skillGroup().id())
+        && projection.matchesHash()) {
+      upsert(projection.skillGroup());
+    } else {
+      refresh(event.contentId());
+    }
+    changeListeners.forEach(Runnable::run);
+  }
+
+  /**
+   * Re-reads whichever groups the id names: the group itself, the group a skill belongs to now,
+   * and the group it belonged to before, so skill-level edits and removals are not lost.
+   */
+  synchronized void refresh(String contentId) {
+    Set<String> groupIds = new HashSet<>();
+    groupIds.add(contentId);
+    SkillReferenceDto known = index.skillsById.get(contentId);
+    if (known != null && known.skillGroupId() != null) {
+      groupIds.add(known.skillGroupId());
+    }
+    List<SkillGroup> groups =
+        skillGroupRepository.findByIdInOrSkillsIdIn(groupIds, List.of(contentId));
+    groups.forEach(group -> groupIds.remove(group.id()));
+    groupIds.forEach(this::remove);
+    groups.forEach(this::upsert);
+  }
+
+  private static final class Index {
+
+    private final Map<String, SkillReferenceDto> skillsById = new ConcurrentHashMap<>();
+    private final Map<String, SkillReferenceDto> skillsByName = new ConcurrentHashMap<>();
+    private final Map<String, List<SkillReferenceDto>> skillsByGroup = new HashMap<>();
+
+    SkillReferenceDto resolve(String identifier) {
+      SkillReferenceDto byId = skillsById.get(identifier);
+      return byId != null ? byId : skillsByName.get(identifier);
+    }
+
+    void add(SkillGroup group) {
+      if (group.skills() == null) {
+        return;
+      }
+      List<SkillReferenceDto> references = group.skills().stream()
+          .map(skill -> new SkillReferenceDto(
+              skill.id(), skill.name(), skill.rating(), skill.image(), group.id()))
+          .toList();
+      skillsByGroup.put(group.id(), references);
+      for (SkillReferenceDto reference : references) {
+        if (reference.id() != null) {
+          skillsById.put(reference.id(), reference);
+        }
+        if (reference.name() != null) {
+          skillsByName.putIfAbsent(reference.name(), reference);
+        }
+      }
+    }
+
+    void remove(String groupId) {
+      List<SkillReferenceDto> references = skillsByGroup.remove(groupId);
+      if (references == null) {
+        return;
+      }
+      for (SkillReferenceDto reference : references) {
+        if (reference.id() != null) {
+          skillsById.remove(reference.id(), reference);
+        }
+        if (reference.name() != null && skillsByName.remove(reference.name(), reference)) {
+          skillsByGroup.values().stream()
+              .flatMap(List::stream)
+              .filter(other -> reference.name().equals(other.name()))
+              .findFirst()
+              .ifPresent(other -> skillsByName.put(other.name(), other));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package com.simonrowe.skills;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+final class SkillCooccurrence {
+
+  private static final int INITIAL_DEGREE = 4;
+
+  private final Map<String, Integer> indexByKey = new HashMap<>();
+  private final List<String> keys = new ArrayList<>();
+  private final List<String> names = new ArrayList<>();
+  private final Map<String, int[]> skillsByDocument = new HashMap<>();
+  private int[][] neighbours = new int[16][];
+  private int[][] weights = new int[16][];
+  private int[] degrees = new int[16];
+
+  void put(String document, Map<String, String> namesByKey) {
+    remove(document);
+    int[] nodes = namesByKey.entrySet().stream()
+        .mapToInt(skill -> indexOf(skill.getKey(), skill.getValue()))
+        .distinct()
+        .sorted()
+        .toArray();
+    if (nodes.length < 2) {
+      return;
+    }
+    skillsByDocument.put(document, nodes);
+    adjust(nodes, 1);
+  }
+
+  void remove(String document) {
+    int[] nodes = skillsByDocument.remove(document);
+    if (nodes != null) {
+      adjust(nodes, -1);
+    }
+  }
+
+  int weight(String from, String to) {
+    Integer source = indexByKey.get(from);
+    Integer target = indexByKey.get(to);
+    if (source == null || target == null) {
+      return 0;
+    }
+    int position = Arrays.binarySearch(neighbours[source], 0, degrees[source], target);
+    return position >= 0 ? weights[source][position] : 0;
+  }
+
+  SkillGraphDto toGraph(int maxNeighbours, UnaryOperator<String> currentName) {
+    List<SkillGraphNodeDto> nodes = new ArrayList<>();
+    List<SkillGraphEdgeDto> edges = new ArrayList<>();
+    for (int node = 0; node < keys.size(); node++) {
+      int degree = degrees[node];
+      if (degree == 0) {
+        continue;
+      }
+      String key = keys.get(node);
+      int[] nodeNeighbours = neighbours[node];
+      int[] nodeWeights = weights[node];
+      Integer[] strongest = new Integer[degree];
+      for (int i = 0; i < degree; i++) {
+        strongest[i] = i;
+        if (node < nodeNeighbours[i]) {
+          edges.add(new SkillGraphEdgeDto(key, keys.get(nodeNeighbours[i]), nodeWeights[i]));
+        }
+      }
+      Arrays.sort(strongest, Comparator.comparingInt((Integer i) -> -nodeWeights[i])
+          .thenComparingInt(i -> nodeNeighbours[i]));
+      List<SkillNeighbourDto> top = Arrays.stream(strongest)
+          .limit(maxNeighbours)
+          .map(i -> neighbour(nodeNeighbours[i], nodeWeights[i], currentName))
+          .toList();
+      nodes.add(new SkillGraphNodeDto(key, nameOf(node, currentName), degree, top));
+    }
+    nodes.sort(Comparator.comparing(SkillGraphNodeDto::name, String::compareToIgnoreCase));
+    edges.sort(Comparator.comparingInt(SkillGraphEdgeDto::weight).reversed()
+        .thenComparing(SkillGraphEdgeDto::source)
+        .thenComparing(SkillGraphEdgeDto::target));
+    return new SkillGraphDto(nodes, edges);
+  }
+
+  private SkillNeighbourDto neighbour(int node, int weight, UnaryOperator<String> currentName) {
+    return new SkillNeighbourDto(keys.get(node), nameOf(node, currentName), weight);
+  }
+
+  private String nameOf(int node, UnaryOperator<String> currentName) {
+    String name = currentName.apply(keys.get(node));
+    return name != null ? name : names.get(node);
+  }
+
+  private int indexOf(String key, String name) {
+    Integer existing = indexByKey.get(key);
+    if (existing != null) {
+      names.set(existing, name);
+      return existing;
+    }
+    int node = keys.size();
+    if (node == degrees.length) {
+      int capacity = node * 2;
+      neighbours = Arrays.copyOf(neighbours, capacity);
+      weights = Arrays.copyOf(weights, capacity);
+      degrees = Arrays.copyOf(degrees, capacity);
+    }
+    neighbours[node] = new int[INITIAL_DEGREE];
+    weights[node] = new int[INITIAL_DEGREE];
+    keys.add(key);
+    names.add(name);
+    indexByKey.put(key, node);
+    return node;
+  }
+
+  private void adjust(int[] nodes, int delta) {
+    for (int i = 0; i < nodes.length; i++) {
+      for (int j = i + 1; j < nodes.length; j++) {
+        addWeight(nodes[i], nodes[j], delta);
+        addWeight(nodes[j], nodes[i], delta);
+      }
+    }
+  }
+
+  private void addWeight(int from, int to, int delta) {
+    int degree = degrees[from];
+    int position = Arrays.binarySearch(neighbours[from], 0, degree, to);
+    if (position >= 0) {
+      weights[from][position] += delta;
+      if (weights[from][position] <= 0) {
+        int tail = degree - position - 1;
+        System.arraycopy(neighbours[from], position + 1, neighbours[from], position, tail);
+        System.arraycopy(weights[from], position + 1, weights[from], position, tail);
+        degrees[from]--;
+      }
+      return;
+    }
+    if (delta <= 0) {
+      return;
+    }
+    int insertAt = -position - 1;
+    if (degree == neighbours[from].length) {
+      neighbours[from] = Arrays.copyOf(neighbours[from], degree * 2);
+      weights[from] = Arrays.copyOf(weights[from], degree * 2);
+    }
+    int tail = degree - insertAt;
+    System.arraycopy(neighbours[from], insertAt, neighbours[from], insertAt + 1, tail);
+    System.arraycopy(weights[from], insertAt, weights[from], insertAt + 1, tail);
+    neighbours[from][insertAt] = to;
+    weights[from][insertAt] = delta;
+    degrees[from]++;
+  }
+}
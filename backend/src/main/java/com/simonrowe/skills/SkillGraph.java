@@ -0,0 +1,237 @@
+package com.simonrowe.skills;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.blog.BlogRepository;
+import com.simonrowe.employment.Job;
+import com.simonrowe.employment.JobRepository;
+import com.simonrowe.employment.SkillReferenceDto;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.events.ContentChangeKafkaConfig;
+import com.simonrowe.events.ContentProjection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SkillGraph {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SkillGraph.class);
+
+  private final JobRepository jobRepository;
+  private final BlogRepository blogRepository;
+  private final SkillCatalog skillCatalog;
+  private final int maxNeighbours;
+  private SkillCooccurrence cooccurrence = new SkillCooccurrence();
+  private Map<String, Mentions> mentionsByDocument = new HashMap<>();
+  private volatile boolean loaded;
+  private volatile SkillGraphDto snapshot;
+
+  public SkillGraph(
+      JobRepository jobRepository,
+      BlogRepository blogRepository,
+      SkillCatalog skillCatalog,
+      @Value("${skills.graph.max-neighbours:5}") int maxNeighbours
+  ) {
+    this.jobRepository = jobRepository;
+    this.blogRepository = blogRepository;
+    this.skillCatalog = skillCatalog;
+    this.maxNeighbours = maxNeighbours;
+    skillCatalog.addChangeListener(this::onCatalogChange);
+  }
+
+  public SkillGraphDto snapshot() {
+    SkillGraphDto current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (!loaded) {
+        rebuild();
+      }
+      if (snapshot == null) {
+        snapshot = cooccurrence.toGraph(maxNeighbours, this::currentName);
+      }
+      return snapshot;
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmOnStartup() {
+    rebuild();
+  }
+
+  @Scheduled(fixedDelayString = "${skills.graph.refresh-interval-ms:3600000}",
+      initialDelayString = "${skills.graph.refresh-interval-ms:3600000}")
+  public synchronized void rebuild() {
+    SkillCooccurrence fresh = new SkillCooccurrence();
+    Map<String, Mentions> freshMentions = new HashMap<>();
+    jobRepository.findAll().forEach(job -> put(fresh, freshMentions, jobKey(job.id()),
+        mentionsOf(job)));
+    blogRepository.findByPublishedTrueOrderByCreatedDateDesc().forEach(blog ->
+        put(fresh, freshMentions, blogKey(blog.id()), mentionsOf(blog)));
+    cooccurrence = fresh;
+    mentionsByDocument = freshMentions;
+    snapshot = null;
+    loaded = true;
+    LOG.info("Rebuilt skill co-occurrence graph");
+  }
+
+  public synchronized void put(Job job) {
+    put(cooccurrence, mentionsByDocument, jobKey(job.id()), mentionsOf(job));
+    snapshot = null;
+  }
+
+  public synchronized void put(Blog blog) {
+    if (blog.published()) {
+      put(cooccurrence, mentionsByDocument, blogKey(blog.id()), mentionsOf(blog));
+    } else {
+      remove(blogKey(blog.id()));
+    }
+    snapshot = null;
+  }
+
+  public synchronized void remove(ContentType contentType, String contentId) {
+    remove(contentType == ContentType.JOB ? jobKey(contentId) : blogKey(contentId));
+    snapshot = null;
+  }
+
+  /**
+   * Re-canonicalises the documents whose skill references resolve differently now that the
+   * catalog has applied a change, so renamed or newly catalogued skills join their nodes.
+   */
+  synchronized void onCatalogChange() {
+    if (!loaded) {
+      return;
+    }
+    for (Map.Entry<String, Mentions> entry : mentionsByDocument.entrySet()) {
+      Mentions mentions = entry.getValue();
+      Map<String, String> skills = canonicalise(mentions.references());
+      if (!skills.equals(mentions.skills())) {
+        cooccurrence.put(entry.getKey(), skills);
+        entry.setValue(new Mentions(mentions.references(), skills));
+      }
+    }
+    snapshot = null;
+  }
+
+  @KafkaListener(
+      topics = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC,
+      groupId = "skill-graph-${random.uuid}",
+      properties = "auto.offset.reset=latest",
+      containerFactory = ContentChangeKafkaConfig.CACHE_LISTENER_FACTORY
+  )
+  public void onContentChange(ContentChangeEvent event) {
+    if (!loaded) {
+      return;
+    }
+    if (event.contentType() == ContentType.SKILL) {
+      return;
+    }
+    if (event.eventType() == EventType.DELETED) {
+      remove(event.contentType(), event.contentId());
+      return;
+    }
+    ContentProjection projection = event.projection();
+    boolean verified = projection != null && projection.matchesHash();
+    if (event.contentType() == ContentType.JOB) {
+      if (verified && projection.job() != null
+          && event.contentId().equals(projection.job().id())) {
+        put(projection.job());
+      } else {
+        jobRepository.findById(event.contentId())
+            .ifPresentOrElse(this::put, () -> remove(ContentType.JOB, event.contentId()));
+      }
+    } else if (event.contentType() == ContentType.BLOG) {
+      if (verified && projection.blog() != null
+          && event.contentId().equals(projection.blog().id())) {
+        put(projection.blog());
+      } else {
+        blogRepository.findById(event.contentId())
+            .ifPresentOrElse(this::put, () -> remove(ContentType.BLOG, event.contentId()));
+      }
+    }
+  }
+
+  private Mentions mentionsOf(Job job) {
+    List<SkillMention> references = new ArrayList<>();
+    if (job.skills() != null) {
+      job.skills().forEach(identifier -> references.add(new SkillMention(identifier, null)));
+    }
+    return new Mentions(references, canonicalise(references));
+  }
+
+  private Mentions mentionsOf(Blog blog) {
+    List<SkillMention> references = new ArrayList<>();
+    if (blog.skills() != null) {
+      blog.skills().stream()
+          .filter(Objects::nonNull)
+          .forEach(skill -> references.add(new SkillMention(skill.id(), skill.name())));
+    }
+    return new Mentions(references, canonicalise(references));
+  }
+
+  private Map<String, String> canonicalise(List<SkillMention> references) {
+    Map<String, String> skills = new LinkedHashMap<>();
+    references.forEach(reference -> addSkill(skills, reference.id(), reference.name()));
+    return skills;
+  }
+
+  private void addSkill(Map<String, String> skills, String id, String name) {
+    SkillReferenceDto reference = id != null ? skillCatalog.resolve(id) : null;
+    if (reference == null && name != null) {
+      reference = skillCatalog.resolve(name);
+    }
+    if (reference != null) {
+      String key = reference.id() != null ? reference.id() : reference.name();
+      skills.putIfAbsent(key, reference.name());
+      return;
+    }
+    String key = name != null ? name : id;
+    if (key != null) {
+      skills.putIfAbsent(key, key);
+    }
+  }
+
+  private void remove(String document) {
+    cooccurrence.remove(document);
+    mentionsByDocument.remove(document);
+  }
+
+  private static void put(SkillCooccurrence target, Map<String, Mentions> mentionsByDocument,
+      String document, Mentions mentions) {
+    target.put(document, mentions.skills());
+    mentionsByDocument.put(document, mentions);
+  }
+
+  private String currentName(String key) {
+    SkillReferenceDto reference = skillCatalog.resolve(key);
+    return reference != null ? reference.name() : null;
+  }
+
+  private static String jobKey(String id) {
+    return "job:" + id;
+  }
+
+  private static String blogKey(String id) {
+    return "blog:" + id;
+  }
+
+  private record SkillMention(String id, String name) {
+  }
+
+  private record Mentions(List<SkillMention> references, Map<String, String> skills) {
+  }
+}
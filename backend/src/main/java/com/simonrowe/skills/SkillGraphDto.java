@@ -0,0 +1,9 @@
+package com.simonrowe.skills;
+
+import java.util.List;
+
+public record SkillGraphDto(
+    List<SkillGraphNodeDto> nodes,
+    List<SkillGraphEdgeDto> edges
+) {
+}
@@ -0,0 +1,8 @@
+package com.simonrowe.skills;
+
+public record SkillGraphEdgeDto(
+    String source,
+    String target,
+    int weight
+) {
+}
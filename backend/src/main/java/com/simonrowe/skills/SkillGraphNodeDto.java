@@ -0,0 +1,11 @@
+package com.simonrowe.skills;
+
+import java.util.List;
+
+public record SkillGraphNodeDto(
+    String id,
+    String name,
+    int degree,
+    List<SkillNeighbourDto> strongestNeighbours
+) {
+}
@@ -3,9 +3,11 @@ package com.simonrowe.skills;
 import com.simonrowe.common.Image;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "skill_groups")
+@CompoundIndex(name = "idx_skills_id", def = "{'skills._id': 1}")
 public record SkillGroup(
     @Id String id,
     String name,
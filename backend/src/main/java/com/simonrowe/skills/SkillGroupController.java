@@ -11,9 +11,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class SkillGroupController {
 
   private final SkillGroupService skillGroupService;
+  private final SkillGraph skillGraph;
 
-  public SkillGroupController(SkillGroupService skillGroupService) {
+  public SkillGroupController(
+      SkillGroupService skillGroupService,
+      SkillGraph skillGraph
+  ) {
     this.skillGroupService = skillGroupService;
+    this.skillGraph = skillGraph;
   }
 
   @GetMapping
@@ -21,6 +26,11 @@ public class SkillGroupController {
     return skillGroupService.getAllSkillGroups();
   }
 
+  @GetMapping("/graph")
+  public SkillGraphDto getSkillGraph() {
+    return skillGraph.snapshot();
+  }
+
   @GetMapping("/{id}")
   public SkillGroupDetailDto getSkillGroupById(@PathVariable String id) {
     return skillGroupService.getSkillGroupById(id);
@@ -0,0 +1,8 @@
+package com.simonrowe.skills;
+
+import java.util.Optional;
+
+public interface SkillGroupDetailRepository {
+
+  Optional<SkillGroupDetailDto> findDetailById(String id);
+}
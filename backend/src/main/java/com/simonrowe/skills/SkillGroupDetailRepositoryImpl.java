@@ -0,0 +1,73 @@
+package com.simonrowe.skills;
+
+import com.simonrowe.employment.Job;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+public class SkillGroupDetailRepositoryImpl implements SkillGroupDetailRepository {
+
+  private final MongoTemplate mongoTemplate;
+
+  public SkillGroupDetailRepositoryImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Optional<SkillGroupDetailDto> findDetailById(String id) {
+    Object groupId = mongoTemplate.getConverter().convertId(id, ObjectId.class);
+    List<AggregationOperation> stages = detailPipeline(groupId).stream()
+        .<AggregationOperation>map(stage -> context -> stage)
+        .toList();
+    SkillGroupDetailDto detail = mongoTemplate.aggregate(
+            Aggregation.newAggregation(stages),
+            mongoTemplate.getCollectionName(SkillGroup.class),
+            SkillGroupDetailDto.class)
+        .getUniqueMappedResult();
+    if (detail != null) {
+      return Optional.of(detail);
+    }
+    return Optional.ofNullable(mongoTemplate.findById(id, SkillGroup.class))
+        .map(group -> SkillGroupDetailDto.fromEntity(group, List.of()));
+  }
+
+  private List<Document> detailPipeline(Object groupId) {
+    Document identifiers = new Document("$filter", new Document()
+        .append("input", List.of(new Document("$toString", "$skills._id"), "$skills.name"))
+        .append("cond", new Document("$ne", Arrays.asList("$$this", null))));
+    Document jobFields = new Document()
+        .append("title", 1)
+        .append("company", 1)
+        .append("startDate", 1)
+        .append("endDate", 1)
+        .append("companyImage", 1);
+    Document relatedJobs = new Document()
+        .append("from", mongoTemplate.getCollectionName(Job.class))
+        .append("localField", "identifiers")
+        .append("foreignField", "skills")
+        .append("pipeline", List.of(
+            new Document("$sort", new Document("startDate", -1).append("_id", 1)),
+            new Document("$project", jobFields)))
+        .append("as", "skills.jobs");
+    return List.of(
+        new Document("$match", new Document("_id", groupId)),
+        new Document("$unwind", new Document("path", "$skills")
+            .append("includeArrayIndex", "skillIndex")),
+        new Document("$addFields", new Document("identifiers", identifiers)
+            .append("skillOrder", new Document("$ifNull", List.of("$skills.displayOrder", 0)))),
+        new Document("$lookup", relatedJobs),
+        new Document("$sort", new Document("skillOrder", 1).append("skillIndex", 1)),
+        new Document("$group", new Document("_id", "$_id")
+            .append("name", new Document("$first", "$name"))
+            .append("description", new Document("$first", "$description"))
+            .append("rating", new Document("$first", "$rating"))
+            .append("displayOrder", new Document("$first", "$displayOrder"))
+            .append("image", new Document("$first", "$image"))
+            .append("skills", new Document("$push", "$skills"))));
+  }
+}
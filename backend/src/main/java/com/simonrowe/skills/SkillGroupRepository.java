@@ -1,9 +1,13 @@
 package com.simonrowe.skills;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface SkillGroupRepository extends MongoRepository<SkillGroup, String> {
+public interface SkillGroupRepository
+    extends MongoRepository<SkillGroup, String>, SkillGroupDetailRepository {
 
   List<SkillGroup> findAllByOrderByDisplayOrderAsc();
+
+  List<SkillGroup> findByIdInOrSkillsIdIn(Collection<String> groupIds, Collection<String> skillIds);
 }
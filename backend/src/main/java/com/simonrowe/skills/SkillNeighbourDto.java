@@ -0,0 +1,8 @@
+package com.simonrowe.skills;
+
+public record SkillNeighbourDto(
+    String id,
+    String name,
+    int weight
+) {
+}
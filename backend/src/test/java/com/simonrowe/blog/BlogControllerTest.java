@@ -11,8 +11,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,12 +31,6 @@ class BlogControllerTest {
   @Container
   static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
 
-  @MockitoBean
-  private ElasticsearchOperations elasticsearchOperations;
-
-  @MockitoBean
-  private BlogSearchRepository blogSearchRepository;
-
   @Autowired
   private MockMvc mockMvc;
 
@@ -4,9 +4,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import com.simonrowe.blog.BlogSearchRepository;
 import com.simonrowe.common.Image;
 import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillCatalog;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
 import java.util.List;
@@ -15,10 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -37,12 +35,6 @@ class JobControllerTest {
   @Container
   static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
 
-  @MockitoBean
-  private ElasticsearchOperations elasticsearchOperations;
-
-  @MockitoBean
-  private BlogSearchRepository blogSearchRepository;
-
   @Autowired
   private MockMvc mockMvc;
 
@@ -52,6 +44,9 @@ class JobControllerTest {
   @Autowired
   private SkillGroupRepository skillGroupRepository;
 
+  @Autowired
+  private SkillCatalog skillCatalog;
+
   @DynamicPropertySource
   static void configureProperties(DynamicPropertyRegistry registry) {
     registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
@@ -98,6 +93,7 @@ class JobControllerTest {
     SkillGroup group = new SkillGroup(
         "g-1", "Spring", null, 9.5, 1, null, List.of(springBoot));
     skillGroupRepository.save(group);
+    skillCatalog.reload();
 
     Job job = new Job(
         "j-1", "Lead Engineer", "Upp", "https://upp.ai", null,
@@ -189,6 +185,7 @@ class JobControllerTest {
         "g-web", "Web", null, 8.0, 8, null, List.of(react));
 
     skillGroupRepository.saveAll(List.of(aiGroup, cloudGroup, springGroup, webGroup));
+    skillCatalog.reload();
 
     Job globalJob = new Job(
         "j-global", "Head of Engineering", "Global", "https://global.com", null,
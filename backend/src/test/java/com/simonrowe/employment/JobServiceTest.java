@@ -6,13 +6,14 @@ import static org.mockito.BDDMockito.given;
 
 import com.simonrowe.common.ResourceNotFoundException;
 import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillCatalog;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
 import java.util.List;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -25,9 +26,13 @@ class JobServiceTest {
   @Mock
   private SkillGroupRepository skillGroupRepository;
 
-  @InjectMocks
   private JobService jobService;
 
+  @BeforeEach
+  void setUp() {
+    jobService = new JobService(jobRepository, new SkillCatalog(skillGroupRepository));
+  }
+
   @Test
   void getAllJobsReturnsSortedSummaries() {
     Job job1 = sampleJob("j-1", "Lead Engineer", "Upp", "2019-04-15");
@@ -1,11 +1,13 @@
 package com.simonrowe.events;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.simonrowe.blog.Blog;
@@ -14,15 +16,24 @@ import com.simonrowe.employment.Job;
 import com.simonrowe.employment.JobRepository;
 import com.simonrowe.events.ContentChangeEvent.ContentType;
 import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
 import com.simonrowe.search.IndexService;
 import com.simonrowe.skills.Skill;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 
 class ContentChangeConsumerTest {
 
@@ -30,186 +41,375 @@ class ContentChangeConsumerTest {
   private BlogRepository blogRepository;
   private JobRepository jobRepository;
   private SkillGroupRepository skillGroupRepository;
+  private ContentStatePublisher statePublisher;
+  private Acknowledgment acknowledgment;
+  private SimpleMeterRegistry meterRegistry;
   private ContentChangeConsumer consumer;
 
   @BeforeEach
-  void setUp() {
+  void setUp() throws Exception {
     indexService = mock(IndexService.class);
     blogRepository = mock(BlogRepository.class);
     jobRepository = mock(JobRepository.class);
     skillGroupRepository = mock(SkillGroupRepository.class);
-    consumer = new ContentChangeConsumer(
-        indexService, blogRepository, jobRepository, skillGroupRepository);
+    statePublisher = mock(ContentStatePublisher.class);
+    acknowledgment = mock(Acknowledgment.class);
+    when(indexService.executeBatch(any(IndexBatch.class))).thenReturn(IndexBatchResult.EMPTY);
+    meterRegistry = new SimpleMeterRegistry();
+    consumer = newConsumer(1);
   }
 
   @Test
   void handleBlogCreatedIndexesPublishedBlog() throws Exception {
-    Blog blog = new Blog(
-        "b1", "Title", "Desc", "Content", true,
-        "/img.jpg", Instant.now(), Instant.now(), List.of(), List.of());
-    when(blogRepository.findByIdAndPublishedTrue("b1")).thenReturn(Optional.of(blog));
+    Blog blog = blog("b1", true);
+    when(blogRepository.findAllById(List.of("b1"))).thenReturn(List.of(blog));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.BLOG, "b1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.CREATED, ContentType.BLOG, "b1"));
 
-    verify(indexService).indexBlogContent(blog);
+    assertThat(changes()).containsExactly(new IndexBatch.BlogUpsert(blog));
+    verify(acknowledgment).acknowledge();
   }
 
   @Test
   void handleBlogCreatedDeletesUnpublishedBlog() throws Exception {
-    when(blogRepository.findByIdAndPublishedTrue("b2")).thenReturn(Optional.empty());
+    when(blogRepository.findAllById(List.of("b2"))).thenReturn(List.of(blog("b2", false)));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.BLOG, "b2", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.CREATED, ContentType.BLOG, "b2"));
 
-    verify(indexService).deleteBlogContent("b2");
-  }
-
-  @Test
-  void handleBlogUpdatedIndexesPublishedBlog() throws Exception {
-    Blog blog = new Blog(
-        "b1", "Updated", "Desc", "Content", true,
-        "/img.jpg", Instant.now(), Instant.now(), List.of(), List.of());
-    when(blogRepository.findByIdAndPublishedTrue("b1")).thenReturn(Optional.of(blog));
-
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.UPDATED, ContentType.BLOG, "b1", Instant.now());
-    consumer.handleContentChange(event);
-
-    verify(indexService).indexBlogContent(blog);
+    assertThat(changes()).containsExactly(new IndexBatch.BlogRemoval("b2"));
   }
 
   @Test
   void handleBlogDeletedRemovesFromIndex() throws Exception {
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.DELETED, ContentType.BLOG, "b1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.DELETED, ContentType.BLOG, "b1"));
 
-    verify(indexService).deleteBlogContent("b1");
+    assertThat(changes()).containsExactly(new IndexBatch.BlogRemoval("b1"));
+    verify(blogRepository, never()).findAllById(any());
   }
 
   @Test
   void handleJobCreatedIndexesJob() throws Exception {
-    Job job = new Job(
-        "j1", "Dev", "Co", "https://co.com", null,
-        "2020-01", null, "London", "Desc", "Long",
-        false, true, List.of());
-    when(jobRepository.findById("j1")).thenReturn(Optional.of(job));
+    Job job = job("j1");
+    when(jobRepository.findAllById(List.of("j1"))).thenReturn(List.of(job));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.JOB, "j1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.CREATED, ContentType.JOB, "j1"));
 
-    verify(indexService).indexJobContent(job);
+    assertThat(changes()).containsExactly(new IndexBatch.JobUpsert(job));
   }
 
   @Test
   void handleJobCreatedDeletesWhenNotFound() throws Exception {
-    when(jobRepository.findById("j2")).thenReturn(Optional.empty());
+    when(jobRepository.findAllById(List.of("j2"))).thenReturn(List.of());
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.JOB, "j2", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.CREATED, ContentType.JOB, "j2"));
 
-    verify(indexService).deleteJobContent("j2");
+    assertThat(changes()).containsExactly(new IndexBatch.JobRemoval("j2"));
   }
 
   @Test
   void handleJobDeletedRemovesFromIndex() throws Exception {
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.DELETED, ContentType.JOB, "j1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.DELETED, ContentType.JOB, "j1"));
 
-    verify(indexService).deleteJobContent("j1");
+    assertThat(changes()).containsExactly(new IndexBatch.JobRemoval("j1"));
   }
 
   @Test
   void handleSkillCreatedIndexesMatchingSkill() throws Exception {
     Skill skill = new Skill("s1", "Java", 4.0, 1, "Java language", null);
-    SkillGroup group = new SkillGroup(
-        "g1", "Languages", "Programming languages",
-        4.0, 1, null, List.of(skill));
-    when(skillGroupRepository.findAllByOrderByDisplayOrderAsc())
-        .thenReturn(List.of(group));
+    SkillGroup group = new SkillGroup("g1", "Languages", "Programming languages", 4.0, 1, null,
+        List.of(skill));
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(any(), any())).thenReturn(List.of(group));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.SKILL, "s1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.CREATED, ContentType.SKILL, "s1"));
 
-    verify(indexService).indexSkillContent(skill, "g1");
+    assertThat(changes()).containsExactly(new IndexBatch.SkillUpsert("s1", List.of(group)));
+    verify(skillGroupRepository).findByIdInOrSkillsIdIn(List.of("s1"), List.of("s1"));
+    verify(skillGroupRepository, never()).findAllByOrderByDisplayOrderAsc();
   }
 
   @Test
-  void handleSkillCreatedByGroupIdIndexesSkill() throws Exception {
-    Skill skill = new Skill("s1", "Java", 4.0, 1, "Java language", null);
-    SkillGroup group = new SkillGroup(
-        "g1", "Languages", "Programming languages",
-        4.0, 1, null, List.of(skill));
-    when(skillGroupRepository.findAllByOrderByDisplayOrderAsc())
-        .thenReturn(List.of(group));
+  void handleSkillGroupUpdatedReindexesWholeGroup() throws Exception {
+    SkillGroup group = new SkillGroup("g1", "Languages", "Programming languages", 4.0, 1, null,
+        List.of(new Skill("s1", "Java", 4.0, 1, "Java language", null),
+            new Skill("s2", "Kotlin", 4.0, 2, "Kotlin language", null)));
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(any(), any())).thenReturn(List.of(group));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.SKILL, "g1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.UPDATED, ContentType.SKILL, "g1"));
 
-    verify(indexService).indexSkillContent(skill, "g1");
+    assertThat(changes()).containsExactly(new IndexBatch.SkillGroupUpsert(group));
   }
 
   @Test
-  void handleSkillCreatedDeletesWhenNotFound() throws Exception {
-    SkillGroup group = new SkillGroup(
-        "g1", "Languages", "Programming languages",
-        4.0, 1, null, List.of());
-    when(skillGroupRepository.findAllByOrderByDisplayOrderAsc())
-        .thenReturn(List.of(group));
+  void handleSkillUpdatedIndexesEveryGroupContainingSkill() throws Exception {
+    Skill skill = new Skill("s1", "Java", 4.0, 1, "Java language", null);
+    SkillGroup languages = new SkillGroup("g1", "Languages", "Programming", 4.0, 1, null,
+        List.of(skill));
+    SkillGroup backend = new SkillGroup("g2", "Backend", "Server side", 4.0, 2, null,
+        List.of(skill));
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(any(), any()))
+        .thenReturn(List.of(languages, backend));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.SKILL, "unknown", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.UPDATED, ContentType.SKILL, "s1"));
 
-    verify(indexService).deleteSkillContent("unknown");
+    assertThat(changes()).containsExactly(
+        new IndexBatch.SkillUpsert("s1", List.of(languages, backend)));
   }
 
   @Test
-  void handleSkillDeletedRemovesFromIndex() throws Exception {
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.DELETED, ContentType.SKILL, "s1", Instant.now());
-    consumer.handleContentChange(event);
+  void handleSkillCreatedDeletesWhenNotFound() throws Exception {
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(any(), any())).thenReturn(List.of(
+        new SkillGroup("g1", "Languages", "Programming languages", 4.0, 1, null, List.of())));
+
+    consume(event(EventType.CREATED, ContentType.SKILL, "unknown"));
 
-    verify(indexService).deleteSkillContent("s1");
+    assertThat(changes()).containsExactly(new IndexBatch.SkillRemoval("unknown"));
   }
 
   @Test
   void handleSkillCreatedSkipsGroupWithNullSkills() throws Exception {
-    SkillGroup groupWithNull = new SkillGroup(
-        "g1", "Empty", "No skills", 1.0, 1, null, null);
     Skill skill = new Skill("s1", "Java", 4.0, 1, "Java", null);
-    SkillGroup groupWithSkill = new SkillGroup(
-        "g2", "Languages", "Programming", 4.0, 2, null, List.of(skill));
-    when(skillGroupRepository.findAllByOrderByDisplayOrderAsc())
-        .thenReturn(List.of(groupWithNull, groupWithSkill));
+    SkillGroup languages = new SkillGroup("g2", "Languages", "Programming", 4.0, 2, null,
+        List.of(skill));
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(any(), any())).thenReturn(List.of(
+        new SkillGroup("g1", "Empty", "No skills", 1.0, 1, null, null), languages));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.CREATED, ContentType.SKILL, "s1", Instant.now());
-    consumer.handleContentChange(event);
+    consume(event(EventType.CREATED, ContentType.SKILL, "s1"));
 
-    verify(indexService).indexSkillContent(skill, "g2");
+    assertThat(changes()).containsExactly(new IndexBatch.SkillUpsert("s1", List.of(languages)));
   }
 
   @Test
-  void handleJobUpdatedIndexesJob() throws Exception {
-    Job job = new Job(
-        "j1", "Senior Dev", "Co", "https://co.com", null,
-        "2020-01", null, "London", "Updated", "Long updated",
-        false, true, List.of());
-    when(jobRepository.findById("j1")).thenReturn(Optional.of(job));
+  void repeatedEventsForSameContentAreCoalescedIntoOneLoadAndOneWrite() throws Exception {
+    Blog blog = blog("b1", true);
+    when(blogRepository.findAllById(List.of("b1"))).thenReturn(List.of(blog));
+    Instant base = Instant.parse("2025-06-15T10:00:00Z");
+
+    consumer.handleContentChanges(List.of(
+        new ContentChangeEvent(EventType.CREATED, ContentType.BLOG, "b1", base),
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", base.plusSeconds(1)),
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", base.plusSeconds(2)),
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", base.plusSeconds(3)),
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", base.plusSeconds(4))),
+        acknowledgment);
+
+    verify(blogRepository, times(1)).findAllById(List.of("b1"));
+    IndexBatch batch = capturedBatch();
+    assertThat(batch.entries()).hasSize(1);
+    assertThat(batch.entries().getFirst().observedAt()).isEqualTo(base.plusSeconds(4));
+  }
+
+  @Test
+  void latestEventWinsEvenWhenDeliveredOutOfOrder() throws Exception {
+    Instant base = Instant.parse("2025-06-15T10:00:00Z");
+
+    consumer.handleContentChanges(List.of(
+        new ContentChangeEvent(EventType.DELETED, ContentType.JOB, "j1", base.plusSeconds(5)),
+        new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, "j1", base)),
+        acknowledgment);
+
+    assertThat(changes()).containsExactly(new IndexBatch.JobRemoval("j1"));
+    verify(jobRepository, never()).findAllById(any());
+  }
+
+  @Test
+  void mixedBatchLoadsEachTypeOnce() throws Exception {
+    when(blogRepository.findAllById(List.of("b1", "b2")))
+        .thenReturn(List.of(blog("b1", true), blog("b2", true)));
+    when(jobRepository.findAllById(List.of("j1"))).thenReturn(List.of(job("j1")));
+
+    consumer.handleContentChanges(List.of(
+        event(EventType.UPDATED, ContentType.BLOG, "b1"),
+        event(EventType.UPDATED, ContentType.JOB, "j1"),
+        event(EventType.UPDATED, ContentType.BLOG, "b2")),
+        acknowledgment);
+
+    verify(blogRepository, times(1)).findAllById(any());
+    verify(jobRepository, times(1)).findAllById(any());
+    verify(indexService, times(1)).executeBatch(any(IndexBatch.class));
+    assertThat(changes()).hasSize(3);
+  }
+
+  @Test
+  void failedWriteIsReportedAtFirstRecordForThatContentAndNotAcknowledged() throws Exception {
+    when(jobRepository.findAllById(List.of("j1", "j2"))).thenReturn(List.of(job("j1"), job("j2")));
+    when(indexService.executeBatch(any(IndexBatch.class))).thenReturn(new IndexBatchResult(
+        1, 0, Set.of(ContentChangeConsumer.keyOf(ContentType.JOB, "j2"))));
+
+    assertThatThrownBy(() -> consumer.handleContentChanges(List.of(
+        event(EventType.UPDATED, ContentType.JOB, "j1"),
+        event(EventType.UPDATED, ContentType.JOB, "j2"),
+        event(EventType.UPDATED, ContentType.JOB, "j2")), acknowledgment))
+        .isInstanceOfSatisfying(BatchListenerFailedException.class,
+            e -> assertThat(e.getIndex()).isEqualTo(1));
+    verify(acknowledgment, never()).acknowledge();
+    assertThat(meterRegistry.find("content.changes.indexing.latency").timer()).isNull();
+  }
+
+  @Test
+  void indexedEventsRecordLatencyFromEventTimestampAndProcessingPhases() throws Exception {
+    when(jobRepository.findAllById(List.of("j1"))).thenReturn(List.of(job("j1")));
+
+    consume(new ContentChangeEvent(
+        EventType.UPDATED, ContentType.JOB, "j1", Instant.now().minusSeconds(30)));
+
+    Timer latency = meterRegistry.get("content.changes.indexing.latency")
+        .tag("content_type", "JOB").timer();
+    assertThat(latency.count()).isEqualTo(1);
+    assertThat(latency.totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(30.0);
+    assertThat(meterRegistry.get("content.changes.processing").tag("phase", "mongo_read")
+        .timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("content.changes.processing").tag("phase", "es_write")
+        .timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("content.changes.max.staleness").gauge().value())
+        .isZero();
+  }
+
+  @Test
+  void parallelWriteLanesKeepEachContentIdInOneLaneAndMergeFailures() throws Exception {
+    consumer = newConsumer(4);
+    List<ContentChangeEvent> events = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      events.add(event(EventType.DELETED, ContentType.JOB, "j" + i));
+      events.add(event(EventType.DELETED, ContentType.JOB, "j" + i));
+    }
+    String failedKey = ContentChangeConsumer.keyOf(ContentType.JOB, "j7");
+    when(indexService.executeBatch(any(IndexBatch.class))).thenAnswer(invocation -> {
+      IndexBatch lane = invocation.getArgument(0);
+      boolean failed = lane.entries().stream().anyMatch(e -> e.key().equals(failedKey));
+      return new IndexBatchResult(lane.entries().size(), 0,
+          failed ? Set.of(failedKey) : Set.of());
+    });
+
+    assertThatThrownBy(() -> consumer.handleContentChanges(events, acknowledgment))
+        .isInstanceOfSatisfying(BatchListenerFailedException.class,
+            e -> assertThat(e.getIndex()).isEqualTo(14));
+
+    ArgumentCaptor<IndexBatch> captor = ArgumentCaptor.forClass(IndexBatch.class);
+    verify(indexService, times(4)).executeBatch(captor.capture());
+    List<String> keys = captor.getAllValues().stream()
+        .flatMap(lane -> lane.entries().stream())
+        .map(IndexBatch.Entry::key)
+        .toList();
+    assertThat(keys).hasSize(20).doesNotHaveDuplicates();
+    verify(acknowledgment, never()).acknowledge();
+  }
+
+  @Test
+  void handleJobCreatedUsesEventTimestampAsVersionSource() throws Exception {
+    when(jobRepository.findAllById(List.of("j1"))).thenReturn(List.of(job("j1")));
+    Instant timestamp = Instant.parse("2025-06-15T10:00:00Z");
+
+    consume(new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, "j1", timestamp));
 
-    ContentChangeEvent event = new ContentChangeEvent(
-        EventType.UPDATED, ContentType.JOB, "j1", Instant.now());
-    consumer.handleContentChange(event);
+    assertThat(capturedBatch().entries().getFirst().observedAt()).isEqualTo(timestamp);
+  }
+
+  @Test
+  void fatEventsAreIndexedFromTheirProjectionWithoutReadingMongo() throws Exception {
+    Blog blog = blog("b1", true);
+    Job job = job("j1");
+    SkillGroup group = new SkillGroup("g1", "Languages", null, 4.0, 1, null,
+        List.of(new Skill("s1", "Java", 4.0, 1, null, null)));
+
+    consumer.handleContentChanges(List.of(
+        ContentChangeEvent.of(EventType.UPDATED, blog, Instant.now()),
+        ContentChangeEvent.of(EventType.CREATED, job, Instant.now()),
+        ContentChangeEvent.of(EventType.UPDATED, group, Instant.now())), acknowledgment);
+
+    assertThat(changes()).containsExactly(
+        new IndexBatch.BlogUpsert(blog),
+        new IndexBatch.JobUpsert(job),
+        new IndexBatch.SkillGroupUpsert(group));
+    verifyNoInteractions(blogRepository, jobRepository, skillGroupRepository);
+    assertThat(meterRegistry.get("content.changes.sources").tag("source", "event")
+        .counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  void fatEventForUnpublishedBlogRemovesItFromIndex() throws Exception {
+    consume(ContentChangeEvent.of(EventType.UPDATED, blog("b2", false), Instant.now()));
+
+    assertThat(changes()).containsExactly(new IndexBatch.BlogRemoval("b2"));
+    verifyNoInteractions(blogRepository);
+  }
+
+  @Test
+  void projectionThatDoesNotMatchItsHashFallsBackToMongo() throws Exception {
+    Blog stored = blog("b1", true);
+    when(blogRepository.findAllById(List.of("b1"))).thenReturn(List.of(stored));
+    ContentProjection tampered = new ContentProjection(
+        ContentProjection.of(blog("b1", false)).contentHash(), stored, null, null);
+
+    consume(new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", Instant.now(),
+        ContentChangeEvent.PROJECTION_SCHEMA_VERSION, tampered));
+
+    assertThat(changes()).containsExactly(new IndexBatch.BlogUpsert(stored));
+    verify(blogRepository).findAllById(List.of("b1"));
+  }
+
+  @Test
+  void projectionOnThinSchemaVersionOrForAnotherIdFallsBackToMongo() throws Exception {
+    Job stored = job("j1");
+    when(jobRepository.findAllById(List.of("j1", "j2"))).thenReturn(List.of(stored));
+
+    consumer.handleContentChanges(List.of(
+        new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, "j1", Instant.now(),
+            ContentChangeEvent.THIN_SCHEMA_VERSION, ContentProjection.of(job("j1"))),
+        new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, "j2", Instant.now(),
+            ContentChangeEvent.PROJECTION_SCHEMA_VERSION, ContentProjection.of(job("j3")))),
+        acknowledgment);
+
+    assertThat(changes()).containsExactly(
+        new IndexBatch.JobUpsert(stored), new IndexBatch.JobRemoval("j2"));
+    assertThat(meterRegistry.get("content.changes.sources").tag("source", "mongo")
+        .counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void indexedBatchIsPublishedToContentStateWithItsFailedKeys() throws Exception {
+    when(jobRepository.findAllById(List.of("j1"))).thenReturn(List.of(job("j1")));
+    when(indexService.executeBatch(any(IndexBatch.class)))
+        .thenReturn(new IndexBatchResult(0, 0, Set.of("JOB:j1")));
 
-    verify(indexService).indexJobContent(job);
+    assertThatThrownBy(() -> consume(event(EventType.UPDATED, ContentType.JOB, "j1")))
+        .isInstanceOf(BatchListenerFailedException.class);
+
+    verify(statePublisher).publish(capturedBatch(), Set.of("JOB:j1"));
+  }
+
+  private ContentChangeConsumer newConsumer(final int writeParallelism) {
+    return new ContentChangeConsumer(indexService, blogRepository, jobRepository,
+        skillGroupRepository, statePublisher, new ContentChangeMetrics(meterRegistry),
+        writeParallelism);
+  }
+
+  private void consume(final ContentChangeEvent event) throws Exception {
+    consumer.handleContentChanges(List.of(event), acknowledgment);
+  }
+
+  private IndexBatch capturedBatch() throws Exception {
+    ArgumentCaptor<IndexBatch> captor = ArgumentCaptor.forClass(IndexBatch.class);
+    verify(indexService).executeBatch(captor.capture());
+    return captor.getValue();
+  }
+
+  private List<IndexBatch.Change> changes() throws Exception {
+    return capturedBatch().entries().stream().map(IndexBatch.Entry::change).toList();
+  }
+
+  private static ContentChangeEvent event(
+      final EventType eventType, final ContentType contentType, final String id) {
+    return new ContentChangeEvent(eventType, contentType, id, Instant.now());
+  }
+
+  private static Blog blog(final String id, final boolean published) {
+    return new Blog(id, "Title", "Desc", "Content", published,
+        "/img.jpg", Instant.now(), Instant.now(), List.of(), List.of());
+  }
+
+  private static Job job(final String id) {
+    return new Job(id, "Dev", "Co", "https://co.com", null,
+        "2020-01", null, "London", "Desc", "Long",
+        false, true, List.of());
   }
 }
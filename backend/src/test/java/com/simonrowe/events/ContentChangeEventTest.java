@@ -0,0 +1,58 @@
+package com.simonrowe.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.blog.Tag;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+class ContentChangeEventTest {
+
+  private static final String TOPIC = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC;
+
+  @Test
+  void fatEventSurvivesKafkaSerializationWithMatchingHash() {
+    Blog blog = new Blog("b1", "Title", "Desc", "Content", true, "/img.jpg",
+        Instant.parse("2025-06-15T10:00:00.123456789Z"), Instant.parse("2025-06-16T10:00:00Z"),
+        List.of(new Tag("t1", "java")), List.of());
+    ContentChangeEvent event = ContentChangeEvent.of(EventType.UPDATED, blog, Instant.now());
+
+    ContentChangeEvent received = roundTrip(serialize(event));
+
+    assertThat(received).isEqualTo(event);
+    assertThat(received.schemaVersion()).isEqualTo(ContentChangeEvent.PROJECTION_SCHEMA_VERSION);
+    assertThat(received.projection().matchesHash()).isTrue();
+  }
+
+  @Test
+  void thinEventWithoutSchemaVersionIsReadAsThin() {
+    String legacy = "{\"eventType\":\"UPDATED\",\"contentType\":\"JOB\",\"contentId\":\"j1\","
+        + "\"timestamp\":\"2025-06-15T10:00:00Z\"}";
+
+    ContentChangeEvent received = roundTrip(legacy.getBytes(StandardCharsets.UTF_8));
+
+    assertThat(received).isEqualTo(new ContentChangeEvent(EventType.UPDATED, ContentType.JOB,
+        "j1", Instant.parse("2025-06-15T10:00:00Z"), 0, null));
+    assertThat(received.schemaVersion()).isLessThan(ContentChangeEvent.PROJECTION_SCHEMA_VERSION);
+  }
+
+  private static byte[] serialize(final ContentChangeEvent event) {
+    try (JsonSerializer<ContentChangeEvent> serializer = new JsonSerializer<>()) {
+      return serializer.serialize(TOPIC, event);
+    }
+  }
+
+  private static ContentChangeEvent roundTrip(final byte[] payload) {
+    try (JsonDeserializer<ContentChangeEvent> deserializer =
+        new JsonDeserializer<>(ContentChangeEvent.class)) {
+      return deserializer.deserialize(TOPIC, payload);
+    }
+  }
+}
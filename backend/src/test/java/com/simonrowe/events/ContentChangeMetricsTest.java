@@ -0,0 +1,96 @@
+package com.simonrowe.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ContentChangeMetricsTest {
+
+  private static final String TOPIC = ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ContentChangeMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new ContentChangeMetrics(meterRegistry);
+  }
+
+  @Test
+  void stalenessTracksOldestPendingEventUntilIndexed() {
+    List<ContentChangeEvent> events = List.of(
+        event(Instant.now().minusSeconds(120)),
+        event(Instant.now().minusSeconds(5)));
+
+    metrics.batchReceived(events);
+
+    assertThat(metrics.maxStalenessSeconds()).isGreaterThanOrEqualTo(120.0);
+
+    metrics.batchIndexed(events);
+
+    assertThat(metrics.maxStalenessSeconds()).isZero();
+  }
+
+  @Test
+  void stalenessIsClearedWhenTheBatchEndsInADeadLetter() {
+    ConsumerRecord<String, String> record = new ConsumerRecord<>(TOPIC, 0, 10L, "key", "value");
+    metrics.batchReceived(List.of(event(Instant.now().minusSeconds(60))));
+
+    metrics.recovered(record, new RuntimeException("boom"));
+
+    assertThat(metrics.maxStalenessSeconds()).isZero();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void recordLagRegistersGaugePerPartition() {
+    TopicPartition first = new TopicPartition(TOPIC, 0);
+    TopicPartition second = new TopicPartition(TOPIC, 1);
+    ConsumerRecords<String, String> records = new ConsumerRecords<>(Map.of(
+        first, List.of(new ConsumerRecord<>(TOPIC, 0, 10L, "key", "value")),
+        second, List.of(new ConsumerRecord<>(TOPIC, 1, 3L, "key", "value"))));
+    Consumer<String, String> consumer = mock(Consumer.class);
+    when(consumer.currentLag(first)).thenReturn(OptionalLong.of(42));
+    when(consumer.currentLag(second)).thenReturn(OptionalLong.empty());
+
+    metrics.recordLag(records, consumer);
+
+    assertThat(meterRegistry.get("content.changes.consumer.lag")
+        .tag("partition", "0").gauge().value()).isEqualTo(42.0);
+    assertThat(meterRegistry.find("content.changes.consumer.lag")
+        .tag("partition", "1").gauge()).isNull();
+  }
+
+  @Test
+  void retriesAndDeadLettersAreCountedByTopic() {
+    ConsumerRecord<String, String> record = new ConsumerRecord<>(TOPIC, 0, 10L, "key", "value");
+
+    metrics.failedDelivery(record, new RuntimeException("boom"), 1);
+    metrics.failedDelivery(record, new RuntimeException("boom"), 2);
+    metrics.recovered(record, new RuntimeException("boom"));
+
+    assertThat(meterRegistry.get("content.changes.retries").tag("topic", TOPIC)
+        .counter().count()).isEqualTo(2.0);
+    assertThat(meterRegistry.get("content.changes.dead.lettered").tag("topic", TOPIC)
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  private static ContentChangeEvent event(final Instant timestamp) {
+    return new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", timestamp);
+  }
+}
@@ -0,0 +1,25 @@
+package com.simonrowe.events;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+class ContentChangePublisherTest {
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void publishKeysEventByContentSoUpdatesForOneIdShareAPartition() {
+    KafkaTemplate<Object, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    ContentChangeEvent event =
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", Instant.now());
+
+    new ContentChangePublisher(kafkaTemplate).publish(event);
+
+    verify(kafkaTemplate).send(ContentChangeKafkaConfig.CONTENT_CHANGES_TOPIC, "BLOG:b1", event);
+  }
+}
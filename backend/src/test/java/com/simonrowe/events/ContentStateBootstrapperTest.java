@@ -0,0 +1,138 @@
+package com.simonrowe.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.employment.Job;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
+import com.simonrowe.search.IndexService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.ConsumerFactory;
+
+class ContentStateBootstrapperTest {
+
+  private static final String TOPIC = ContentChangeKafkaConfig.CONTENT_STATE_TOPIC;
+  private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+  private static final Instant NOW = Instant.parse("2025-06-15T10:00:00Z");
+
+  private MockConsumer<Object, Object> kafkaConsumer;
+  private IndexService indexService;
+  private ContentStateBootstrapper bootstrapper;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setUp() throws Exception {
+    kafkaConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    kafkaConsumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+    kafkaConsumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+    ConsumerFactory<Object, Object> consumerFactory = mock(ConsumerFactory.class);
+    when(consumerFactory.createConsumer(isNull(), isNull(), anyString(), any(Properties.class)))
+        .thenReturn(kafkaConsumer);
+    indexService = mock(IndexService.class);
+    when(indexService.executeBatch(any(IndexBatch.class))).thenReturn(IndexBatchResult.EMPTY);
+    bootstrapper = new ContentStateBootstrapper(
+        new ContentStateReader(consumerFactory, Duration.ofMillis(50)), indexService, true, 2);
+  }
+
+  @Test
+  void rebuildIndexesLatestStatePerKeyAndSkipsTombstonedContent() throws Exception {
+    Job first = job("j1", "Engineer");
+    Job latest = job("j1", "Senior Engineer");
+    Job removed = job("j2", "Intern");
+    Job kept = job("j3", "Architect");
+    records(
+        ContentChangeEvent.of(EventType.CREATED, first, NOW),
+        ContentChangeEvent.of(EventType.CREATED, removed, NOW),
+        ContentChangeEvent.of(EventType.UPDATED, latest, NOW),
+        tombstone("JOB:j2"),
+        ContentChangeEvent.of(EventType.CREATED, kept, NOW));
+
+    assertThat(bootstrapper.rebuild()).isTrue();
+
+    ArgumentCaptor<IndexBatch> batches = ArgumentCaptor.forClass(IndexBatch.class);
+    verify(indexService).executeBatch(batches.capture());
+    assertThat(batches.getValue().entries()).extracting(IndexBatch.Entry::change)
+        .containsExactlyInAnyOrder(new IndexBatch.JobUpsert(latest),
+            new IndexBatch.JobUpsert(kept));
+  }
+
+  @Test
+  void emptyTopicIsNotUsedForBootstrap() throws Exception {
+    kafkaConsumer.updateEndOffsets(Map.of(PARTITION, 0L));
+
+    assertThat(bootstrapper.rebuild()).isFalse();
+
+    verify(indexService, never()).executeBatch(any(IndexBatch.class));
+  }
+
+  @Test
+  void thinStateReportsRebuildAsIncomplete() throws Exception {
+    Job projected = job("j2", "Engineer");
+    records(
+        new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, "j1", NOW),
+        ContentChangeEvent.of(EventType.CREATED, projected, NOW));
+
+    assertThat(bootstrapper.rebuild()).isFalse();
+
+    ArgumentCaptor<IndexBatch> batches = ArgumentCaptor.forClass(IndexBatch.class);
+    verify(indexService).executeBatch(batches.capture());
+    assertThat(batches.getValue().entries()).extracting(IndexBatch.Entry::change)
+        .containsExactly(new IndexBatch.JobUpsert(projected));
+  }
+
+  @Test
+  void failedWritesReportRebuildAsIncomplete() throws Exception {
+    when(indexService.executeBatch(any(IndexBatch.class)))
+        .thenReturn(new IndexBatchResult(0, 0, Set.of("JOB:j1")));
+    records(ContentChangeEvent.of(EventType.CREATED, job("j1", "Engineer"), NOW));
+
+    assertThat(bootstrapper.rebuild()).isFalse();
+  }
+
+  private void records(final Object... values) {
+    kafkaConsumer.updateEndOffsets(Map.of(PARTITION, (long) values.length));
+    kafkaConsumer.schedulePollTask(() -> {
+      for (int i = 0; i < values.length; i++) {
+        Object value = values[i];
+        String key = value instanceof ContentChangeEvent event
+            ? ContentChangeConsumer.keyOf(event) : ((Tombstone) value).key();
+        kafkaConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, key,
+            value instanceof Tombstone ? null : value));
+      }
+    });
+  }
+
+  private static Tombstone tombstone(final String key) {
+    return new Tombstone(key);
+  }
+
+  private static Job job(final String id, final String title) {
+    return new Job(id, title, "Co", null, null, "2020-01", null, "London", "Desc", "Long",
+        false, true, List.of());
+  }
+
+  private record Tombstone(String key) {
+  }
+}
@@ -0,0 +1,204 @@
+package com.simonrowe.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.blog.BlogRepository;
+import com.simonrowe.employment.Job;
+import com.simonrowe.employment.JobRepository;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
+import com.simonrowe.search.IndexService;
+import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
+import com.simonrowe.skills.SkillGroupRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+class ContentStatePublisherTest {
+
+  private static final String TOPIC = ContentChangeKafkaConfig.CONTENT_STATE_TOPIC;
+  private static final Instant OBSERVED_AT = Instant.parse("2025-06-15T10:00:00Z");
+
+  private KafkaTemplate<Object, Object> kafkaTemplate;
+  private ContentStateReader stateReader;
+  private BlogRepository blogRepository;
+  private JobRepository jobRepository;
+  private SkillGroupRepository skillGroupRepository;
+  private ContentStatePublisher publisher;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setUp() {
+    kafkaTemplate = mock(KafkaTemplate.class);
+    when(kafkaTemplate.send(anyString(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    stateReader = mock(ContentStateReader.class);
+    when(stateReader.read()).thenReturn(Optional.of(Map.of()));
+    blogRepository = mock(BlogRepository.class);
+    jobRepository = mock(JobRepository.class);
+    skillGroupRepository = mock(SkillGroupRepository.class);
+    publisher = new ContentStatePublisher(kafkaTemplate, stateReader, blogRepository,
+        jobRepository, skillGroupRepository);
+  }
+
+  @Test
+  void upsertsPublishLatestProjectionAndRemovalsPublishTombstones() {
+    Blog blog = blog("b1");
+    SkillGroup group = group("g1");
+    IndexBatch batch = new IndexBatch()
+        .indexBlog("BLOG:b1", blog, OBSERVED_AT)
+        .deleteJob("JOB:j1", "j1", OBSERVED_AT)
+        .indexSkill("SKILL:s1", "s1", List.of(group), OBSERVED_AT)
+        .deleteSkill("SKILL:g2", "g2", OBSERVED_AT);
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(List.of("g2"), List.of("g2")))
+        .thenReturn(List.of());
+
+    publisher.publish(batch, Set.of());
+
+    verify(kafkaTemplate).send(TOPIC, "BLOG:b1",
+        ContentChangeEvent.of(EventType.UPDATED, blog, OBSERVED_AT));
+    verify(kafkaTemplate).send(eq(TOPIC), eq("JOB:j1"), isNull());
+    verify(kafkaTemplate).send(TOPIC, "SKILL:g1",
+        ContentChangeEvent.of(EventType.UPDATED, group, OBSERVED_AT));
+    verify(kafkaTemplate).send(eq(TOPIC), eq("SKILL:g2"), isNull());
+  }
+
+  @Test
+  void skillRemovalRepublishesGroupsStillCarryingTheIdWithoutReadingTheTopic() {
+    SkillGroup moved = group("g3");
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(List.of("s1"), List.of("s1")))
+        .thenReturn(List.of(moved));
+
+    publisher.publish(new IndexBatch().deleteSkill("SKILL:s1", "s1", OBSERVED_AT), Set.of());
+
+    verify(kafkaTemplate).send(TOPIC, "SKILL:g3",
+        ContentChangeEvent.of(EventType.UPDATED, moved, OBSERVED_AT));
+    verify(kafkaTemplate, never()).send(eq(TOPIC), eq("SKILL:s1"), any());
+    verify(stateReader, never()).read();
+  }
+
+  @Test
+  void failedKeysAreNotPublished() {
+    IndexBatch batch = new IndexBatch().indexJob("JOB:j1", job("j1"), OBSERVED_AT);
+
+    publisher.publish(batch, Set.of("JOB:j1"));
+
+    verify(kafkaTemplate, never()).send(anyString(), any(), any());
+  }
+
+  @Test
+  void snapshotPublishesEveryIndexableDocument() {
+    when(blogRepository.findByPublishedTrueOrderByCreatedDateDesc())
+        .thenReturn(List.of(blog("b1")));
+    when(jobRepository.findAllByOrderByStartDateDesc()).thenReturn(List.of(job("j1")));
+    when(skillGroupRepository.findAllByOrderByDisplayOrderAsc()).thenReturn(List.of(group("g1")));
+
+    publisher.publishSnapshot();
+
+    verify(kafkaTemplate).send(eq(TOPIC), eq("BLOG:b1"), any(ContentChangeEvent.class));
+    verify(kafkaTemplate).send(eq(TOPIC), eq("JOB:j1"), any(ContentChangeEvent.class));
+    verify(kafkaTemplate).send(eq(TOPIC), eq("SKILL:g1"), any(ContentChangeEvent.class));
+  }
+
+  @Test
+  void snapshotTombstonesDocumentsThatNoLongerExist() {
+    when(stateReader.read()).thenReturn(Optional.of(Map.of(
+        "BLOG:b1", ContentChangeEvent.of(EventType.UPDATED, blog("b1"), OBSERVED_AT),
+        "BLOG:b2", ContentChangeEvent.of(EventType.UPDATED, blog("b2"), OBSERVED_AT),
+        "JOB:j2", ContentChangeEvent.of(EventType.UPDATED, job("j2"), OBSERVED_AT))));
+    when(blogRepository.findByPublishedTrueOrderByCreatedDateDesc())
+        .thenReturn(List.of(blog("b1")));
+
+    publisher.publishSnapshot();
+
+    verify(kafkaTemplate).send(eq(TOPIC), eq("BLOG:b1"), any(ContentChangeEvent.class));
+    verify(kafkaTemplate).send(eq(TOPIC), eq("BLOG:b2"), isNull());
+    verify(kafkaTemplate).send(eq(TOPIC), eq("JOB:j2"), isNull());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void deletedDocumentIsNotRestoredByBootstrapAfterASnapshot() throws Exception {
+    List<ConsumerRecord<Object, Object>> log = new ArrayList<>();
+    when(kafkaTemplate.send(anyString(), any(), any())).thenAnswer(invocation -> {
+      log.add(new ConsumerRecord<>(TOPIC, 0, log.size(), invocation.getArgument(1),
+          invocation.getArgument(2)));
+      return CompletableFuture.completedFuture(null);
+    });
+    ConsumerFactory<Object, Object> consumerFactory = mock(ConsumerFactory.class);
+    when(consumerFactory.createConsumer(isNull(), isNull(), anyString(), any(Properties.class)))
+        .thenAnswer(invocation -> replay(log));
+    ContentStateReader reader = new ContentStateReader(consumerFactory, Duration.ofMillis(50));
+    publisher = new ContentStatePublisher(kafkaTemplate, reader, blogRepository,
+        jobRepository, skillGroupRepository);
+    Blog kept = blog("b1");
+    when(blogRepository.findByPublishedTrueOrderByCreatedDateDesc())
+        .thenReturn(List.of(kept, blog("b2")))
+        .thenReturn(List.of(kept));
+
+    publisher.publishSnapshot();
+    publisher.publishSnapshot();
+
+    IndexService indexService = mock(IndexService.class);
+    when(indexService.executeBatch(any(IndexBatch.class))).thenReturn(IndexBatchResult.EMPTY);
+    assertThat(new ContentStateBootstrapper(reader, indexService, true, 10).rebuild()).isTrue();
+    ArgumentCaptor<IndexBatch> batch = ArgumentCaptor.forClass(IndexBatch.class);
+    verify(indexService).executeBatch(batch.capture());
+    assertThat(batch.getValue().entries()).extracting(IndexBatch.Entry::change)
+        .containsExactly(new IndexBatch.BlogUpsert(kept));
+  }
+
+  private static MockConsumer<Object, Object> replay(
+      final List<ConsumerRecord<Object, Object>> log) {
+    TopicPartition partition = new TopicPartition(TOPIC, 0);
+    List<ConsumerRecord<Object, Object>> records = List.copyOf(log);
+    MockConsumer<Object, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+    consumer.updateBeginningOffsets(Map.of(partition, 0L));
+    consumer.updateEndOffsets(Map.of(partition, (long) records.size()));
+    consumer.schedulePollTask(() -> records.forEach(consumer::addRecord));
+    return consumer;
+  }
+
+  private static Blog blog(final String id) {
+    return new Blog(id, "Title", "Desc", "Content", true, null, OBSERVED_AT, OBSERVED_AT,
+        List.of(), List.of());
+  }
+
+  private static Job job(final String id) {
+    return new Job(id, "Dev", "Co", null, null, "2020-01", null, "London", "Desc", "Long",
+        false, true, List.of());
+  }
+
+  private static SkillGroup group(final String id) {
+    return new SkillGroup(id, "Languages", null, 4.0, 1, null,
+        List.of(new Skill("s1", "Java", 4.0, 1, null, null)));
+  }
+}
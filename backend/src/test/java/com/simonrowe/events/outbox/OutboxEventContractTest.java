@@ -0,0 +1,91 @@
+package com.simonrowe.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.simonrowe.employment.Job;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataMongoTest
+@Testcontainers
+class OutboxEventContractTest {
+
+  private static final String COLLECTION = "content_outbox";
+  private static final Instant CREATED_AT = Instant.parse("2025-06-15T10:00:00Z");
+
+  @Container
+  static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private OutboxEventRepository outboxRepository;
+
+  @DynamicPropertySource
+  static void configureProperties(final DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+  }
+
+  @BeforeEach
+  void setup() {
+    mongoTemplate.dropCollection(COLLECTION);
+  }
+
+  @Test
+  void externallyWrittenThinEntryIsReadByTheRelay() {
+    mongoTemplate.getCollection(COLLECTION).insertOne(new Document("_id", "entry-1")
+        .append("event", new Document("eventType", "UPDATED")
+            .append("contentType", "BLOG")
+            .append("contentId", "b1")
+            .append("timestamp", Date.from(CREATED_AT))
+            .append("schemaVersion", 1))
+        .append("createdAt", Date.from(CREATED_AT)));
+
+    List<OutboxEvent> pending = outboxRepository.findByOrderByCreatedAtAsc(PageRequest.of(0, 10));
+
+    assertThat(pending).containsExactly(new OutboxEvent("entry-1",
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", CREATED_AT),
+        CREATED_AT));
+  }
+
+  @Test
+  void projectedEntryIsStoredUnderTheDocumentedFieldNames() {
+    Job job = new Job("j1", "Engineer", "Company", null, null, "2020-01-01", null, "London",
+        "Short", "Long", false, true, List.of("s-1"));
+    ContentChangeEvent event = ContentChangeEvent.of(EventType.UPDATED, job, CREATED_AT);
+    outboxRepository.save(new OutboxEvent("entry-2", event, CREATED_AT));
+
+    Document stored = mongoTemplate.getCollection(COLLECTION).find().first();
+
+    assertThat(stored).containsEntry("_id", "entry-2")
+        .containsEntry("createdAt", Date.from(CREATED_AT));
+    Document storedEvent = stored.get("event", Document.class);
+    assertThat(storedEvent)
+        .containsEntry("eventType", "UPDATED")
+        .containsEntry("contentType", "JOB")
+        .containsEntry("contentId", "j1")
+        .containsEntry("timestamp", Date.from(CREATED_AT))
+        .containsEntry("schemaVersion", ContentChangeEvent.PROJECTION_SCHEMA_VERSION);
+    Document projection = storedEvent.get("projection", Document.class);
+    assertThat(projection)
+        .containsEntry("contentHash", event.projection().contentHash())
+        .containsKey("job");
+  }
+}
@@ -0,0 +1,63 @@
+package com.simonrowe.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataMongoTest
+@Testcontainers
+class OutboxRelayLeaseTest {
+
+  @Container
+  static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @DynamicPropertySource
+  static void configureProperties(final DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+  }
+
+  @BeforeEach
+  void setup() {
+    mongoTemplate.dropCollection(OutboxRelayLease.COLLECTION);
+  }
+
+  @Test
+  void onlyOneInstanceHoldsTheLeaseUntilItIsReleased() {
+    OutboxRelayLease first = new OutboxRelayLease(mongoTemplate, Duration.ofMinutes(1));
+    OutboxRelayLease second = new OutboxRelayLease(mongoTemplate, Duration.ofMinutes(1));
+
+    assertThat(first.acquire()).isTrue();
+    assertThat(second.acquire()).isFalse();
+    assertThat(first.acquire()).isTrue();
+
+    first.release();
+
+    assertThat(second.acquire()).isTrue();
+    assertThat(first.acquire()).isFalse();
+  }
+
+  @Test
+  void expiredLeaseIsTakenOver() throws InterruptedException {
+    OutboxRelayLease first = new OutboxRelayLease(mongoTemplate, Duration.ofMillis(50));
+    OutboxRelayLease second = new OutboxRelayLease(mongoTemplate, Duration.ofMinutes(1));
+    assertThat(first.acquire()).isTrue();
+
+    Thread.sleep(100);
+
+    assertThat(second.acquire()).isTrue();
+    assertThat(first.acquire()).isFalse();
+  }
+}
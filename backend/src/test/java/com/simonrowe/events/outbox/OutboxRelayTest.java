@@ -0,0 +1,111 @@
+package com.simonrowe.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.events.ContentChangePublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class OutboxRelayTest {
+
+  private OutboxEventRepository outboxRepository;
+  private OutboxRelayLease lease;
+  private ContentChangePublisher publisher;
+  private SimpleMeterRegistry meterRegistry;
+  private OutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    outboxRepository = mock(OutboxEventRepository.class);
+    lease = mock(OutboxRelayLease.class);
+    when(lease.acquire()).thenReturn(true);
+    publisher = mock(ContentChangePublisher.class);
+    meterRegistry = new SimpleMeterRegistry();
+    relay = new OutboxRelay(
+        outboxRepository, lease, publisher, meterRegistry, 2, Duration.ofSeconds(1));
+  }
+
+  @Test
+  void relayPublishesInBatchesAndDeletesAcknowledgedEntries() {
+    OutboxEvent first = entry("o1", "j1");
+    OutboxEvent second = entry("o2", "j2");
+    OutboxEvent third = entry("o3", "j3");
+    when(outboxRepository.findByOrderByCreatedAtAsc(any(Pageable.class)))
+        .thenReturn(List.of(first, second), List.of(third));
+    when(publisher.publish(any(ContentChangeEvent.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    when(outboxRepository.count()).thenReturn(0L);
+
+    relay.relay();
+
+    verify(outboxRepository).deleteAllById(List.of("o1", "o2"));
+    verify(outboxRepository).deleteAllById(List.of("o3"));
+    assertThat(meterRegistry.get("content.outbox.relay.latency").timer().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("content.outbox.backlog").gauge().value()).isZero();
+  }
+
+  @Test
+  void failedSendKeepsEntryForNextRunAndStopsDraining() {
+    OutboxEvent sent = entry("o1", "j1");
+    OutboxEvent failed = entry("o2", "j2");
+    when(outboxRepository.findByOrderByCreatedAtAsc(PageRequest.of(0, 2)))
+        .thenReturn(List.of(sent, failed));
+    when(publisher.publish(sent.event())).thenReturn(CompletableFuture.completedFuture(null));
+    when(publisher.publish(failed.event()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+    when(outboxRepository.count()).thenReturn(1L);
+
+    relay.relay();
+
+    verify(outboxRepository).deleteAllById(List.of("o1"));
+    verify(outboxRepository).findByOrderByCreatedAtAsc(any(Pageable.class));
+    assertThat(meterRegistry.get("content.outbox.backlog").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  void failedSendKeepsLaterAcknowledgedEntriesSoTheyAreResentInOrder() {
+    OutboxEvent failed = entry("o1", "j1");
+    OutboxEvent sent = entry("o2", "j2");
+    when(outboxRepository.findByOrderByCreatedAtAsc(PageRequest.of(0, 2)))
+        .thenReturn(List.of(failed, sent));
+    when(publisher.publish(failed.event()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+    when(publisher.publish(sent.event())).thenReturn(CompletableFuture.completedFuture(null));
+
+    relay.relay();
+
+    verify(outboxRepository).deleteAllById(List.of());
+    assertThat(meterRegistry.get("content.outbox.relay.latency").timer().count()).isZero();
+  }
+
+  @Test
+  void instanceWithoutTheLeaseDoesNotRelay() {
+    when(lease.acquire()).thenReturn(false);
+
+    relay.relay();
+
+    verify(outboxRepository, never()).findByOrderByCreatedAtAsc(any(Pageable.class));
+    verify(publisher, never()).publish(any(ContentChangeEvent.class));
+  }
+
+  private static OutboxEvent entry(final String id, final String jobId) {
+    Instant createdAt = Instant.now().minusMillis(50);
+    return new OutboxEvent(id,
+        new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, jobId, createdAt), createdAt);
+  }
+}
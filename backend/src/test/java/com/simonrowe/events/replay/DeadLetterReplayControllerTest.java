@@ -0,0 +1,122 @@
+package com.simonrowe.events.replay;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.simonrowe.common.AdminApiInterceptor;
+import com.simonrowe.common.ResourceNotFoundException;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.events.replay.DeadLetterReplayOutcome.Status;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+@WebMvcTest(controllers = DeadLetterReplayController.class, properties = "admin.api-token=secret")
+class DeadLetterReplayControllerTest {
+
+  private static final Instant STARTED = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private DeadLetterReplayService replayService;
+
+  @Test
+  void replayStartsABackgroundJob() throws Exception {
+    when(replayService.start(new DeadLetterReplayRequest(50, 10))).thenReturn(running("job-1"));
+
+    mockMvc.perform(post("/api/admin/content-changes/dlt/replay")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"maxEvents\":50,\"eventsPerSecond\":10}"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value("job-1"))
+        .andExpect(jsonPath("$.status").value("RUNNING"));
+  }
+
+  @Test
+  void replayWithoutBodyUsesDefaults() throws Exception {
+    when(replayService.start(new DeadLetterReplayRequest(null, null)))
+        .thenReturn(running("job-1"));
+
+    mockMvc.perform(post("/api/admin/content-changes/dlt/replay")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value("job-1"));
+  }
+
+  @Test
+  void progressReturnsReportWithOutcomes() throws Exception {
+    when(replayService.progress("job-1")).thenReturn(new DeadLetterReplayProgress(
+        "job-1", DeadLetterReplayStatus.COMPLETED, 1, 1, STARTED, STARTED.plusSeconds(1), null,
+        new DeadLetterReplayReport(1, 1, 0, 0, 0, 12, List.of(new DeadLetterReplayOutcome(0, 4,
+            ContentType.BLOG, "b1", EventType.UPDATED, STARTED, Status.REPLAYED, null)))));
+
+    mockMvc.perform(get("/api/admin/content-changes/dlt/replay/job-1")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.report.replayed").value(1))
+        .andExpect(jsonPath("$.report.outcomes[0].contentId").value("b1"))
+        .andExpect(jsonPath("$.report.outcomes[0].status").value("REPLAYED"));
+  }
+
+  @Test
+  void unknownJobReturnsNotFound() throws Exception {
+    when(replayService.progress("missing"))
+        .thenThrow(new ResourceNotFoundException("DLT replay job not found: missing"));
+
+    mockMvc.perform(get("/api/admin/content-changes/dlt/replay/missing")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void outOfRangeRateReturnsBadRequest() throws Exception {
+    mockMvc.perform(post("/api/admin/content-changes/dlt/replay")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"eventsPerSecond\":0}"))
+        .andExpect(status().isBadRequest());
+
+    verify(replayService, never()).start(any(DeadLetterReplayRequest.class));
+  }
+
+  @Test
+  void concurrentReplayReturnsConflict() throws Exception {
+    when(replayService.start(any(DeadLetterReplayRequest.class)))
+        .thenThrow(new ResponseStatusException(HttpStatus.CONFLICT, "already running"));
+
+    mockMvc.perform(post("/api/admin/content-changes/dlt/replay")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret"))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  void requestWithoutTokenIsUnauthorized() throws Exception {
+    mockMvc.perform(post("/api/admin/content-changes/dlt/replay"))
+        .andExpect(status().isUnauthorized());
+
+    verify(replayService, never()).start(any(DeadLetterReplayRequest.class));
+  }
+
+  private static DeadLetterReplayProgress running(final String jobId) {
+    return new DeadLetterReplayProgress(
+        jobId, DeadLetterReplayStatus.RUNNING, 0, 0, STARTED, null, null, null);
+  }
+}
@@ -0,0 +1,230 @@
+package com.simonrowe.events.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.common.ResourceNotFoundException;
+import com.simonrowe.events.ContentChangeConsumer;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import com.simonrowe.events.replay.DeadLetterReplayOutcome.Status;
+import com.simonrowe.search.IndexBatchResult;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+class DeadLetterReplayServiceTest {
+
+  private static final String DLT = DeadLetterReplayService.DEAD_LETTER_TOPIC;
+  private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+  private static final Instant BASE = Instant.parse("2025-06-15T10:00:00Z");
+
+  private RecordingConsumer kafkaConsumer;
+  private KafkaTemplate<Object, Object> kafkaTemplate;
+  private ContentChangeConsumer contentChangeConsumer;
+  private DeadLetterReplayService replayService;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setUp() {
+    kafkaConsumer = new RecordingConsumer();
+    kafkaConsumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+    kafkaConsumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+    ConsumerFactory<Object, Object> consumerFactory = mock(ConsumerFactory.class);
+    when(consumerFactory.createConsumer(eq(DeadLetterReplayService.REPLAY_GROUP), isNull(),
+        anyString(), any(Properties.class))).thenReturn(kafkaConsumer);
+    kafkaTemplate = mock(KafkaTemplate.class);
+    when(kafkaTemplate.send(anyString(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    contentChangeConsumer = mock(ContentChangeConsumer.class);
+    replayService = new DeadLetterReplayService(consumerFactory, kafkaTemplate,
+        contentChangeConsumer, 1000, 1000, Duration.ofMillis(50));
+  }
+
+  @AfterEach
+  void tearDown() {
+    replayService.shutdown();
+  }
+
+  @Test
+  void replayDeduplicatesByContentAndCommitsDrainedOffsets() throws Exception {
+    deadLetters(
+        event("b1", BASE),
+        event("b2", BASE),
+        event("b1", BASE.plusSeconds(5)));
+    when(contentChangeConsumer.index(anyList())).thenReturn(new IndexBatchResult(2, 0, Set.of()));
+
+    DeadLetterReplayReport report = replayAndWait(new DeadLetterReplayRequest(null, null));
+
+    verify(contentChangeConsumer)
+        .index(List.of(event("b1", BASE.plusSeconds(5)), event("b2", BASE)));
+    assertThat(report.drained()).isEqualTo(3);
+    assertThat(report.replayed()).isEqualTo(2);
+    assertThat(report.duplicates()).isEqualTo(1);
+    assertThat(report.outcomes())
+        .filteredOn(outcome -> outcome.status() == Status.DUPLICATE)
+        .extracting(DeadLetterReplayOutcome::offset)
+        .containsExactly(0L);
+    assertThat(kafkaConsumer.committedOffsets).containsEntry(PARTITION, new OffsetAndMetadata(3));
+  }
+
+  @Test
+  void failedEventsAreReturnedToTheDeadLetterTopic() throws Exception {
+    deadLetters(event("b1", BASE), event("b2", BASE));
+    when(contentChangeConsumer.index(anyList()))
+        .thenReturn(new IndexBatchResult(1, 0, Set.of("BLOG:b2")));
+
+    DeadLetterReplayReport report = replayAndWait(new DeadLetterReplayRequest(null, null));
+
+    assertThat(report.replayed()).isEqualTo(1);
+    assertThat(report.failed()).isEqualTo(1);
+    verify(kafkaTemplate).send(DLT, "BLOG:b2", event("b2", BASE));
+    assertThat(kafkaConsumer.committedOffsets).containsEntry(PARTITION, new OffsetAndMetadata(2));
+  }
+
+  @Test
+  void indexingErrorFailsWholeChunkAndRequeuesIt() throws Exception {
+    deadLetters(event("b1", BASE), event("b2", BASE));
+    when(contentChangeConsumer.index(anyList())).thenThrow(new IOException("circuit open"));
+
+    DeadLetterReplayReport report = replayAndWait(new DeadLetterReplayRequest(null, null));
+
+    assertThat(report.failed()).isEqualTo(2);
+    assertThat(report.outcomes()).extracting(DeadLetterReplayOutcome::detail)
+        .allMatch(detail -> detail.startsWith("circuit open"));
+  }
+
+  @Test
+  void replayStopsAtMaxEventsAndPacesChunks() throws Exception {
+    deadLetters(event("b1", BASE), event("b2", BASE), event("b3", BASE));
+    when(contentChangeConsumer.index(anyList())).thenReturn(new IndexBatchResult(1, 0, Set.of()));
+
+    DeadLetterReplayReport report = replayAndWait(new DeadLetterReplayRequest(2, 1));
+
+    assertThat(report.drained()).isEqualTo(2);
+    assertThat(report.durationMillis()).isGreaterThanOrEqualTo(1000);
+    assertThat(kafkaConsumer.committedOffsets).containsEntry(PARTITION, new OffsetAndMetadata(2));
+  }
+
+  @Test
+  void emptyDeadLetterTopicCommitsNothing() throws Exception {
+    kafkaConsumer.updateEndOffsets(Map.of(PARTITION, 0L));
+
+    DeadLetterReplayReport report = replayAndWait(new DeadLetterReplayRequest(null, null));
+
+    assertThat(report.drained()).isZero();
+    assertThat(kafkaConsumer.committedOffsets).isEmpty();
+    verify(contentChangeConsumer, never()).index(anyList());
+  }
+
+  @Test
+  void requeueFailureIsReportedAndLeavesTheEventUncommitted() throws Exception {
+    deadLetters(event("b1", BASE), event("b2", BASE), event("b3", BASE));
+    when(contentChangeConsumer.index(anyList()))
+        .thenReturn(new IndexBatchResult(2, 0, Set.of("BLOG:b2")));
+    when(kafkaTemplate.send(DLT, "BLOG:b2", event("b2", BASE)))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+    DeadLetterReplayReport report = replayAndWait(new DeadLetterReplayRequest(null, null));
+
+    assertThat(report.replayed()).isEqualTo(2);
+    assertThat(report.failed()).isEqualTo(1);
+    assertThat(report.outcomes())
+        .filteredOn(outcome -> outcome.status() == Status.FAILED)
+        .extracting(DeadLetterReplayOutcome::detail)
+        .allMatch(detail -> detail.endsWith("left uncommitted"));
+    assertThat(kafkaConsumer.committedOffsets).containsEntry(PARTITION, new OffsetAndMetadata(1));
+  }
+
+  @Test
+  void concurrentReplayIsRejected() throws Exception {
+    deadLetters(event("b1", BASE));
+    when(contentChangeConsumer.index(anyList())).thenAnswer(invocation -> {
+      assertThatThrownBy(() -> replayService.start(new DeadLetterReplayRequest(null, null)))
+          .isInstanceOf(ResponseStatusException.class)
+          .hasMessageContaining("already running");
+      return new IndexBatchResult(1, 0, Set.of());
+    });
+
+    assertThat(replayAndWait(new DeadLetterReplayRequest(null, null)).replayed())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void unknownJobIsNotFound() {
+    assertThatThrownBy(() -> replayService.progress("missing"))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  private DeadLetterReplayReport replayAndWait(final DeadLetterReplayRequest request)
+      throws InterruptedException {
+    String jobId = replayService.start(request).jobId();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    DeadLetterReplayProgress progress = replayService.progress(jobId);
+    while (!progress.status().isTerminal() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      progress = replayService.progress(jobId);
+    }
+    assertThat(progress.status()).isEqualTo(DeadLetterReplayStatus.COMPLETED);
+    return progress.report();
+  }
+
+  private void deadLetters(final ContentChangeEvent... events) {
+    kafkaConsumer.updateEndOffsets(Map.of(PARTITION, (long) events.length));
+    kafkaConsumer.schedulePollTask(() -> {
+      for (int i = 0; i < events.length; i++) {
+        kafkaConsumer.addRecord(new ConsumerRecord<>(DLT, 0, i,
+            ContentChangeConsumer.keyOf(events[i]), events[i]));
+      }
+    });
+  }
+
+  private static ContentChangeEvent event(final String id, final Instant timestamp) {
+    return new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, id, timestamp);
+  }
+
+  private static final class RecordingConsumer extends MockConsumer<Object, Object> {
+
+    private final Map<TopicPartition, OffsetAndMetadata> committedOffsets =
+        new HashMap<>();
+
+    RecordingConsumer() {
+      super(OffsetResetStrategy.EARLIEST);
+    }
+
+    @Override
+    public synchronized void commitSync(final Map<TopicPartition, OffsetAndMetadata> offsets) {
+      committedOffsets.putAll(offsets);
+      super.commitSync(offsets);
+    }
+  }
+}
@@ -4,7 +4,6 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import com.simonrowe.blog.BlogSearchRepository;
 import com.simonrowe.common.Image;
 import java.time.Instant;
 import java.util.List;
@@ -13,8 +12,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -35,12 +32,6 @@ class ProfileControllerTest {
   @Container
   static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
 
-  @MockitoBean
-  private ElasticsearchOperations elasticsearchOperations;
-
-  @MockitoBean
-  private BlogSearchRepository blogSearchRepository;
-
   @Autowired
   private MockMvc mockMvc;
 
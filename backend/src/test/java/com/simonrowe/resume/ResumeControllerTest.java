@@ -0,0 +1,74 @@
+package com.simonrowe.resume;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ResumeController.class)
+class ResumeControllerTest {
+
+  private static final RenderedResume RESUME =
+      new RenderedResume("0123456789abcdef", new byte[] {37, 80, 68, 70});
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private ResumePdfCache pdfCache;
+
+  @Test
+  void downloadReturnsCachedPdfWithStrongEtag() throws Exception {
+    given(pdfCache.peek()).willReturn(RESUME);
+
+    mockMvc.perform(get("/api/resume"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+        .andExpect(content().bytes(RESUME.pdf()))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""))
+        .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "4"))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+  }
+
+  @Test
+  void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+    given(pdfCache.peek()).willReturn(RESUME);
+
+    mockMvc.perform(get("/api/resume")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"0123456789abcdef\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  void coldCacheJoinsRenderAndServesResult() throws Exception {
+    given(pdfCache.refresh()).willReturn(RESUME);
+
+    mockMvc.perform(get("/api/resume"))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(RESUME.pdf()))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0123456789abcdef\""));
+    verify(pdfCache).refresh();
+  }
+
+  @Test
+  void saturatedRenderSlotsReturnServiceUnavailableWithRetryAfter() throws Exception {
+    given(pdfCache.refresh()).willThrow(new ResumeRenderRejectedException(Duration.ofSeconds(5)));
+
+    mockMvc.perform(get("/api/resume"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+  }
+}
@@ -0,0 +1,126 @@
+package com.simonrowe.resume;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ResumePdfCacheTest {
+
+  @Mock
+  private ResumeService resumeService;
+
+  @Mock
+  private ResumePdfRenderer pdfRenderer;
+
+  private ResumePdfCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new ResumePdfCache(resumeService, pdfRenderer, new ResumeRenderBulkhead(
+        new SimpleMeterRegistry(), 2, Duration.ofSeconds(1), Duration.ofSeconds(5)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    cache.shutdown();
+  }
+
+  @Test
+  void peekIsEmptyUntilFirstRefreshThenServesRenderedBytes() {
+    given(resumeService.assembleResumeData()).willReturn(data("Engineer"));
+    given(pdfRenderer.render(any(ResumeData.class))).willReturn(new byte[] {1, 2, 3});
+
+    assertThat(cache.peek()).isNull();
+    RenderedResume rendered = cache.refresh();
+
+    assertThat(cache.peek()).isSameAs(rendered);
+    assertThat(rendered.pdf()).containsExactly(1, 2, 3);
+    assertThat(rendered.etag()).startsWith("\"").endsWith("\"").hasSize(34);
+  }
+
+  @Test
+  void refreshSkipsRenderWhenContentVersionIsUnchanged() {
+    given(resumeService.assembleResumeData()).willReturn(data("Engineer"));
+    given(pdfRenderer.render(any(ResumeData.class))).willReturn(new byte[] {1});
+
+    RenderedResume first = cache.refresh();
+    RenderedResume second = cache.refresh();
+
+    assertThat(second).isSameAs(first);
+    verify(pdfRenderer, times(1)).render(any(ResumeData.class));
+  }
+
+  @Test
+  void refreshRendersNewVersionWhenContentChanges() {
+    given(resumeService.assembleResumeData())
+        .willReturn(data("Engineer"), data("Senior Engineer"));
+    given(pdfRenderer.render(any(ResumeData.class))).willReturn(new byte[] {1}, new byte[] {2});
+
+    RenderedResume first = cache.refresh();
+    RenderedResume second = cache.refresh();
+
+    assertThat(second.version()).isNotEqualTo(first.version());
+    assertThat(cache.peek().pdf()).containsExactly(2);
+  }
+
+  @Test
+  void jobAndSkillChangesRefreshInBackground() {
+    given(resumeService.assembleResumeData()).willReturn(data("Engineer"));
+    given(pdfRenderer.render(any(ResumeData.class))).willReturn(new byte[] {1});
+
+    cache.onContentChange(
+        new ContentChangeEvent(EventType.UPDATED, ContentType.JOB, "j1", Instant.now()));
+
+    verify(pdfRenderer, timeout(5000)).render(any(ResumeData.class));
+  }
+
+  @Test
+  void blogChangesDoNotRefresh() {
+    cache.onContentChange(
+        new ContentChangeEvent(EventType.UPDATED, ContentType.BLOG, "b1", Instant.now()));
+
+    verify(resumeService, never()).assembleResumeData();
+  }
+
+  @Test
+  void failedBackgroundRefreshKeepsServingPreviousVersion() throws Exception {
+    given(resumeService.assembleResumeData())
+        .willReturn(data("Engineer"))
+        .willThrow(new IllegalStateException("Mongo down"));
+    given(pdfRenderer.render(any(ResumeData.class))).willReturn(new byte[] {1});
+    RenderedResume cached = cache.refresh();
+
+    cache.refreshInBackground();
+
+    verify(resumeService, timeout(5000).times(2)).assembleResumeData();
+    assertThat(cache.peek()).isSameAs(cached);
+  }
+
+  private static ResumeData data(String title) {
+    return new ResumeData(
+        new ResumeProfile("Simon Rowe", title, "simon@example.com", null, "London", null,
+            null, null),
+        List.of(new ResumeJob("Engineer", "Co", "2020-01", null, "London", "Built things")),
+        List.of(),
+        List.of(new ResumeSkillGroup("Languages", List.of(new ResumeSkill("Java", 9.0)))));
+  }
+}
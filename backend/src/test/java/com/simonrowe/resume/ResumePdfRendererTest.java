@@ -2,6 +2,9 @@ package com.simonrowe.resume;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -49,6 +52,46 @@ class ResumePdfRendererTest {
     assertThat(pdf).isNotEmpty();
   }
 
+  @Test
+  void pooledBufferIsResetBetweenRenders() {
+    ResumeData data = new ResumeData(
+        new ResumeProfile("Name", "Title", "email", "phone",
+            "London", null, null, null),
+        List.of(), List.of(), List.of());
+
+    byte[] large = renderer.render(sampleResumeData());
+    byte[] small = renderer.render(data);
+
+    assertThat(small.length).isLessThan(large.length);
+    assertThat(new String(small, StandardCharsets.ISO_8859_1))
+        .startsWith("%PDF")
+        .contains("%%EOF");
+  }
+
+  @Test
+  void renderUsesObjectStreamsAndEmbedsStarFontSubset() throws Exception {
+    byte[] pdf = renderer.render(sampleResumeData());
+
+    assertThat(new String(pdf, StandardCharsets.ISO_8859_1))
+        .startsWith("%PDF-1.5")
+        .contains("/ObjStm");
+    List<Object[]> fonts = BaseFont.getDocumentFonts(new PdfReader(pdf));
+    assertThat(fonts)
+        .extracting(font -> (String) font[0])
+        .anyMatch(name -> name.matches("[A-Z]{6}\\+DejaVuSans.*"));
+  }
+
+  @Test
+  void markdownToPlainTextIsMemoizedByContent() {
+    String markdown = "**Bold** text";
+
+    String first = renderer.markdownToPlainText(markdown);
+    String second = renderer.markdownToPlainText(new String(markdown));
+
+    assertThat(first).isEqualTo("Bold text");
+    assertThat(second).isSameAs(first);
+  }
+
   private static ResumeData sampleResumeData() {
     ResumeProfile profile = new ResumeProfile(
         "Simon Rowe", "Engineering Leader",
@@ -0,0 +1,104 @@
+package com.simonrowe.resume;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class ResumeRenderBulkheadTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger renders = new AtomicInteger();
+
+  private SimpleMeterRegistry meterRegistry;
+  private ResumeRenderBulkhead bulkhead;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    bulkhead = new ResumeRenderBulkhead(
+        meterRegistry, 1, Duration.ofMillis(100), Duration.ofSeconds(5));
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void identicalConcurrentRendersShareOneComputation() throws Exception {
+    Future<RenderedResume> first = executor.submit(() -> bulkhead.render("v1", blockingRender()));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    Future<RenderedResume> second = executor.submit(() -> bulkhead.render("v1", blockingRender()));
+    awaitCoalesced(1);
+
+    release.countDown();
+
+    assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+    assertThat(renders).hasValue(1);
+    assertThat(meterRegistry.get("resume.render.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void saturatedBulkheadRejectsWithRetryAfter() throws Exception {
+    executor.submit(() -> bulkhead.render("v1", blockingRender()));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> bulkhead.render("v2", () -> new byte[] {2}))
+        .isInstanceOfSatisfying(ResumeRenderRejectedException.class, e -> {
+          assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+          assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        });
+    assertThat(meterRegistry.get("resume.render.rejected").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("resume.render.active").gauge().value()).isEqualTo(1);
+    assertThat(meterRegistry.get("resume.render.queue.depth").gauge().value()).isZero();
+  }
+
+  @Test
+  void failedRenderIsNotCachedForLaterCallers() {
+    assertThatThrownBy(() -> bulkhead.render("v1", () -> {
+      throw new IllegalStateException("Layout failed");
+    })).isInstanceOf(IllegalStateException.class);
+
+    RenderedResume rendered = bulkhead.render("v1", () -> new byte[] {1});
+
+    assertThat(rendered.pdf()).containsExactly(1);
+  }
+
+  private Supplier<byte[]> blockingRender() {
+    return () -> {
+      renders.incrementAndGet();
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new byte[] {1};
+    };
+  }
+
+  private void awaitCoalesced(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("resume.render.coalesced").counter().count() < expected
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+}
@@ -13,14 +13,20 @@ import com.simonrowe.profile.SocialMediaLinkRepository;
 import com.simonrowe.skills.Skill;
 import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
+import io.opentelemetry.api.OpenTelemetry;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +44,19 @@ class ResumeServiceTest {
   @Mock
   private SkillGroupRepository skillGroupRepository;
 
-  @InjectMocks
   private ResumeService resumeService;
 
+  @BeforeEach
+  void setUp() {
+    resumeService = new ResumeService(profileRepository, socialMediaLinkRepository,
+        jobRepository, skillGroupRepository, OpenTelemetry.noop(), Duration.ofSeconds(5));
+  }
+
+  @AfterEach
+  void tearDown() {
+    resumeService.shutdown();
+  }
+
   @Test
   void assembleResumeDataReturnsCompleteData() {
     given(profileRepository.findFirstBy())
@@ -94,6 +110,86 @@ class ResumeServiceTest {
     assertThat(result.employment()).isEmpty();
   }
 
+  @Test
+  void assembleResumeDataRunsQueriesConcurrently() {
+    CountDownLatch allStarted = new CountDownLatch(4);
+    given(profileRepository.findFirstBy()).willAnswer(invocation -> {
+      awaitOthers(allStarted);
+      return Optional.of(sampleProfile());
+    });
+    given(socialMediaLinkRepository.findAll()).willAnswer(invocation -> {
+      awaitOthers(allStarted);
+      return List.of();
+    });
+    given(jobRepository.findAllByOrderByStartDateDesc()).willAnswer(invocation -> {
+      awaitOthers(allStarted);
+      return List.of(sampleJob("j-1", "Lead", "Upp", false, true));
+    });
+    given(skillGroupRepository.findAllByOrderByDisplayOrderAsc()).willAnswer(invocation -> {
+      awaitOthers(allStarted);
+      return List.of(sampleSkillGroup());
+    });
+
+    ResumeData result = resumeService.assembleResumeData();
+
+    assertThat(result.employment()).hasSize(1);
+    assertThat(result.skillGroups()).hasSize(1);
+  }
+
+  @Test
+  void assembleResumeDataFailsWhenDeadlineIsExceeded() throws InterruptedException {
+    resumeService.shutdown();
+    resumeService = new ResumeService(profileRepository, socialMediaLinkRepository,
+        jobRepository, skillGroupRepository, OpenTelemetry.noop(), Duration.ofMillis(200));
+    CountDownLatch cancelled = new CountDownLatch(1);
+    given(profileRepository.findFirstBy())
+        .willReturn(Optional.of(sampleProfile()));
+    given(socialMediaLinkRepository.findAll()).willReturn(List.of());
+    given(jobRepository.findAllByOrderByStartDateDesc()).willAnswer(invocation -> {
+      try {
+        Thread.sleep(Duration.ofSeconds(30));
+      } catch (InterruptedException e) {
+        cancelled.countDown();
+      }
+      return List.of();
+    });
+    given(skillGroupRepository.findAllByOrderByDisplayOrderAsc()).willReturn(List.of());
+
+    assertThatThrownBy(resumeService::assembleResumeData)
+        .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+            assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void assembleResumeDataFailsFastWhenALaterReadFails() throws InterruptedException {
+    CountDownLatch cancelled = new CountDownLatch(1);
+    given(profileRepository.findFirstBy()).willAnswer(invocation -> {
+      try {
+        Thread.sleep(Duration.ofSeconds(30));
+      } catch (InterruptedException e) {
+        cancelled.countDown();
+      }
+      return Optional.of(sampleProfile());
+    });
+    given(jobRepository.findAllByOrderByStartDateDesc())
+        .willThrow(new IllegalStateException("jobs unavailable"));
+
+    long start = System.nanoTime();
+    assertThatThrownBy(resumeService::assembleResumeData)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("jobs unavailable");
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static void awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+    allStarted.countDown();
+    if (!allStarted.await(5, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Resume queries did not run concurrently");
+    }
+  }
+
   private static Profile sampleProfile() {
     Instant now = Instant.now();
     return new Profile(
@@ -1,7 +1,9 @@
 package com.simonrowe.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -9,10 +11,22 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.DeleteResponse;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.HitsMetadata;
 import com.simonrowe.blog.Blog;
 import com.simonrowe.blog.BlogRepository;
 import com.simonrowe.blog.Tag;
@@ -20,14 +34,21 @@ import com.simonrowe.common.Image;
 import com.simonrowe.employment.Job;
 import com.simonrowe.employment.JobRepository;
 import com.simonrowe.search.elasticsearch.BlogSearchDocument;
+import com.simonrowe.search.elasticsearch.ElasticsearchCallGuard;
 import com.simonrowe.search.elasticsearch.SiteSearchDocument;
 import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
 import com.simonrowe.skills.SkillGroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class IndexServiceTest {
 
@@ -40,8 +61,11 @@ class IndexServiceTest {
     BlogRepository blogRepository = mock(BlogRepository.class);
     JobRepository jobRepository = mock(JobRepository.class);
     SkillGroupRepository skillGroupRepository = mock(SkillGroupRepository.class);
+    ElasticsearchCallGuard callGuard = new ElasticsearchCallGuard(
+        Duration.ofSeconds(2), Duration.ofSeconds(10), false, Duration.ofMillis(50),
+        5, Duration.ofSeconds(30), new SimpleMeterRegistry());
     indexService = new IndexService(
-        esClient, blogRepository, jobRepository, skillGroupRepository);
+        esClient, callGuard, blogRepository, jobRepository, skillGroupRepository);
   }
 
   @Test
@@ -119,6 +143,8 @@ class IndexServiceTest {
     assertThat(doc.longDescription()).isNull();
     assertThat(doc.image()).isEqualTo("/images/java.png");
     assertThat(doc.url()).isEqualTo("/skills-groups/g1");
+    assertThat(doc.sourceId()).isEqualTo("s1");
+    assertThat(doc.skillGroupId()).isEqualTo("g1");
   }
 
   @Test
@@ -157,6 +183,18 @@ class IndexServiceTest {
     assertThat(doc.url()).isEqualTo("/blogs/blog1");
   }
 
+  @Test
+  void blogToBlogDocumentIndexesPlainTextContent() {
+    Blog blog = new Blog(
+        "blog1", "Title", "Desc",
+        "## Setup\n\nRun [the script](https://example.com/x.sh)\n\n```bash\nrm -rf /\n```",
+        true, null, Instant.now(), Instant.now(), List.of(), List.of());
+
+    BlogSearchDocument doc = indexService.blogToBlogDocument(blog);
+
+    assertThat(doc.content()).isEqualTo("Setup Run the script");
+  }
+
   @Test
   void blogToBlogDocumentNullTagsReturnsEmptyList() {
     Blog blog = new Blog(
@@ -176,8 +214,8 @@ class IndexServiceTest {
     when(esClient.index(any(Function.class))).thenReturn(mockResponse);
 
     SiteSearchDocument doc = new SiteSearchDocument(
-        "id1", "Name", "blog", "Desc", null, null, "/url");
-    indexService.indexSiteDocument(doc);
+        "id1", "Name", "blog", "Desc", null, null, "/url", null, null);
+    indexService.indexSiteDocument(doc, 1L);
 
     verify(esClient).index(any(Function.class));
   }
@@ -191,7 +229,7 @@ class IndexServiceTest {
     BlogSearchDocument doc = new BlogSearchDocument(
         "id1", "Title", "Desc", "Content",
         List.of(), List.of(), null, Instant.now(), "/url");
-    indexService.indexBlogDocument(doc);
+    indexService.indexBlogDocument(doc, 1L);
 
     verify(esClient).index(any(Function.class));
   }
@@ -202,7 +240,7 @@ class IndexServiceTest {
     DeleteResponse mockResponse = mock(DeleteResponse.class);
     when(esClient.delete(any(Function.class))).thenReturn(mockResponse);
 
-    indexService.deleteSiteDocument("id1");
+    indexService.deleteSiteDocument("id1", 1L);
 
     verify(esClient).delete(any(Function.class));
   }
@@ -213,7 +251,7 @@ class IndexServiceTest {
     DeleteResponse mockResponse = mock(DeleteResponse.class);
     when(esClient.delete(any(Function.class))).thenReturn(mockResponse);
 
-    indexService.deleteBlogDocument("id1");
+    indexService.deleteBlogDocument("id1", 1L);
 
     verify(esClient).delete(any(Function.class));
   }
@@ -228,7 +266,7 @@ class IndexServiceTest {
         "b1", "Title", "Desc", "Content", true,
         "/img.jpg", Instant.now(), Instant.now(), List.of(), List.of());
 
-    indexService.indexBlogContent(blog);
+    indexService.indexBlogContent(blog, Instant.now());
 
     verify(esClient, times(2)).index(any(Function.class));
   }
@@ -239,7 +277,7 @@ class IndexServiceTest {
     DeleteResponse mockResponse = mock(DeleteResponse.class);
     when(esClient.delete(any(Function.class))).thenReturn(mockResponse);
 
-    indexService.deleteBlogContent("b1");
+    indexService.deleteBlogContent("b1", Instant.now());
 
     verify(esClient, times(2)).delete(any(Function.class));
   }
@@ -255,7 +293,7 @@ class IndexServiceTest {
         "2020-01", null, "London", "Desc", "Long",
         false, true, List.of());
 
-    indexService.indexJobContent(job);
+    indexService.indexJobContent(job, Instant.now());
 
     verify(esClient).index(any(Function.class));
   }
@@ -266,7 +304,7 @@ class IndexServiceTest {
     DeleteResponse mockResponse = mock(DeleteResponse.class);
     when(esClient.delete(any(Function.class))).thenReturn(mockResponse);
 
-    indexService.deleteJobContent("j1");
+    indexService.deleteJobContent("j1", Instant.now());
 
     verify(esClient).delete(any(Function.class));
   }
@@ -279,20 +317,36 @@ class IndexServiceTest {
 
     Skill skill = new Skill("s1", "Java", 4.0, 1, "Java", null);
 
-    indexService.indexSkillContent(skill, "g1");
+    indexService.indexSkillContent(skill, "g1", Instant.now());
 
     verify(esClient).index(any(Function.class));
   }
 
   @SuppressWarnings("unchecked")
   @Test
-  void deleteSkillContentDeletesFromSiteIndex() throws Exception {
-    DeleteResponse mockResponse = mock(DeleteResponse.class);
-    when(esClient.delete(any(Function.class))).thenReturn(mockResponse);
-
-    indexService.deleteSkillContent("s1");
-
-    verify(esClient).delete(any(Function.class));
+  void deleteSkillContentDeletesBySkillOrGroupIdRatherThanDocumentId() throws Exception {
+    givenSkillDocuments("s1", "g1_s1");
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+    Instant observedAt = Instant.parse("2025-06-15T10:00:00Z");
+
+    indexService.deleteSkillContent("s1", observedAt);
+
+    verify(esClient, never()).indices();
+    ArgumentCaptor<SearchRequest> search = ArgumentCaptor.forClass(SearchRequest.class);
+    verify(esClient).search(search.capture(), eq(Map.class));
+    Query named = search.getValue().query().bool().should().getFirst();
+    assertThat(named.bool().queryName()).isEqualTo("s1");
+    Query removal = named.bool().filter().getFirst();
+    assertThat(removal.bool().should())
+        .extracting(query -> query.term().field() + "=" + query.term().value().stringValue())
+        .containsExactly("sourceId=s1", "skillGroupId=s1");
+    ArgumentCaptor<BulkRequest> bulk = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(esClient).bulk(bulk.capture());
+    BulkOperation delete = bulk.getValue().operations().getFirst();
+    assertThat(delete.delete().id()).isEqualTo("g1_s1");
+    assertThat(delete.delete().versionType()).isEqualTo(VersionType.ExternalGte);
+    assertThat(delete.delete().version()).isEqualTo(observedAt.toEpochMilli());
   }
 
   @Test
@@ -302,12 +356,64 @@ class IndexServiceTest {
     when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
 
     SiteSearchDocument doc = new SiteSearchDocument(
-        "id1", "Name", "blog", "Desc", null, null, "/url");
-    indexService.bulkIndexSiteDocuments(List.of(doc));
+        "id1", "Name", "blog", "Desc", null, null, "/url", null, null);
+    indexService.bulkIndexSiteDocuments(List.of(new VersionedDocument<>(doc, 1L)));
 
     verify(esClient).bulk(any(BulkRequest.class));
   }
 
+  @Test
+  void bulkIndexCountsVersionConflictsAsStale() throws Exception {
+    BulkResponseItem stale = BulkResponseItem.of(i -> i
+        .operationType(OperationType.Index)
+        .index("site_search")
+        .id("id1")
+        .status(409)
+        .error(e -> e.type("version_conflict_engine_exception").reason("stale")));
+    BulkResponseItem indexed = BulkResponseItem.of(i -> i
+        .operationType(OperationType.Index)
+        .index("site_search")
+        .id("id2")
+        .status(200));
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(mockResponse.errors()).thenReturn(true);
+    when(mockResponse.items()).thenReturn(List.of(stale, indexed));
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+
+    BulkIndexResult result = indexService.bulkIndexSiteDocuments(List.of(
+        new VersionedDocument<>(
+            new SiteSearchDocument(
+                "id1", "Name", "job", "Desc", null, null, "/url", null, null), 1L),
+        new VersionedDocument<>(
+            new SiteSearchDocument(
+                "id2", "Name", "job", "Desc", null, null, "/url", null, null), 1L)));
+
+    assertThat(result).isEqualTo(new BulkIndexResult(1, 1, 0));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void indexSiteDocumentIgnoresVersionConflict() throws Exception {
+    when(esClient.index(any(Function.class))).thenThrow(new ElasticsearchException(
+        "index", ErrorResponse.of(r -> r
+            .status(409)
+            .error(e -> e.type("version_conflict_engine_exception").reason("stale")))));
+
+    SiteSearchDocument doc = new SiteSearchDocument(
+        "id1", "Name", "job", "Desc", null, null, "/url", null, null);
+
+    assertThatCode(() -> indexService.indexSiteDocument(doc, 1L)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void versionOfPrefersSourceUpdatedDate() {
+    Instant updated = Instant.parse("2025-06-15T10:00:00Z");
+    Instant observed = Instant.parse("2025-06-16T10:00:00Z");
+
+    assertThat(IndexService.versionOf(updated, observed)).isEqualTo(updated.toEpochMilli());
+    assertThat(IndexService.versionOf(null, observed)).isEqualTo(observed.toEpochMilli());
+  }
+
   @Test
   void bulkIndexBlogDocumentsCallsBulk() throws Exception {
     BulkResponse mockResponse = mock(BulkResponse.class);
@@ -317,8 +423,195 @@ class IndexServiceTest {
     BlogSearchDocument doc = new BlogSearchDocument(
         "id1", "Title", "Desc", "Content",
         List.of(), List.of(), null, Instant.now(), "/url");
-    indexService.bulkIndexBlogDocuments(List.of(doc));
+    indexService.bulkIndexBlogDocuments(List.of(new VersionedDocument<>(doc, 1L)));
 
     verify(esClient).bulk(any(BulkRequest.class));
   }
+
+  @Test
+  void executeBatchWritesAllChangesInOneBulkRequest() throws Exception {
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(mockResponse.errors()).thenReturn(false);
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+    Blog blog = new Blog(
+        "b1", "Title", "Desc", "Content", true,
+        "/img.jpg", Instant.now(), Instant.now(), List.of(), List.of());
+    Skill skill = new Skill("s1", "Java", 4.5, 1, "Java language", null);
+    givenSkillDocuments("SKILL:s1");
+
+    IndexBatchResult result = indexService.executeBatch(new IndexBatch()
+        .indexBlog("BLOG:b1", blog, Instant.now())
+        .deleteJob("JOB:j1", "j1", Instant.now())
+        .indexSkill("SKILL:s1", "s1", List.of(group("g1", skill)), Instant.now()));
+
+    ArgumentCaptor<BulkRequest> captor = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(esClient, times(1)).bulk(captor.capture());
+    assertThat(captor.getValue().operations()).hasSize(4);
+    assertThat(captor.getValue().operations().get(3).index().id()).isEqualTo("g1_s1");
+    assertThat(result.succeeded()).isEqualTo(4);
+    assertThat(result.hasFailures()).isFalse();
+  }
+
+  @Test
+  void executeBatchReportsFailedKeysButNotStaleWrites() throws Exception {
+    BulkResponseItem stale = BulkResponseItem.of(i -> i
+        .operationType(OperationType.Delete)
+        .index("site_search")
+        .id("j1")
+        .status(409)
+        .error(e -> e.type("version_conflict_engine_exception").reason("stale")));
+    BulkResponseItem failed = BulkResponseItem.of(i -> i
+        .operationType(OperationType.Delete)
+        .index("site_search")
+        .id("j2")
+        .status(429)
+        .error(e -> e.type("es_rejected_execution_exception").reason("queue full")));
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(mockResponse.errors()).thenReturn(true);
+    when(mockResponse.items()).thenReturn(List.of(stale, failed));
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+
+    IndexBatchResult result = indexService.executeBatch(new IndexBatch()
+        .deleteJob("JOB:j1", "j1", Instant.now())
+        .deleteJob("JOB:j2", "j2", Instant.now()));
+
+    assertThat(result.stale()).isEqualTo(1);
+    assertThat(result.failedKeys()).containsExactly("JOB:j2");
+  }
+
+  @Test
+  void executeBatchIndexesWholeSkillGroupAndRemovesSkillsThatLeftIt() throws Exception {
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+    givenSkillDocuments("SKILL:g1", "g1_s3");
+
+    IndexBatchResult result = indexService.executeBatch(new IndexBatch()
+        .indexSkillGroup("SKILL:g1", group("g1",
+            new Skill("s1", "Java", 4.5, 1, "Java", null),
+            new Skill("s2", "Kotlin", 4.0, 2, "Kotlin", null)), Instant.now()));
+
+    ArgumentCaptor<BulkRequest> bulk = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(esClient, times(2)).bulk(bulk.capture());
+    assertThat(bulk.getAllValues().getFirst().operations())
+        .extracting(operation -> operation.index().id())
+        .containsExactly("g1_s1", "g1_s2");
+    assertThat(bulk.getAllValues().get(1).operations())
+        .extracting(operation -> operation.delete().id())
+        .containsExactly("g1_s3");
+    ArgumentCaptor<SearchRequest> search = ArgumentCaptor.forClass(SearchRequest.class);
+    verify(esClient).search(search.capture(), eq(Map.class));
+    Query stale = search.getValue().query().bool().should().getFirst().bool().filter().getFirst();
+    assertThat(stale.bool().filter().getFirst().term().field()).isEqualTo("skillGroupId");
+    assertThat(stale.bool().mustNot().getFirst().terms().terms().value())
+        .extracting(FieldValue::stringValue)
+        .containsExactly("s1", "s2");
+    assertThat(result.succeeded()).isEqualTo(2);
+  }
+
+  @Test
+  void executeBatchKeepsSkillDocumentsWrittenAfterAStaleRemoval() throws Exception {
+    givenSkillDocuments("SKILL:s1", "g1_s1");
+    BulkResponseItem conflict = BulkResponseItem.of(i -> i
+        .operationType(OperationType.Delete)
+        .index("site_search")
+        .id("g1_s1")
+        .status(409)
+        .error(e -> e.type("version_conflict_engine_exception").reason("newer upsert")));
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(mockResponse.errors()).thenReturn(true);
+    when(mockResponse.items()).thenReturn(List.of(conflict));
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+    Instant removedAt = Instant.parse("2025-06-15T10:00:00Z");
+
+    IndexBatchResult result = indexService.executeBatch(new IndexBatch()
+        .deleteSkill("SKILL:s1", "s1", removedAt));
+
+    ArgumentCaptor<BulkRequest> bulk = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(esClient).bulk(bulk.capture());
+    assertThat(bulk.getValue().operations().getFirst().delete().version())
+        .isEqualTo(removedAt.toEpochMilli());
+    assertThat(result.stale()).isEqualTo(1);
+    assertThat(result.hasFailures()).isFalse();
+  }
+
+  @Test
+  void executeBatchReportsSkillKeysWhenCleanupFails() throws Exception {
+    givenSkillDocuments("SKILL:s1", "g1_s1");
+    BulkResponseItem failed = BulkResponseItem.of(i -> i
+        .operationType(OperationType.Delete)
+        .index("site_search")
+        .id("g1_s1")
+        .status(500)
+        .error(e -> e.type("exception").reason("shard")));
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(mockResponse.errors()).thenReturn(true);
+    when(mockResponse.items()).thenReturn(List.of(failed));
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+
+    IndexBatchResult result = indexService.executeBatch(new IndexBatch()
+        .deleteSkill("SKILL:s1", "s1", Instant.now()));
+
+    assertThat(result.failedKeys()).containsExactly("SKILL:s1");
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void executeBatchFindsAllSkillCleanupsWithOneSearchAndNoRefresh() throws Exception {
+    Hit<Map> first = skillHit("g1_s1", "SKILL:s1");
+    Hit<Map> shared = skillHit("g2_s2", "SKILL:s2", "SKILL:g2");
+    givenSkillHits(List.of(first, shared));
+    BulkResponse mockResponse = mock(BulkResponse.class);
+    when(esClient.bulk(any(BulkRequest.class))).thenReturn(mockResponse);
+    Instant earlier = Instant.parse("2025-06-15T10:00:00Z");
+    Instant later = Instant.parse("2025-06-15T10:05:00Z");
+
+    indexService.executeBatch(new IndexBatch()
+        .deleteSkill("SKILL:s1", "s1", earlier)
+        .deleteSkill("SKILL:s2", "s2", earlier)
+        .deleteSkill("SKILL:g2", "g2", later));
+
+    verify(esClient, never()).indices();
+    ArgumentCaptor<SearchRequest> search = ArgumentCaptor.forClass(SearchRequest.class);
+    verify(esClient, times(1)).search(search.capture(), eq(Map.class));
+    assertThat(search.getValue().query().bool().should())
+        .extracting(query -> query.bool().queryName())
+        .containsExactly("SKILL:s1", "SKILL:s2", "SKILL:g2");
+    ArgumentCaptor<BulkRequest> bulk = ArgumentCaptor.forClass(BulkRequest.class);
+    verify(esClient).bulk(bulk.capture());
+    assertThat(bulk.getValue().operations())
+        .extracting(operation -> operation.delete().id() + "@" + operation.delete().version())
+        .containsExactly("g1_s1@" + earlier.toEpochMilli(), "g2_s2@" + later.toEpochMilli());
+  }
+
+  @Test
+  void executeBatchEmptyBatchDoesNotCallBulk() throws Exception {
+    assertThat(indexService.executeBatch(new IndexBatch())).isEqualTo(IndexBatchResult.EMPTY);
+    verify(esClient, never()).bulk(any(BulkRequest.class));
+  }
+
+  private void givenSkillDocuments(final String cleanupKey, final String... ids)
+      throws Exception {
+    givenSkillHits(Arrays.stream(ids).map(id -> skillHit(id, cleanupKey)).toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenSkillHits(final List<Hit<Map>> hits) throws Exception {
+    HitsMetadata<Map> metadata = mock(HitsMetadata.class);
+    when(metadata.hits()).thenReturn(hits);
+    SearchResponse<Map> response = mock(SearchResponse.class);
+    when(response.hits()).thenReturn(metadata);
+    when(esClient.search(any(SearchRequest.class), eq(Map.class))).thenReturn(response);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Hit<Map> skillHit(final String id, final String... cleanupKeys) {
+    Hit<Map> hit = mock(Hit.class);
+    when(hit.id()).thenReturn(id);
+    when(hit.matchedQueries()).thenReturn(List.of(cleanupKeys));
+    return hit;
+  }
+
+  private static SkillGroup group(final String id, final Skill... skills) {
+    return new SkillGroup(id, "Group", "Description", 4.0, 1, null, List.of(skills));
+  }
 }
@@ -0,0 +1,60 @@
+package com.simonrowe.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MarkdownTextExtractorTest {
+
+  @Test
+  void extractsVisibleTextWithoutMarkdownSyntax() {
+    String markdown = "# Heading\n**bold** and `code` and [link](http://example.com)";
+
+    assertThat(MarkdownTextExtractor.extract(markdown))
+        .isEqualTo("Heading bold and code and link");
+  }
+
+  @Test
+  void skipsCodeBlocksAndHtml() {
+    String markdown = """
+        Before
+
+        ```java
+        System.out.println("hidden");
+        ```
+
+            indented code
+
+        <div>markup</div>
+
+        After""";
+
+    assertThat(MarkdownTextExtractor.extract(markdown)).isEqualTo("Before After");
+  }
+
+  @Test
+  void keepsNumbersAndBracketsInProse() {
+    String markdown = "Version 3.5 ships [sic] (finally) on 1. March\n\n1. First\n2. Second";
+
+    assertThat(MarkdownTextExtractor.extract(markdown))
+        .isEqualTo("Version 3.5 ships [sic] (finally) on 1. March First Second");
+  }
+
+  @Test
+  void keepsImageAltTextButDropsUrl() {
+    assertThat(MarkdownTextExtractor.extract("![Kafka diagram](/images/kafka.png) explained"))
+        .isEqualTo("Kafka diagram explained");
+  }
+
+  @Test
+  void separatesWordsAcrossBlocks() {
+    assertThat(MarkdownTextExtractor.extract("> quoted\n\n- one\n- two\n\nend"))
+        .isEqualTo("quoted one two end");
+  }
+
+  @Test
+  void handlesNullAndBlankContent() {
+    assertThat(MarkdownTextExtractor.extract(null)).isEmpty();
+    assertThat(MarkdownTextExtractor.extract("  \n ")).isEmpty();
+  }
+}
@@ -52,6 +52,24 @@ class SearchControllerTest {
         .andExpect(jsonPath("$[0].title").value("Spring Boot Guide"));
   }
 
+  @Test
+  void combinedSearchReturnsSiteAndBlogResults() throws Exception {
+    CombinedSearchResponse response = new CombinedSearchResponse(
+        new GroupedSearchResponse(
+            List.of(),
+            List.of(new SearchResult("Java Dev", null, "/jobs/j1")),
+            List.of()),
+        List.of(new BlogSearchResult(
+            "Spring Boot Guide", "A guide", null,
+            Instant.parse("2025-11-15T00:00:00Z"), "/blogs/spring-boot")));
+    when(searchService.combinedSearch(anyString())).thenReturn(response);
+
+    mockMvc.perform(get("/api/search/all").param("q", "java"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.site.jobs[0].name").value("Java Dev"))
+        .andExpect(jsonPath("$.blogs[0].title").value("Spring Boot Guide"));
+  }
+
   @Test
   void siteSearchMissingQueryParamReturns400() throws Exception {
     mockMvc.perform(get("/api/search"))
@@ -2,8 +2,12 @@ package com.simonrowe.search;
 
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.simonrowe.events.ContentStateBootstrapper;
+import com.simonrowe.events.ContentStatePublisher;
 import java.io.IOException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +15,16 @@ import org.junit.jupiter.api.Test;
 class SearchIndexSyncSchedulerTest {
 
   private IndexService indexService;
+  private ContentStateBootstrapper stateBootstrapper;
+  private ContentStatePublisher statePublisher;
   private SearchIndexSyncScheduler scheduler;
 
   @BeforeEach
   void setUp() {
     indexService = mock(IndexService.class);
-    scheduler = new SearchIndexSyncScheduler(indexService);
+    stateBootstrapper = mock(ContentStateBootstrapper.class);
+    statePublisher = mock(ContentStatePublisher.class);
+    scheduler = new SearchIndexSyncScheduler(indexService, stateBootstrapper, statePublisher);
   }
 
   @Test
@@ -28,9 +36,32 @@ class SearchIndexSyncSchedulerTest {
   }
 
   @Test
-  void scheduledSyncCallsFullSync() throws Exception {
+  void scheduledSyncCallsFullSyncAndPublishesContentState() throws Exception {
     scheduler.scheduledSync();
 
+    verify(indexService).fullSyncSiteIndex();
+    verify(indexService).fullSyncBlogIndex();
+    verify(statePublisher).publishSnapshot();
+  }
+
+  @Test
+  void syncOnStartupBootstrapsFromContentStateInsteadOfScanningMongo() throws Exception {
+    when(stateBootstrapper.isEnabled()).thenReturn(true);
+    when(stateBootstrapper.rebuild()).thenReturn(true);
+
+    scheduler.syncOnStartup();
+
+    verify(indexService, never()).fullSyncSiteIndex();
+    verify(statePublisher, never()).publishSnapshot();
+  }
+
+  @Test
+  void syncOnStartupFallsBackToFullSyncWhenContentStateIsUnusable() throws Exception {
+    when(stateBootstrapper.isEnabled()).thenReturn(true);
+    when(stateBootstrapper.rebuild()).thenThrow(new IOException("ES down"));
+
+    scheduler.syncOnStartup();
+
     verify(indexService).fullSyncSiteIndex();
     verify(indexService).fullSyncBlogIndex();
   }
@@ -42,5 +73,6 @@ class SearchIndexSyncSchedulerTest {
     scheduler.syncOnStartup();
 
     verify(indexService).fullSyncSiteIndex();
+    verify(statePublisher, never()).publishSnapshot();
   }
 }
@@ -3,15 +3,24 @@ package com.simonrowe.search;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.core.search.HitsMetadata;
+import co.elastic.clients.json.JsonData;
 import com.simonrowe.search.elasticsearch.BlogSearchDocument;
+import com.simonrowe.search.elasticsearch.ElasticsearchCallGuard;
 import com.simonrowe.search.elasticsearch.SiteSearchDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.function.Function;
@@ -21,12 +30,16 @@ import org.junit.jupiter.api.Test;
 class SearchServiceTest {
 
   private ElasticsearchClient esClient;
+  private ElasticsearchCallGuard callGuard;
   private SearchService searchService;
 
   @BeforeEach
   void setUp() {
     esClient = mock(ElasticsearchClient.class);
-    searchService = new SearchService(esClient, 5, 20, 200);
+    callGuard = new ElasticsearchCallGuard(
+        Duration.ofSeconds(2), Duration.ofSeconds(10), false, Duration.ofMillis(50),
+        5, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    searchService = new SearchService(esClient, callGuard, 5, 20, 200, 100);
   }
 
   @Test
@@ -76,13 +89,13 @@ class SearchServiceTest {
   void siteSearchReturnsGroupedResults() throws Exception {
     SiteSearchDocument blogDoc = new SiteSearchDocument(
         "b1", "Java Blog", "blog", "A Java blog",
-        null, "/img.jpg", "/blogs/java");
+        null, "/img.jpg", "/blogs/java", null, null);
     SiteSearchDocument jobDoc = new SiteSearchDocument(
         "j1", "Java Dev", "job", "Java developer",
-        "Long desc", null, "/employment");
+        "Long desc", null, "/employment", null, null);
     SiteSearchDocument skillDoc = new SiteSearchDocument(
         "s1", "Java", "skill", "Java language",
-        null, "/img/java.png", "/skills");
+        null, "/img/java.png", "/skills", null, null);
 
     Hit<SiteSearchDocument> blogHit = mock(Hit.class);
     when(blogHit.source()).thenReturn(blogDoc);
@@ -164,6 +177,33 @@ class SearchServiceTest {
     assertThat(results).isEmpty();
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void blogSearchFallsBackToRecentResultsWhenSearchFails() throws Exception {
+    BlogSearchDocument blogDoc = new BlogSearchDocument(
+        "b1", "Spring Boot Guide", "A guide to Spring",
+        "Full content", List.of("spring"), List.of("Java"),
+        "/img/spring.jpg", Instant.now(), "/blogs/spring-boot");
+
+    Hit<BlogSearchDocument> hit = mock(Hit.class);
+    when(hit.source()).thenReturn(blogDoc);
+
+    HitsMetadata<BlogSearchDocument> hits = mock(HitsMetadata.class);
+    when(hits.hits()).thenReturn(List.of(hit));
+
+    SearchResponse<BlogSearchDocument> response = mock(SearchResponse.class);
+    when(response.hits()).thenReturn(hits);
+    when(esClient.search(any(Function.class), any(Class.class)))
+        .thenReturn(response)
+        .thenThrow(new IOException("Connection refused"));
+
+    searchService.blogSearch("spring");
+    List<BlogSearchResult> results = searchService.blogSearch("spring");
+
+    assertThat(results).hasSize(1);
+    assertThat(results.getFirst().title()).isEqualTo("Spring Boot Guide");
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   void siteSearchFiltersNullSources() throws Exception {
@@ -219,7 +259,7 @@ class SearchServiceTest {
   @SuppressWarnings("unchecked")
   @Test
   void siteSearchTruncatesLongQuery() throws Exception {
-    SearchService shortMaxService = new SearchService(esClient, 5, 20, 10);
+    SearchService shortMaxService = new SearchService(esClient, callGuard, 5, 20, 10, 100);
 
     HitsMetadata<SiteSearchDocument> hits = mock(HitsMetadata.class);
     when(hits.hits()).thenReturn(List.of());
@@ -235,4 +275,71 @@ class SearchServiceTest {
     assertThat(result).isNotNull();
     assertThat(result.blogs()).isEmpty();
   }
+
+  @Test
+  void combinedSearchShortQueryReturnsEmpty() {
+    CombinedSearchResponse response = searchService.combinedSearch("a");
+    assertThat(response.site().blogs()).isEmpty();
+    assertThat(response.blogs()).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void combinedSearchReturnsSiteAndBlogResultsFromOneRequest() throws Exception {
+    SiteSearchDocument jobDoc = new SiteSearchDocument(
+        "j1", "Java Dev", "job", "Java developer", null, null, "/jobs/j1", null, null);
+    BlogSearchDocument blogDoc = new BlogSearchDocument(
+        "b1", "Java Guide", "A guide", "Content", List.of(), List.of(),
+        null, Instant.parse("2025-06-15T10:00:00Z"), "/blogs/b1");
+
+    MultiSearchResponseItem<JsonData> siteItem =
+        resultItem(jsonHit(jobDoc, SiteSearchDocument.class));
+    MultiSearchResponseItem<JsonData> blogItem =
+        resultItem(jsonHit(blogDoc, BlogSearchDocument.class));
+
+    MsearchResponse<JsonData> response = mock(MsearchResponse.class);
+    when(response.responses()).thenReturn(List.of(siteItem, blogItem));
+    when(esClient.msearch(any(Function.class), any(Class.class))).thenReturn(response);
+
+    CombinedSearchResponse result = searchService.combinedSearch("java");
+
+    assertThat(result.site().jobs()).hasSize(1);
+    assertThat(result.site().jobs().getFirst().name()).isEqualTo("Java Dev");
+    assertThat(result.blogs()).hasSize(1);
+    assertThat(result.blogs().getFirst().title()).isEqualTo("Java Guide");
+    verify(esClient, never()).search(any(Function.class), any(Class.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void combinedSearchHandlesIoException() throws Exception {
+    when(esClient.msearch(any(Function.class), any(Class.class)))
+        .thenThrow(new IOException("Connection refused"));
+
+    CombinedSearchResponse result = searchService.combinedSearch("java");
+
+    assertThat(result.site().blogs()).isEmpty();
+    assertThat(result.blogs()).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Hit<JsonData> jsonHit(final T document, final Class<T> type) {
+    JsonData source = mock(JsonData.class);
+    when(source.to(type)).thenReturn(document);
+    Hit<JsonData> hit = mock(Hit.class);
+    when(hit.source()).thenReturn(source);
+    return hit;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static MultiSearchResponseItem<JsonData> resultItem(final Hit<JsonData> hit) {
+    HitsMetadata<JsonData> hits = mock(HitsMetadata.class);
+    when(hits.hits()).thenReturn(List.of(hit));
+    MultiSearchItem<JsonData> result = mock(MultiSearchItem.class);
+    when(result.hits()).thenReturn(hits);
+    MultiSearchResponseItem<JsonData> item = mock(MultiSearchResponseItem.class);
+    when(item.isResult()).thenReturn(true);
+    when(item.result()).thenReturn(result);
+    return item;
+  }
 }
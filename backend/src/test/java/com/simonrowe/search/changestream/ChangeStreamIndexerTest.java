@@ -0,0 +1,146 @@
+package com.simonrowe.search.changestream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.search.IndexBatch;
+import com.simonrowe.search.IndexBatchResult;
+import com.simonrowe.search.IndexService;
+import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataMongoTest
+@Testcontainers
+class ChangeStreamIndexerTest {
+
+  private static final Duration WAIT = Duration.ofSeconds(15);
+
+  @Container
+  static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ChangeStreamCheckpointRepository checkpointRepository;
+
+  private IndexService indexService;
+  private ChangeStreamIndexer indexer;
+
+  @DynamicPropertySource
+  static void configureProperties(final DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    checkpointRepository.deleteAll();
+    mongoTemplate.dropCollection(Blog.class);
+    mongoTemplate.dropCollection(SkillGroup.class);
+    indexService = mock(IndexService.class);
+    when(indexService.executeBatch(any(IndexBatch.class))).thenReturn(IndexBatchResult.EMPTY);
+    indexer = newIndexer(indexService);
+  }
+
+  @AfterEach
+  void tearDown() {
+    indexer.stop();
+  }
+
+  @Test
+  void insertedBlogIsIndexedWithFullDocumentAndCheckpointed() throws Exception {
+    indexer.start();
+    assertThat(indexer.awaitWatching(WAIT)).isTrue();
+
+    Blog blog = mongoTemplate.save(blog("Change streams", true));
+
+    awaitChanges(indexService, new IndexBatch.BlogUpsert(blog));
+    indexer.stop();
+    assertThat(checkpointRepository.findById(ChangeStreamIndexer.CHECKPOINT_ID)).isPresent();
+  }
+
+  @Test
+  void unpublishedBlogAndDeletedSkillGroupAreRemoved() throws Exception {
+    SkillGroup group = mongoTemplate.save(new SkillGroup(new ObjectId().toHexString(),
+        "Languages", null, 4.0, 1, null,
+        List.of(new Skill(new ObjectId().toHexString(), "Java", 4.0, 1, null, null))));
+    indexer.start();
+    assertThat(indexer.awaitWatching(WAIT)).isTrue();
+
+    Blog draft = mongoTemplate.save(blog("Draft", false));
+    mongoTemplate.remove(group);
+
+    awaitChanges(indexService,
+        new IndexBatch.BlogRemoval(draft.id()),
+        new IndexBatch.SkillRemoval(group.id()));
+  }
+
+  @Test
+  void restartResumesFromCheckpointWithoutReplayingOrMissingChanges() throws Exception {
+    indexer.start();
+    assertThat(indexer.awaitWatching(WAIT)).isTrue();
+    Blog first = mongoTemplate.save(blog("First", true));
+    awaitChanges(indexService, new IndexBatch.BlogUpsert(first));
+    indexer.stop();
+
+    Blog missed = mongoTemplate.save(blog("Written while stopped", true));
+    IndexService restarted = mock(IndexService.class);
+    when(restarted.executeBatch(any(IndexBatch.class))).thenReturn(IndexBatchResult.EMPTY);
+    indexer = newIndexer(restarted);
+    indexer.start();
+
+    assertThat(awaitChanges(restarted, new IndexBatch.BlogUpsert(missed)))
+        .doesNotContain(new IndexBatch.BlogUpsert(first));
+  }
+
+  private ChangeStreamIndexer newIndexer(final IndexService service) {
+    return new ChangeStreamIndexer(mongoTemplate, checkpointRepository, service, 50,
+        Duration.ofMillis(200), Duration.ofMillis(200));
+  }
+
+  private static List<IndexBatch.Change> awaitChanges(
+      final IndexService service, final IndexBatch.Change... expected) throws Exception {
+    long deadline = System.nanoTime() + WAIT.toNanos();
+    List<IndexBatch.Change> seen = changesSeenBy(service);
+    while (!seen.containsAll(List.of(expected)) && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+      seen = changesSeenBy(service);
+    }
+    assertThat(seen).contains(expected);
+    return seen;
+  }
+
+  private static List<IndexBatch.Change> changesSeenBy(final IndexService service) {
+    return mockingDetails(service).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("executeBatch"))
+        .map(invocation -> (IndexBatch) invocation.getArgument(0))
+        .flatMap(batch -> batch.entries().stream())
+        .map(IndexBatch.Entry::change)
+        .toList();
+  }
+
+  private static Blog blog(final String title, final boolean published) {
+    Instant now = Instant.parse("2025-06-15T10:00:00Z");
+    return new Blog(new ObjectId().toHexString(), title, "Short", "Content", published,
+        null, now, now, List.of(), List.of());
+  }
+}
@@ -0,0 +1,116 @@
+package com.simonrowe.search.elasticsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ElasticsearchCallGuardTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void readReturnsResultOfCall() throws Exception {
+    ElasticsearchCallGuard guard = guard(false, 3, Duration.ofSeconds(30));
+
+    assertThat(guard.read("search", () -> "hits")).isEqualTo("hits");
+    assertThat(guard.circuitState()).isEqualTo(ElasticsearchCallGuard.CircuitState.CLOSED);
+  }
+
+  @Test
+  void readTimesOutSlowCall() {
+    ElasticsearchCallGuard guard = new ElasticsearchCallGuard(
+        Duration.ofMillis(50), Duration.ofSeconds(1), false, Duration.ofMillis(10),
+        3, Duration.ofSeconds(30), meterRegistry);
+
+    assertThatThrownBy(() -> guard.read("search", () -> {
+      sleep(1000);
+      return "late";
+    })).isInstanceOf(ElasticsearchUnavailableException.class)
+        .hasMessageContaining("timed out");
+    assertThat(meterRegistry.counter("search.elasticsearch.timeouts").count()).isEqualTo(1);
+  }
+
+  @Test
+  void circuitOpensAfterConsecutiveFailuresAndRejectsCalls() {
+    ElasticsearchCallGuard guard = guard(false, 2, Duration.ofSeconds(30));
+    AtomicInteger invocations = new AtomicInteger();
+    ElasticsearchCall<String> failing = () -> {
+      invocations.incrementAndGet();
+      throw new IOException("Connection refused");
+    };
+
+    assertThatThrownBy(() -> guard.write("index", failing)).isInstanceOf(IOException.class);
+    assertThatThrownBy(() -> guard.write("index", failing)).isInstanceOf(IOException.class);
+    assertThatThrownBy(() -> guard.write("index", failing))
+        .isInstanceOf(ElasticsearchUnavailableException.class)
+        .hasMessageContaining("circuit open");
+
+    assertThat(invocations).hasValue(2);
+    assertThat(guard.circuitState()).isEqualTo(ElasticsearchCallGuard.CircuitState.OPEN);
+    assertThat(meterRegistry.get("search.elasticsearch.circuit.state").gauge().value())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void circuitClosesAfterSuccessfulTrialCall() throws Exception {
+    ElasticsearchCallGuard guard = guard(false, 1, Duration.ofMillis(20));
+
+    assertThatThrownBy(() -> guard.read("search", () -> {
+      throw new IOException("Connection refused");
+    })).isInstanceOf(IOException.class);
+    assertThat(guard.circuitState()).isEqualTo(ElasticsearchCallGuard.CircuitState.OPEN);
+
+    sleep(50);
+
+    assertThat(guard.read("search", () -> "recovered")).isEqualTo("recovered");
+    assertThat(guard.circuitState()).isEqualTo(ElasticsearchCallGuard.CircuitState.CLOSED);
+  }
+
+  @Test
+  void slowReadIsHedgedOncePercentileIsKnown() throws Exception {
+    ElasticsearchCallGuard guard = guard(true, 5, Duration.ofSeconds(30));
+    for (int i = 0; i < 25; i++) {
+      guard.read("search", () -> "warm-up");
+    }
+
+    AtomicInteger attempts = new AtomicInteger();
+    String result = guard.read("search", () -> {
+      if (attempts.incrementAndGet() == 1) {
+        sleep(1000);
+        return "slow";
+      }
+      return "hedged";
+    });
+
+    assertThat(result).isEqualTo("hedged");
+    assertThat(attempts).hasValue(2);
+    assertThat(meterRegistry.counter("search.elasticsearch.hedged.requests").count())
+        .isEqualTo(1);
+  }
+
+  private ElasticsearchCallGuard guard(
+      final boolean hedge, final int failureThreshold, final Duration openDuration) {
+    return new ElasticsearchCallGuard(
+        Duration.ofSeconds(2), Duration.ofSeconds(2), hedge, Duration.ofMillis(20),
+        failureThreshold, openDuration, meterRegistry);
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -7,9 +7,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch.indices.CreateIndexResponse;
 import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.elasticsearch.indices.GetMappingResponse;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
 import co.elastic.clients.transport.endpoints.BooleanResponse;
 import java.io.IOException;
 import java.util.function.Function;
@@ -51,10 +54,29 @@ class ElasticsearchConfigTest {
   void createIndicesOnStartupSkipsWhenAlreadyExist() throws Exception {
     when(indicesClient.exists(any(Function.class)))
         .thenReturn(new BooleanResponse(true));
+    when(indicesClient.getMapping(any(Function.class)))
+        .thenReturn(blogMapping(ElasticsearchConfig.BLOG_ANALYZER));
 
     config.createIndicesOnStartup();
 
     verify(indicesClient, never()).create(any(Function.class));
+    verify(indicesClient).putMapping(any(Function.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void recreatesBlogIndexWithoutBlogAnalyzerAndDropsLegacyIndex() throws Exception {
+    when(indicesClient.exists(any(Function.class)))
+        .thenReturn(new BooleanResponse(true))
+        .thenReturn(new BooleanResponse(true))
+        .thenReturn(new BooleanResponse(false))
+        .thenReturn(new BooleanResponse(true));
+    when(indicesClient.getMapping(any(Function.class))).thenReturn(blogMapping("standard"));
+
+    config.createIndicesOnStartup();
+
+    verify(indicesClient, org.mockito.Mockito.times(1)).create(any(Function.class));
+    verify(indicesClient, org.mockito.Mockito.times(2)).delete(any(Function.class));
   }
 
   @SuppressWarnings("unchecked")
@@ -67,4 +89,10 @@ class ElasticsearchConfigTest {
 
     verify(indicesClient, never()).create(any(Function.class));
   }
+
+  private static GetMappingResponse blogMapping(final String contentAnalyzer) {
+    return GetMappingResponse.of(r -> r.result(ElasticsearchConfig.BLOG_SEARCH_INDEX,
+        IndexMappingRecord.of(i -> i.mappings(m -> m.properties("content",
+            Property.of(p -> p.text(t -> t.analyzer(contentAnalyzer))))))));
+  }
 }
@@ -0,0 +1,43 @@
+package com.simonrowe.search.elasticsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.junit.jupiter.api.Test;
+
+class ElasticsearchPayloadMetricsTest {
+
+  @Test
+  void recordsRequestAndResponseSizesByEndpoint() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ElasticsearchPayloadMetrics metrics = new ElasticsearchPayloadMetrics(meterRegistry);
+    BasicHttpEntityEnclosingRequest request =
+        new BasicHttpEntityEnclosingRequest("POST", "/_bulk?refresh=false");
+    request.setEntity(new StringEntity("{\"delete\":{}}\n", "UTF-8"));
+    BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.setEntity(new StringEntity("{\"errors\":false}", "UTF-8"));
+    HttpCoreContext context = HttpCoreContext.adapt(new BasicHttpContext());
+    context.setAttribute(HttpCoreContext.HTTP_REQUEST, request);
+
+    metrics.process(request, context);
+    metrics.process(response, context);
+
+    assertThat(meterRegistry.get("search.elasticsearch.request.size")
+        .tags("endpoint", "_bulk", "method", "POST").summary().totalAmount()).isEqualTo(14);
+    assertThat(meterRegistry.get("search.elasticsearch.response.size")
+        .tags("endpoint", "_bulk", "method", "POST").summary().totalAmount()).isEqualTo(16);
+  }
+
+  @Test
+  void endpointOfClassifiesPaths() {
+    assertThat(ElasticsearchPayloadMetrics.endpointOf("/site_search/_doc/abc")).isEqualTo("_doc");
+    assertThat(ElasticsearchPayloadMetrics.endpointOf("/blog_search")).isEqualTo("_index");
+    assertThat(ElasticsearchPayloadMetrics.endpointOf("/")).isEqualTo("_root");
+  }
+}
@@ -0,0 +1,97 @@
+package com.simonrowe.search.elasticsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedElasticsearchTransportTest {
+
+  private ElasticsearchTransport delegate;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(ElasticsearchTransport.class);
+    meterRegistry = new SimpleMeterRegistry();
+    when(delegate.jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+  }
+
+  @Test
+  void recordsLatencyAndBulkItemCount() throws Exception {
+    InstrumentedElasticsearchTransport transport = transport(Duration.ofSeconds(5));
+    BulkRequest bulk = BulkRequest.of(b -> b
+        .operations(op -> op.delete(d -> d.index("site_search").id("a")))
+        .operations(op -> op.delete(d -> d.index("site_search").id("b"))));
+
+    transport.performRequest(bulk, BulkRequest._ENDPOINT, null);
+
+    assertThat(meterRegistry.get("search.elasticsearch.requests")
+        .tags("operation", "bulk", "outcome", "success").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("search.elasticsearch.bulk.items").summary().totalAmount())
+        .isEqualTo(2);
+    assertThat(meterRegistry.find("search.elasticsearch.slow.requests").counter()).isNull();
+  }
+
+  @Test
+  void recordsFailedRequestsWithErrorOutcome() throws Exception {
+    InstrumentedElasticsearchTransport transport = transport(Duration.ofSeconds(5));
+    SearchRequest search = SearchRequest.of(s -> s.index("blog_search"));
+    when(delegate.performRequest(any(SearchRequest.class), any(), any()))
+        .thenThrow(new IOException("Connection refused"));
+
+    assertThatThrownBy(() -> transport.performRequest(search, SearchRequest._ENDPOINT, null))
+        .isInstanceOf(IOException.class);
+
+    assertThat(meterRegistry.get("search.elasticsearch.requests")
+        .tags("operation", "search", "outcome", "error").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void countsRequestsOverSlowThreshold() throws Exception {
+    InstrumentedElasticsearchTransport transport = transport(Duration.ZERO);
+    SearchRequest search = SearchRequest.of(s -> s
+        .index("blog_search")
+        .query(q -> q.match(m -> m.field("content").query("private"))));
+
+    transport.performRequest(search, SearchRequest._ENDPOINT, null);
+
+    assertThat(meterRegistry.get("search.elasticsearch.slow.requests")
+        .tag("operation", "search").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void redactReplacesValuesButKeepsStructure() {
+    String redacted = InstrumentedElasticsearchTransport.redact(
+        "{\"bool\":{\"should\":[{\"match\":{\"content\":{\"query\":\"secret\","
+            + "\"operator\":\"and\"}}},{\"terms\":{\"tags\":[\"a\",\"b\"]}}],"
+            + "\"minimum_should_match\":1}}");
+
+    assertThat(redacted).isEqualTo(
+        "{\"bool\":{\"should\":[{\"match\":{\"content\":{\"query\":\"?\","
+            + "\"operator\":\"and\"}}},{\"terms\":{\"tags\":[\"?\",\"?\"]}}],"
+            + "\"minimum_should_match\":1}}");
+  }
+
+  @Test
+  void indexOfExtractsIndexFromRequestUrl() {
+    assertThat(InstrumentedElasticsearchTransport.indexOf("/site_search/_search"))
+        .isEqualTo("site_search");
+    assertThat(InstrumentedElasticsearchTransport.indexOf("/_msearch")).isEqualTo("_all");
+  }
+
+  private InstrumentedElasticsearchTransport transport(final Duration slowThreshold) {
+    return new InstrumentedElasticsearchTransport(delegate, meterRegistry, slowThreshold);
+  }
+}
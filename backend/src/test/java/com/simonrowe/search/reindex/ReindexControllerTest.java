@@ -0,0 +1,96 @@
+package com.simonrowe.search.reindex;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.simonrowe.common.AdminApiInterceptor;
+import com.simonrowe.common.ResourceNotFoundException;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = ReindexController.class, properties = "admin.api-token=secret")
+class ReindexControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private ReindexService reindexService;
+
+  @Test
+  void startReturnsAcceptedWithJobProgress() throws Exception {
+    when(reindexService.start(any(ReindexRequest.class))).thenReturn(progress("job-1"));
+
+    mockMvc.perform(post("/api/admin/search/reindex")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"contentType\":\"BLOG\",\"ids\":[\"b1\"]}"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.jobId").value("job-1"))
+        .andExpect(jsonPath("$.status").value("RUNNING"));
+  }
+
+  @Test
+  void startWithoutContentTypeReturnsBadRequest() throws Exception {
+    mockMvc.perform(post("/api/admin/search/reindex")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"ids\":[\"b1\"]}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void requestWithoutTokenIsUnauthorized() throws Exception {
+    mockMvc.perform(post("/api/admin/search/reindex")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"contentType\":\"BLOG\"}"))
+        .andExpect(status().isUnauthorized());
+
+    verify(reindexService, never()).start(any(ReindexRequest.class));
+  }
+
+  @Test
+  void requestWithWrongTokenIsUnauthorized() throws Exception {
+    mockMvc.perform(get("/api/admin/search/reindex/job-1")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "wrong"))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void cancelReturnsProgress() throws Exception {
+    when(reindexService.cancel("job-1")).thenReturn(progress("job-1"));
+
+    mockMvc.perform(delete("/api/admin/search/reindex/job-1")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.jobId").value("job-1"));
+  }
+
+  @Test
+  void unknownJobReturnsNotFound() throws Exception {
+    when(reindexService.progress("missing"))
+        .thenThrow(new ResourceNotFoundException("Reindex job not found: missing"));
+
+    mockMvc.perform(get("/api/admin/search/reindex/missing")
+            .header(AdminApiInterceptor.TOKEN_HEADER, "secret"))
+        .andExpect(status().isNotFound());
+  }
+
+  private static ReindexProgress progress(final String jobId) {
+    return new ReindexProgress(jobId, ReindexStatus.RUNNING, ContentType.BLOG, 1, 0, 0, 0.0,
+        null, Instant.parse("2025-01-01T00:00:00Z"), null, null);
+  }
+}
@@ -0,0 +1,215 @@
+package com.simonrowe.search.reindex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.blog.BlogRepository;
+import com.simonrowe.common.ResourceNotFoundException;
+import com.simonrowe.employment.Job;
+import com.simonrowe.employment.JobRepository;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.search.BulkIndexResult;
+import com.simonrowe.search.IndexService;
+import com.simonrowe.skills.Skill;
+import com.simonrowe.skills.SkillGroup;
+import com.simonrowe.skills.SkillGroupRepository;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+class ReindexServiceTest {
+
+  private IndexService indexService;
+  private BlogRepository blogRepository;
+  private JobRepository jobRepository;
+  private SkillGroupRepository skillGroupRepository;
+  private ReindexService reindexService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    indexService = mock(IndexService.class);
+    blogRepository = mock(BlogRepository.class);
+    jobRepository = mock(JobRepository.class);
+    skillGroupRepository = mock(SkillGroupRepository.class);
+    when(indexService.bulkIndexSiteDocuments(anyList())).thenReturn(BulkIndexResult.EMPTY);
+    when(indexService.bulkIndexBlogDocuments(anyList())).thenReturn(BulkIndexResult.EMPTY);
+    reindexService = new ReindexService(indexService, blogRepository, jobRepository,
+        skillGroupRepository, 1, Duration.ofMillis(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    reindexService.shutdown();
+  }
+
+  @Test
+  void reindexesBlogsByIdAndDeletesMissingOrUnpublished() throws Exception {
+    when(blogRepository.findAllById(List.of("b1", "b2", "b3"))).thenReturn(List.of(
+        blog("b1", true), blog("b2", false)));
+
+    ReindexProgress started = reindexService.start(
+        new ReindexRequest(ContentType.BLOG, List.of("b1", "b2", "b3"), null, null));
+    ReindexProgress finished = awaitTerminal(started.jobId());
+
+    assertThat(finished.status()).isEqualTo(ReindexStatus.COMPLETED);
+    assertThat(finished.total()).isEqualTo(3);
+    assertThat(finished.processed()).isEqualTo(3);
+    assertThat(finished.errors()).isZero();
+    assertThat(finished.etaSeconds()).isZero();
+    verify(indexService).bulkIndexSiteDocuments(anyList());
+    verify(indexService).bulkIndexBlogDocuments(anyList());
+    verify(indexService).deleteBlogContent(eq("b2"), any(Instant.class));
+    verify(indexService).deleteBlogContent(eq("b3"), any(Instant.class));
+  }
+
+  @Test
+  void reindexesBlogsByUpdatedDateRange() throws Exception {
+    Instant from = Instant.parse("2025-01-01T00:00:00Z");
+    Instant to = Instant.parse("2025-02-01T00:00:00Z");
+    when(blogRepository.findPublishedUpdatedBetween(from, to))
+        .thenReturn(List.of(blog("b1", true), blog("b2", true)));
+
+    ReindexProgress started = reindexService.start(
+        new ReindexRequest(ContentType.BLOG, null, from, to));
+    ReindexProgress finished = awaitTerminal(started.jobId());
+
+    assertThat(finished.processed()).isEqualTo(2);
+    verify(indexService, times(2)).bulkIndexSiteDocuments(anyList());
+    verify(blogRepository, never()).findByPublishedTrueOrderByCreatedDateDesc();
+  }
+
+  @Test
+  void reindexesSkillsMatchingRequestedIds() throws Exception {
+    Skill java = new Skill("s1", "Java", 9.0, 1, null, null);
+    Skill kotlin = new Skill("s2", "Kotlin", 8.0, 2, null, null);
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(List.of(), List.of("s2"))).thenReturn(
+        List.of(new SkillGroup("g1", "JVM", null, 9.0, 1, null, List.of(java, kotlin))));
+
+    ReindexProgress started = reindexService.start(
+        new ReindexRequest(ContentType.SKILL, List.of("s2"), null, null));
+    ReindexProgress finished = awaitTerminal(started.jobId());
+
+    assertThat(finished.processed()).isEqualTo(1);
+    verify(indexService).skillToSiteDocument(kotlin, "g1");
+    verify(indexService, never()).skillToSiteDocument(java, "g1");
+    verify(skillGroupRepository, never()).findAllByOrderByDisplayOrderAsc();
+  }
+
+  @Test
+  void reindexesSkillsByIdAndDeletesMissingOnes() throws Exception {
+    Skill java = new Skill("s1", "Java", 9.0, 1, null, null);
+    when(skillGroupRepository.findByIdInOrSkillsIdIn(List.of(), List.of("s1", "s9"))).thenReturn(
+        List.of(new SkillGroup("g1", "JVM", null, 9.0, 1, null, List.of(java))));
+
+    ReindexProgress started = reindexService.start(
+        new ReindexRequest(ContentType.SKILL, List.of("s1", "s9"), null, null));
+    ReindexProgress finished = awaitTerminal(started.jobId());
+
+    assertThat(finished.status()).isEqualTo(ReindexStatus.COMPLETED);
+    assertThat(finished.total()).isEqualTo(2);
+    assertThat(finished.processed()).isEqualTo(2);
+    verify(indexService).skillToSiteDocument(java, "g1");
+    verify(indexService).deleteSkillContent(eq("s9"), any(Instant.class));
+    verify(indexService, never()).deleteSkillContent(eq("s1"), any(Instant.class));
+  }
+
+  @Test
+  void failedBatchesAreCountedAsErrors() throws Exception {
+    when(jobRepository.findAllByOrderByStartDateDesc()).thenReturn(List.of(job("j1"), job("j2")));
+    when(indexService.bulkIndexSiteDocuments(anyList()))
+        .thenThrow(new IOException("circuit open"))
+        .thenReturn(new BulkIndexResult(1, 0, 0));
+
+    ReindexProgress started = reindexService.start(
+        new ReindexRequest(ContentType.JOB, null, null, null));
+    ReindexProgress finished = awaitTerminal(started.jobId());
+
+    assertThat(finished.status()).isEqualTo(ReindexStatus.COMPLETED);
+    assertThat(finished.processed()).isEqualTo(2);
+    assertThat(finished.errors()).isEqualTo(1);
+  }
+
+  @Test
+  void cancelStopsJobBetweenBatches() throws Exception {
+    CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    when(jobRepository.findAllByOrderByStartDateDesc())
+        .thenReturn(List.of(job("j1"), job("j2"), job("j3")));
+    when(indexService.bulkIndexSiteDocuments(anyList())).thenAnswer(invocation -> {
+      firstBatchStarted.countDown();
+      releaseFirstBatch.await(5, TimeUnit.SECONDS);
+      return new BulkIndexResult(1, 0, 0);
+    });
+
+    ReindexProgress started = reindexService.start(
+        new ReindexRequest(ContentType.JOB, null, null, null));
+    assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(reindexService.cancel(started.jobId()).status())
+        .isEqualTo(ReindexStatus.CANCELLING);
+    releaseFirstBatch.countDown();
+    ReindexProgress finished = awaitTerminal(started.jobId());
+
+    assertThat(finished.status()).isEqualTo(ReindexStatus.CANCELLED);
+    assertThat(finished.processed()).isEqualTo(1);
+    verify(indexService, times(1)).bulkIndexSiteDocuments(anyList());
+  }
+
+  @Test
+  void rejectsUpdatedRangeForNonBlogContent() {
+    assertThatThrownBy(() -> reindexService.start(new ReindexRequest(
+        ContentType.JOB, null, Instant.parse("2025-01-01T00:00:00Z"), null)))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("only supported for BLOG");
+  }
+
+  @Test
+  void rejectsIdsCombinedWithUpdatedRange() {
+    assertThatThrownBy(() -> reindexService.start(new ReindexRequest(
+        ContentType.BLOG, List.of("b1"), Instant.parse("2025-01-01T00:00:00Z"), null)))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void unknownJobThrowsNotFound() {
+    assertThatThrownBy(() -> reindexService.progress("missing"))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  private ReindexProgress awaitTerminal(final String jobId) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    ReindexProgress progress = reindexService.progress(jobId);
+    while (!progress.status().isTerminal() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      progress = reindexService.progress(jobId);
+    }
+    return progress;
+  }
+
+  private static Blog blog(final String id, final boolean published) {
+    Instant now = Instant.now();
+    return new Blog(id, "Title " + id, "Short", "Content", published, null, now, now,
+        List.of(), List.of());
+  }
+
+  private static Job job(final String id) {
+    return new Job(id, "Engineer", "Company", null, null, null, null, null, null, null,
+        false, false, List.of());
+  }
+}
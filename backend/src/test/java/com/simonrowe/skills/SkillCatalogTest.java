@@ -0,0 +1,132 @@
+package com.simonrowe.skills;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.simonrowe.employment.SkillReferenceDto;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SkillCatalogTest {
+
+  @Mock
+  private SkillGroupRepository skillGroupRepository;
+
+  private SkillCatalog catalog;
+
+  @BeforeEach
+  void setUp() {
+    catalog = new SkillCatalog(skillGroupRepository);
+  }
+
+  @Test
+  void resolvesByIdAndNameFromASingleLoad() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(
+        group("g-1", new Skill("s-1", "Spring Boot", 10.0, 1, null, null)),
+        group("g-2", new Skill("s-2", "Kafka", 8.0, 1, null, null))));
+
+    SkillReferenceDto byId = catalog.resolve("s-1");
+    SkillReferenceDto byName = catalog.resolve("Kafka");
+
+    assertThat(byId.name()).isEqualTo("Spring Boot");
+    assertThat(byId.skillGroupId()).isEqualTo("g-1");
+    assertThat(byName.id()).isEqualTo("s-2");
+    assertThat(catalog.resolve("missing")).isNull();
+    verify(skillGroupRepository, times(1)).findAll();
+  }
+
+  @Test
+  void projectedSkillGroupChangeIsAppliedWithoutQueryingMongo() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(
+        group("g-1", new Skill("s-1", "Spring Boot", 10.0, 1, null, null))));
+    catalog.reload();
+
+    SkillGroup updated = group("g-1", new Skill("s-3", "Spring Batch", 7.0, 1, null, null));
+    catalog.onContentChange(ContentChangeEvent.of(EventType.UPDATED, updated, Instant.now()));
+
+    assertThat(catalog.resolve("s-1")).isNull();
+    assertThat(catalog.resolve("Spring Batch").id()).isEqualTo("s-3");
+    verify(skillGroupRepository, never()).findById("g-1");
+  }
+
+  @Test
+  void thinSkillGroupChangeReloadsOnlyThatGroup() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(
+        group("g-1", new Skill("s-1", "Spring Boot", 10.0, 1, null, null)),
+        group("g-2", new Skill("s-2", "Kafka", 8.0, 1, null, null))));
+    catalog.reload();
+    given(skillGroupRepository.findByIdInOrSkillsIdIn(Set.of("g-2"), List.of("g-2")))
+        .willReturn(List.of(group("g-2", new Skill("s-2", "Apache Kafka", 9.0, 1, null, null))));
+
+    catalog.onContentChange(
+        new ContentChangeEvent(EventType.UPDATED, ContentType.SKILL, "g-2", Instant.now()));
+
+    assertThat(catalog.resolve("s-2").name()).isEqualTo("Apache Kafka");
+    assertThat(catalog.resolve("Kafka")).isNull();
+    assertThat(catalog.resolve("s-1").name()).isEqualTo("Spring Boot");
+    verify(skillGroupRepository, times(1)).findAll();
+  }
+
+  @Test
+  void deletedGroupFallsBackToAnotherSkillWithTheSameName() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(
+        group("g-1", new Skill("s-1", "Java", 10.0, 1, null, null)),
+        group("g-2", new Skill("s-2", "Java", 9.0, 1, null, null))));
+    catalog.reload();
+
+    catalog.onContentChange(
+        new ContentChangeEvent(EventType.DELETED, ContentType.SKILL, "g-1", Instant.now()));
+
+    assertThat(catalog.resolve("s-1")).isNull();
+    assertThat(catalog.resolve("Java").id()).isEqualTo("s-2");
+  }
+
+  @Test
+  void updatedSkillIdReloadsTheGroupThatOwnsIt() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(
+        group("g-1", new Skill("s-1", "Spring Boot", 10.0, 1, null, null))));
+    catalog.reload();
+    given(skillGroupRepository.findByIdInOrSkillsIdIn(Set.of("s-1", "g-1"), List.of("s-1")))
+        .willReturn(List.of(group("g-1", new Skill("s-1", "Spring Boot 3", 10.0, 1, null, null))));
+
+    catalog.onContentChange(
+        new ContentChangeEvent(EventType.UPDATED, ContentType.SKILL, "s-1", Instant.now()));
+
+    assertThat(catalog.resolve("s-1").name()).isEqualTo("Spring Boot 3");
+    assertThat(catalog.resolve("Spring Boot")).isNull();
+  }
+
+  @Test
+  void deletedSkillIdIsDroppedFromItsGroup() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(
+        group("g-1", new Skill("s-1", "Spring Boot", 10.0, 1, null, null),
+            new Skill("s-2", "Kafka", 8.0, 2, null, null))));
+    catalog.reload();
+    given(skillGroupRepository.findByIdInOrSkillsIdIn(Set.of("s-1", "g-1"), List.of("s-1")))
+        .willReturn(List.of(group("g-1", new Skill("s-2", "Kafka", 8.0, 2, null, null))));
+
+    catalog.onContentChange(
+        new ContentChangeEvent(EventType.DELETED, ContentType.SKILL, "s-1", Instant.now()));
+
+    assertThat(catalog.resolve("s-1")).isNull();
+    assertThat(catalog.resolve("Spring Boot")).isNull();
+    assertThat(catalog.resolve("s-2").skillGroupId()).isEqualTo("g-1");
+  }
+
+  private static SkillGroup group(String id, Skill... skills) {
+    return new SkillGroup(id, "Group " + id, null, 8.0, 1, null, List.of(skills));
+  }
+}
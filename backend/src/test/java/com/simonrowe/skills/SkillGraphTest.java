@@ -0,0 +1,140 @@
+package com.simonrowe.skills;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.simonrowe.blog.Blog;
+import com.simonrowe.blog.BlogRepository;
+import com.simonrowe.employment.Job;
+import com.simonrowe.employment.JobRepository;
+import com.simonrowe.events.ContentChangeEvent;
+import com.simonrowe.events.ContentChangeEvent.ContentType;
+import com.simonrowe.events.ContentChangeEvent.EventType;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SkillGraphTest {
+
+  @Mock
+  private JobRepository jobRepository;
+
+  @Mock
+  private BlogRepository blogRepository;
+
+  @Mock
+  private SkillGroupRepository skillGroupRepository;
+
+  private SkillCatalog catalog;
+  private SkillGraph graph;
+
+  @BeforeEach
+  void setUp() {
+    given(skillGroupRepository.findAll()).willReturn(List.of(new SkillGroup(
+        "g-1", "Backend", null, 9.0, 1, null, List.of(
+            new Skill("s-1", "Java", 10.0, 1, null, null),
+            new Skill("s-2", "Spring Boot", 9.0, 2, null, null),
+            new Skill("s-3", "Kafka", 8.0, 3, null, null)))));
+    catalog = new SkillCatalog(skillGroupRepository);
+    graph = new SkillGraph(jobRepository, blogRepository, catalog, 1);
+  }
+
+  @Test
+  void weightsEdgesByDocumentsSharingBothSkills() {
+    given(jobRepository.findAll()).willReturn(List.of(
+        job("job-1", "s-1", "Spring Boot"),
+        job("job-2", "Java", "s-2", "s-3")));
+    given(blogRepository.findByPublishedTrueOrderByCreatedDateDesc()).willReturn(List.of(
+        blog("blog-1", true, new com.simonrowe.blog.Skill("s-1", "Java"),
+            new com.simonrowe.blog.Skill("s-3", "Kafka"))));
+
+    SkillGraphDto snapshot = graph.snapshot();
+
+    assertThat(snapshot.edges()).containsExactly(
+        new SkillGraphEdgeDto("s-1", "s-2", 2),
+        new SkillGraphEdgeDto("s-1", "s-3", 2),
+        new SkillGraphEdgeDto("s-2", "s-3", 1));
+    assertThat(snapshot.nodes()).extracting(SkillGraphNodeDto::name)
+        .containsExactly("Java", "Kafka", "Spring Boot");
+    SkillGraphNodeDto kafka = snapshot.nodes().get(1);
+    assertThat(kafka.degree()).isEqualTo(2);
+    assertThat(kafka.strongestNeighbours())
+        .containsExactly(new SkillNeighbourDto("s-1", "Java", 2));
+  }
+
+  @Test
+  void projectedJobChangeReplacesOnlyThatJobsContribution() {
+    given(jobRepository.findAll()).willReturn(List.of(
+        job("job-1", "s-1", "s-2"),
+        job("job-2", "s-1", "s-2")));
+    given(blogRepository.findByPublishedTrueOrderByCreatedDateDesc()).willReturn(List.of());
+    assertThat(graph.snapshot().edges())
+        .containsExactly(new SkillGraphEdgeDto("s-1", "s-2", 2));
+
+    graph.onContentChange(
+        ContentChangeEvent.of(EventType.UPDATED, job("job-2", "s-1", "s-3"), Instant.now()));
+
+    assertThat(graph.snapshot().edges()).containsExactly(
+        new SkillGraphEdgeDto("s-1", "s-2", 1),
+        new SkillGraphEdgeDto("s-1", "s-3", 1));
+    verify(jobRepository, never()).findById("job-2");
+    verify(jobRepository, times(1)).findAll();
+  }
+
+  @Test
+  void deletedAndUnpublishedDocumentsDropTheirEdges() {
+    given(jobRepository.findAll()).willReturn(List.of(job("job-1", "s-1", "s-2")));
+    given(blogRepository.findByPublishedTrueOrderByCreatedDateDesc()).willReturn(List.of(
+        blog("blog-1", true, new com.simonrowe.blog.Skill("s-2", "Spring Boot"),
+            new com.simonrowe.blog.Skill("s-3", "Kafka"))));
+    graph.rebuild();
+
+    graph.onContentChange(
+        new ContentChangeEvent(EventType.DELETED, ContentType.JOB, "job-1", Instant.now()));
+    graph.onContentChange(ContentChangeEvent.of(EventType.UPDATED,
+        blog("blog-1", false, new com.simonrowe.blog.Skill("s-2", "Spring Boot")),
+        Instant.now()));
+
+    assertThat(graph.snapshot().nodes()).isEmpty();
+    assertThat(graph.snapshot().edges()).isEmpty();
+  }
+
+  @Test
+  void catalogChangeRecanonicalisesDocumentsOnceItIsApplied() {
+    given(jobRepository.findAll()).willReturn(List.of(job("job-1", "s-1", "Flink")));
+    given(blogRepository.findByPublishedTrueOrderByCreatedDateDesc()).willReturn(List.of(
+        blog("blog-1", true, new com.simonrowe.blog.Skill("s-1", "Java"),
+            new com.simonrowe.blog.Skill("s-4", null))));
+    assertThat(graph.snapshot().edges()).containsExactlyInAnyOrder(
+        new SkillGraphEdgeDto("s-1", "Flink", 1),
+        new SkillGraphEdgeDto("s-1", "s-4", 1));
+
+    catalog.onContentChange(ContentChangeEvent.of(EventType.UPDATED, new SkillGroup(
+        "g-1", "Backend", null, 9.0, 1, null, List.of(
+            new Skill("s-1", "Java SE", 10.0, 1, null, null),
+            new Skill("s-4", "Flink", 7.0, 2, null, null))), Instant.now()));
+
+    SkillGraphDto snapshot = graph.snapshot();
+    assertThat(snapshot.edges()).containsExactly(new SkillGraphEdgeDto("s-1", "s-4", 2));
+    assertThat(snapshot.nodes()).extracting(SkillGraphNodeDto::name)
+        .containsExactly("Flink", "Java SE");
+  }
+
+  private static Job job(String id, String... skills) {
+    return new Job(id, "Engineer", "Company", null, null, "2020-01-01", null, "London",
+        "Short", "Long", false, true, List.of(skills));
+  }
+
+  private static Blog blog(String id, boolean published, com.simonrowe.blog.Skill... skills) {
+    return new Blog(id, "Title", "Short", "Content", published, null, Instant.now(),
+        Instant.now(), List.of(), List.of(skills));
+  }
+}
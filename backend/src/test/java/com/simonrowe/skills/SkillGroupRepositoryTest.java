@@ -0,0 +1,127 @@
+package com.simonrowe.skills;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.simonrowe.employment.Job;
+import com.simonrowe.employment.JobRepository;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataMongoTest(properties = "spring.data.mongodb.auto-index-creation=true")
+@Testcontainers
+class SkillGroupRepositoryTest {
+
+  @Container
+  static MongoDBContainer mongodb = new MongoDBContainer("mongo:8");
+
+  @Autowired
+  private SkillGroupRepository skillGroupRepository;
+
+  @Autowired
+  private JobRepository jobRepository;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @DynamicPropertySource
+  static void configureProperties(final DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+  }
+
+  @BeforeEach
+  void setup() {
+    skillGroupRepository.deleteAll();
+    jobRepository.deleteAll();
+  }
+
+  @Test
+  void findByIdInOrSkillsIdInReturnsOnlyOwningGroups() {
+    String javaId = new ObjectId().toHexString();
+    String reactId = new ObjectId().toHexString();
+    String backendId = new ObjectId().toHexString();
+    String frontendId = new ObjectId().toHexString();
+    String cloudId = new ObjectId().toHexString();
+    skillGroupRepository.saveAll(List.of(
+        group(backendId, "Backend", new Skill(javaId, "Java", 9.0, 1, null, null)),
+        group(frontendId, "Frontend", new Skill(reactId, "React", 8.0, 1, null, null)),
+        group(cloudId, "Cloud")));
+
+    List<SkillGroup> bySkill = skillGroupRepository.findByIdInOrSkillsIdIn(
+        List.of(javaId), List.of(javaId));
+    List<SkillGroup> byGroup = skillGroupRepository.findByIdInOrSkillsIdIn(
+        List.of(cloudId), List.of(cloudId));
+
+    assertThat(bySkill).extracting(SkillGroup::name).containsExactly("Backend");
+    assertThat(byGroup).extracting(SkillGroup::name).containsExactly("Cloud");
+  }
+
+  @Test
+  void embeddedSkillIdsAreIndexed() {
+    List<IndexInfo> indexes = mongoTemplate.indexOps(SkillGroup.class).getIndexInfo();
+
+    assertThat(indexes).extracting(IndexInfo::getName).contains("idx_skills_id");
+  }
+
+  @Test
+  void findDetailByIdJoinsJobsPerSkillByIdOrNameNewestFirst() {
+    String groupId = new ObjectId().toHexString();
+    String bootId = new ObjectId().toHexString();
+    String mvcId = new ObjectId().toHexString();
+    skillGroupRepository.save(new SkillGroup(groupId, "Spring", "Spring Framework", 9.5, 1,
+        null, List.of(
+            new Skill(mvcId, "Spring MVC", 9.0, 2, null, null),
+            new Skill(bootId, "Spring Boot", 10.0, 1, null, null))));
+    jobRepository.saveAll(List.of(
+        job("Senior Dev", "2017-01-01", List.of(bootId)),
+        job("Lead Engineer", "2019-04-15", List.of(bootId, mvcId)),
+        job("Consultant", "2021-02-01", List.of("Spring Boot")),
+        job("Frontend Dev", "2020-01-01", List.of("React"))));
+
+    SkillGroupDetailDto detail = skillGroupRepository.findDetailById(groupId).orElseThrow();
+
+    assertThat(detail.id()).isEqualTo(groupId);
+    assertThat(detail.name()).isEqualTo("Spring");
+    assertThat(detail.skills()).extracting(SkillDetailDto::id).containsExactly(bootId, mvcId);
+    assertThat(detail.skills().get(0).jobs()).extracting(JobReferenceDto::title)
+        .containsExactly("Consultant", "Lead Engineer", "Senior Dev");
+    assertThat(detail.skills().get(1).jobs()).extracting(JobReferenceDto::title)
+        .containsExactly("Lead Engineer");
+  }
+
+  @Test
+  void findDetailByIdReturnsGroupWithoutSkillsAndEmptyForMissingGroup() {
+    String emptyId = new ObjectId().toHexString();
+    skillGroupRepository.save(new SkillGroup(emptyId, "Empty", null, 0.0, 1, null, null));
+
+    assertThat(skillGroupRepository.findDetailById(emptyId))
+        .hasValueSatisfying(detail -> assertThat(detail.skills()).isEmpty());
+    assertThat(skillGroupRepository.findDetailById(new ObjectId().toHexString())).isEmpty();
+  }
+
+  @Test
+  void jobSkillsAreIndexed() {
+    List<IndexInfo> indexes = mongoTemplate.indexOps(Job.class).getIndexInfo();
+
+    assertThat(indexes).extracting(IndexInfo::getName).contains("idx_skills");
+  }
+
+  private static Job job(final String title, final String startDate, final List<String> skills) {
+    return new Job(new ObjectId().toHexString(), title, "Company", null, null, startDate, null,
+        "London", "Short", "Long", false, true, skills);
+  }
+
+  private static SkillGroup group(final String id, final String name, final Skill... skills) {
+    return new SkillGroup(id, name, null, null, 1, null, List.of(skills));
+  }
+}
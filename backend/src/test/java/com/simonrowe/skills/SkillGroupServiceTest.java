@@ -6,8 +6,6 @@ import static org.mockito.BDDMockito.given;
 
 import com.simonrowe.common.Image;
 import com.simonrowe.common.ResourceNotFoundException;
-import com.simonrowe.employment.Job;
-import com.simonrowe.employment.JobRepository;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -22,9 +20,6 @@ class SkillGroupServiceTest {
   @Mock
   private SkillGroupRepository skillGroupRepository;
 
-  @Mock
-  private JobRepository jobRepository;
-
   @InjectMocks
   private SkillGroupService skillGroupService;
 
@@ -58,60 +53,28 @@ class SkillGroupServiceTest {
   }
 
   @Test
-  void getSkillGroupByIdReturnsDetailWithJobCorrelations() {
-    Skill springBoot = new Skill("s-1", "Spring Boot", 10.0, 1, null, null);
-    Skill springMvc = new Skill("s-2", "Spring MVC", 9.0, 2, null, null);
-    SkillGroup group = new SkillGroup(
-        "g-1", "Spring", "Spring Framework", 9.5, 1, null,
-        List.of(springBoot, springMvc));
-
-    Job job1 = sampleJob("j-1", "Lead Engineer", "Upp", "2019-04-15",
-        List.of("s-1", "s-2"));
-    Job job2 = sampleJob("j-2", "Senior Dev", "ASOS", "2017-01-01",
-        List.of("s-1"));
-
-    given(skillGroupRepository.findById("g-1")).willReturn(Optional.of(group));
-    given(jobRepository.findBySkillsIn(
-        List.of("s-1", "Spring Boot", "s-2", "Spring MVC")))
-        .willReturn(List.of(job1, job2));
+  void getSkillGroupByIdReturnsAggregatedDetail() {
+    JobReferenceDto job = new JobReferenceDto("j-1", "Lead Engineer", "Upp", "2019-04-15",
+        null, null);
+    SkillGroupDetailDto detail = new SkillGroupDetailDto("g-1", "Spring", 9.5, 1,
+        "Spring Framework", null, List.of(new SkillDetailDto(
+            "s-1", "Spring Boot", 10.0, 1, null, null, List.of(job))));
+    given(skillGroupRepository.findDetailById("g-1")).willReturn(Optional.of(detail));
 
     SkillGroupDetailDto result = skillGroupService.getSkillGroupById("g-1");
 
-    assertThat(result.name()).isEqualTo("Spring");
-    assertThat(result.skills()).hasSize(2);
-
-    SkillDetailDto bootDetail = result.skills().get(0);
-    assertThat(bootDetail.name()).isEqualTo("Spring Boot");
-    assertThat(bootDetail.jobs()).hasSize(2);
-    assertThat(bootDetail.jobs().get(0).title()).isEqualTo("Lead Engineer");
-    assertThat(bootDetail.jobs().get(1).title()).isEqualTo("Senior Dev");
-
-    SkillDetailDto mvcDetail = result.skills().get(1);
-    assertThat(mvcDetail.name()).isEqualTo("Spring MVC");
-    assertThat(mvcDetail.jobs()).hasSize(1);
-    assertThat(mvcDetail.jobs().get(0).title()).isEqualTo("Lead Engineer");
+    assertThat(result).isEqualTo(detail);
   }
 
   @Test
   void getSkillGroupByIdThrowsNotFoundForMissingGroup() {
-    given(skillGroupRepository.findById("missing")).willReturn(Optional.empty());
+    given(skillGroupRepository.findDetailById("missing")).willReturn(Optional.empty());
 
     assertThatThrownBy(() -> skillGroupService.getSkillGroupById("missing"))
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining("Skill group not found");
   }
 
-  @Test
-  void getSkillGroupByIdHandlesNullSkillsList() {
-    SkillGroup group = new SkillGroup(
-        "g-1", "Empty", null, 0.0, 1, null, null);
-    given(skillGroupRepository.findById("g-1")).willReturn(Optional.of(group));
-
-    SkillGroupDetailDto result = skillGroupService.getSkillGroupById("g-1");
-
-    assertThat(result.skills()).isEmpty();
-  }
-
   private static SkillGroup sampleSkillGroup(
       String id, String name, Double rating, Integer displayOrder
   ) {
@@ -119,12 +82,4 @@ class SkillGroupServiceTest {
         id + "-skill", name + " Skill", rating, 1, null, null);
     return new SkillGroup(id, name, null, rating, displayOrder, null, List.of(skill));
   }
-
-  private static Job sampleJob(
-      String id, String title, String company, String startDate, List<String> skills
-  ) {
-    return new Job(
-        id, title, company, null, null, startDate, null,
-        "London", "Short desc", "Long desc", false, true, skills);
-  }
 }
@@ -18,10 +18,16 @@ export interface GroupedSearchResponse {
   skills?: SearchResult[]
 }
 
+export interface CombinedSearchResponse {
+  site: GroupedSearchResponse
+  blogs: BlogSearchResult[]
+}
+
 import { API_BASE_URL } from '../config/api'
 
 const SITE_SEARCH_ENDPOINT = `${API_BASE_URL}/api/search`
 const BLOG_SEARCH_ENDPOINT = `${API_BASE_URL}/api/search/blogs`
+const COMBINED_SEARCH_ENDPOINT = `${API_BASE_URL}/api/search/all`
 
 export async function siteSearch(
   query: string,
@@ -50,3 +56,17 @@ export async function blogSearch(
   }
   return (await response.json()) as BlogSearchResult[]
 }
+
+export async function combinedSearch(
+  query: string,
+  signal?: AbortSignal
+): Promise<CombinedSearchResponse> {
+  const response = await fetch(
+    `${COMBINED_SEARCH_ENDPOINT}?q=${encodeURIComponent(query)}`,
+    { signal }
+  )
+  if (!response.ok) {
+    throw new Error('Combined search request failed')
+  }
+  return (await response.json()) as CombinedSearchResponse
+}
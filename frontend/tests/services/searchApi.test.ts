@@ -1,6 +1,6 @@
 import { afterEach, beforeEach, describe, expect, it, vi } from 'vitest'
 
-import { blogSearch, siteSearch } from '../../src/services/searchApi'
+import { blogSearch, combinedSearch, siteSearch } from '../../src/services/searchApi'
 
 describe('searchApi', () => {
   beforeEach(() => {
@@ -81,4 +81,34 @@ describe('searchApi', () => {
       await expect(blogSearch('x')).rejects.toThrow('Blog search request failed')
     })
   })
+
+  describe('combinedSearch', () => {
+    it('fetches site and blog results from /api/search/all', async () => {
+      const mockResponse = {
+        site: { jobs: [{ name: 'Java Dev', image: null, url: '/jobs/1' }] },
+        blogs: [],
+      }
+      vi.mocked(fetch).mockResolvedValue({
+        ok: true,
+        json: () => Promise.resolve(mockResponse),
+      } as Response)
+
+      const result = await combinedSearch('java spring')
+
+      expect(fetch).toHaveBeenCalledWith(
+        '/api/search/all?q=java%20spring',
+        { signal: undefined },
+      )
+      expect(result).toEqual(mockResponse)
+    })
+
+    it('throws on non-ok response', async () => {
+      vi.mocked(fetch).mockResolvedValue({
+        ok: false,
+        status: 500,
+      } as Response)
+
+      await expect(combinedSearch('test')).rejects.toThrow('Combined search request failed')
+    })
+  })
 })
@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Drains the content-changes dead-letter topic and replays it through the search indexer,
+# polling the background replay job until it finishes.
+# Usage: ADMIN_API_TOKEN=... scripts/replay-dlt.sh [max-events] [events-per-second]
+API_URL="${API_URL:-http://localhost:8080}"
+MAX_EVENTS="${1:-}"
+EVENTS_PER_SECOND="${2:-}"
+
+if [ -z "${ADMIN_API_TOKEN:-}" ]; then
+  echo "ERROR: ADMIN_API_TOKEN must be set"
+  exit 1
+fi
+
+BODY="{"
+if [ -n "$MAX_EVENTS" ]; then
+  BODY="${BODY}\"maxEvents\":${MAX_EVENTS}"
+fi
+if [ -n "$EVENTS_PER_SECOND" ]; then
+  [ "$BODY" != "{" ] && BODY="${BODY},"
+  BODY="${BODY}\"eventsPerSecond\":${EVENTS_PER_SECOND}"
+fi
+BODY="${BODY}}"
+
+echo "=== Replaying content-changes DLT via ${API_URL} ==="
+JOB=$(curl --fail-with-body -sS -X POST "${API_URL}/api/admin/content-changes/dlt/replay" \
+  -H "X-Admin-Token: ${ADMIN_API_TOKEN}" \
+  -H "Content-Type: application/json" \
+  -d "$BODY")
+JOB_ID=$(echo "$JOB" | sed -n 's/.*"jobId":"\([^"]*\)".*/\1/p')
+echo "Started replay job ${JOB_ID}"
+
+while true; do
+  PROGRESS=$(curl --fail-with-body -sS \
+    "${API_URL}/api/admin/content-changes/dlt/replay/${JOB_ID}" \
+    -H "X-Admin-Token: ${ADMIN_API_TOKEN}")
+  case "$PROGRESS" in
+    *'"status":"RUNNING"'*) sleep 2 ;;
+    *) echo "$PROGRESS"; break ;;
+  esac
+done